@@ -228,6 +228,20 @@ public class AutoCompleteTextField extends LimitTextField {
         return true;
     }
 
+    /**
+     * 入力された文字と候補を比較する前に、大文字小文字、全角半角、カタカナひらがなの違いと空白を取り除くStringConverterを作成する。
+     *
+     * @return StringConverter
+     */
+    public static StringConverter createNormalizeConverter() {
+        StringConverter converter = new StringConverter();
+        converter.addLowerToUpper();
+        converter.addNarrowToWide();
+        converter.addKatakanaToHiragana();
+        converter.addReplaceWideSpace("");
+        return converter;
+    }
+
     /*
      * 文字入力時のフィルタをバックグラウンドで行うサービス
      */
@@ -258,11 +272,7 @@ public class AutoCompleteTextField extends LimitTextField {
                 @Override
                 protected Void call() throws Exception {
                     this.items.clear();
-                    StringConverter converter = new StringConverter();
-                    converter.addLowerToUpper();
-                    converter.addNarrowToWide();
-                    converter.addKatakanaToHiragana();
-                    converter.addReplaceWideSpace("");
+                    StringConverter converter = AutoCompleteTextField.createNormalizeConverter();
                     int addedCount = 0;
                     for (String item: field.items) {
                         if (this.isCancelled()) {
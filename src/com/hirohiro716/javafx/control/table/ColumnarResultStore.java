@@ -0,0 +1,914 @@
+package com.hirohiro716.javafx.control.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+
+import com.hirohiro716.RudeArray;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * 検索結果などの大量の行をカラム毎のプリミティブ配列で保持するクラス。<br>
+ * 行はこのクラスの配列を参照するRudeArrayとして取得できるため、DynamicTableViewのaddColumnXxxメソッドでそのまま表示できる。
+ *
+ * @author hiro
+ *
+ */
+public class ColumnarResultStore {
+
+    /**
+     * カラムの値の種類。
+     *
+     * @author hiro
+     *
+     */
+    public enum ColumnType {
+        INTEGER,
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        STRING,
+        DATE,
+    }
+
+    /**
+     * カラム毎に保持する、取得した値のインスタンスの件数。2の累乗にする。
+     */
+    private static final int VALUE_CACHE_SIZE = 1024;
+
+    private LinkedHashMap<String, Column> columns = new LinkedHashMap<>();
+
+    private ObservableList<RudeArray> rows = FXCollections.observableArrayList();
+
+    private int capacity;
+
+    /**
+     * 配列に格納済みの行数。mergeRowsで作成された行も含む。
+     */
+    private int storedRowCount = 0;
+
+    /**
+     * mergeRowsで削除された行が使用していた、再利用できる配列の位置。
+     */
+    private BitSet freeRowIndexes = new BitSet();
+
+    /**
+     * clearメソッドで増える番号。clear前に作成された行は配列を参照しなくなる。
+     */
+    private int storeGeneration = 0;
+
+    /**
+     * コンストラクタ。
+     */
+    public ColumnarResultStore() {
+        this(16);
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param initialCapacity 初期の行数の容量
+     */
+    public ColumnarResultStore(int initialCapacity) {
+        this.capacity = Math.max(1, initialCapacity);
+    }
+
+    /**
+     * カラムを追加する。既に行がある場合、追加したカラムの値はnullになる。
+     *
+     * @param columnName カラム名
+     * @param columnType 値の種類
+     */
+    public void addColumn(String columnName, ColumnType columnType) {
+        Column column;
+        switch (columnType) {
+        case INTEGER:
+            column = new IntegerColumn();
+            break;
+        case LONG:
+            column = new LongColumn();
+            break;
+        case DOUBLE:
+            column = new DoubleColumn();
+            break;
+        case BOOLEAN:
+            column = new BooleanColumn();
+            break;
+        case STRING:
+            column = new StringColumn();
+            break;
+        case DATE:
+        default:
+            column = new DateColumn();
+            break;
+        }
+        column.columnType = columnType;
+        column.resize(this.capacity);
+        column.nulls.set(0, this.storedRowCount);
+        this.columns.put(columnName, column);
+    }
+
+    /**
+     * カラムの値の種類を取得する。
+     *
+     * @param columnName カラム名
+     * @return 値の種類(存在しない場合はnull)
+     */
+    public ColumnType getColumnType(String columnName) {
+        Column column = this.columns.get(columnName);
+        if (column == null) {
+            return null;
+        }
+        return column.columnType;
+    }
+
+    /**
+     * カラム名をすべて取得する。
+     *
+     * @return カラム名
+     */
+    public String[] getColumnNames() {
+        return this.columns.keySet().toArray(new String[this.columns.size()]);
+    }
+
+    /**
+     * RudeArrayの値をカラム毎の配列に格納して行を追加する。カラムとして追加されていないキーの値は破棄される。
+     *
+     * @param source 値を取り出すRudeArray
+     * @return 追加した行を参照するRudeArray
+     */
+    public RudeArray addRow(RudeArray source) {
+        Row row = this.storeRow(source);
+        this.rows.add(row);
+        return row;
+    }
+
+    /**
+     * RudeArrayの値をカラム毎の配列に格納して、リストには追加せずに行を作成する。DynamicTableView.mergeRowsで使用する。
+     *
+     * @param source 値を取り出すRudeArray
+     * @return 作成した行を参照するRudeArray
+     */
+    RudeArray createRow(RudeArray source) {
+        return this.storeRow(source);
+    }
+
+    /**
+     * 複数のRudeArrayの値を格納して行を追加する。
+     *
+     * @param sources 値を取り出すRudeArray
+     */
+    public void addRows(RudeArray[] sources) {
+        ArrayList<RudeArray> rows = new ArrayList<>();
+        for (RudeArray source: sources) {
+            rows.add(this.storeRow(source));
+        }
+        this.rows.addAll(rows);
+    }
+
+    /**
+     * 削除された行の位置があれば再利用し、なければ必要に応じて配列の容量を倍にしてから、RudeArrayの値を次の行に格納する。
+     *
+     * @param source 値を取り出すRudeArray
+     * @return 格納した行を参照するRudeArray
+     */
+    private Row storeRow(RudeArray source) {
+        int rowIndex = this.freeRowIndexes.nextSetBit(0);
+        if (rowIndex > -1) {
+            this.freeRowIndexes.clear(rowIndex);
+        } else {
+            rowIndex = this.storedRowCount;
+            if (rowIndex == this.capacity) {
+                this.capacity = this.capacity * 2;
+                for (Column column: this.columns.values()) {
+                    column.resize(this.capacity);
+                }
+            }
+            this.storedRowCount++;
+        }
+        for (String columnName: this.columns.keySet()) {
+            this.columns.get(columnName).set(rowIndex, source.get(columnName));
+        }
+        return new Row(rowIndex, this.storeGeneration);
+    }
+
+    /**
+     * 行が使用している配列の位置を、次に格納する行で再利用できるようにする。DynamicTableView.mergeRowsで削除された行に使用する。<br>
+     * 行は現在の値を保持した通常のRudeArrayになるため、選択などで参照が残っていても別の行の値にはならない。
+     *
+     * @param row このストアで作成した行
+     */
+    void releaseRow(RudeArray row) {
+        if (row instanceof Row == false) {
+            return;
+        }
+        Row target = (Row) row;
+        if (target.isStoredIn(this) == false) {
+            return;
+        }
+        target.detach();
+        this.freeRowIndexes.set(target.rowIndex);
+    }
+
+    /**
+     * 配列に格納している行数を取得する。<br>
+     * getRowsのリストの件数とは異なり、絞り込みで表示されていない行とmergeRowsで作成された行を含み、mergeRowsで削除された行を含まない。
+     *
+     * @return 行数
+     */
+    public int size() {
+        return this.storedRowCount - this.freeRowIndexes.cardinality();
+    }
+
+    /**
+     * addRowとaddRowsで追加した行を保持するリストを取得する。TableViewのitemsとして使用する。<br>
+     * DynamicTableViewにセットした場合、このリストは表示される行のリストになるため、並べ替え、絞り込み、mergeRowsの結果で内容と順番が変わる。
+     *
+     * @return 行のリスト
+     */
+    public ObservableList<RudeArray> getRows() {
+        return this.rows;
+    }
+
+    /**
+     * 値を取得する。
+     *
+     * @param rowIndex 配列の位置(追加した順。mergeRowsで削除された行の位置は再利用される)
+     * @param columnName カラム名
+     * @return 値
+     */
+    public Object get(int rowIndex, String columnName) {
+        Column column = this.columns.get(columnName);
+        if (column == null || column.nulls.get(rowIndex)) {
+            return null;
+        }
+        return column.get(rowIndex);
+    }
+
+    /**
+     * 値をセットする。
+     *
+     * @param rowIndex 配列の位置(追加した順。mergeRowsで削除された行の位置は再利用される)
+     * @param columnName カラム名
+     * @param value 値
+     */
+    public void set(int rowIndex, String columnName, Object value) {
+        this.columns.get(columnName).set(rowIndex, value);
+    }
+
+    /**
+     * 配列の余分な容量と文字列の辞書の索引を破棄する。行の追加が終わった後に使用する。
+     */
+    public void trimToSize() {
+        this.capacity = Math.max(1, this.storedRowCount);
+        for (Column column: this.columns.values()) {
+            column.resize(this.capacity);
+            if (column instanceof StringColumn) {
+                ((StringColumn) column).codes = null;
+            }
+        }
+    }
+
+    /**
+     * すべての行を破棄する。カラムは維持される。<br>
+     * 配列は新しい行で再利用されるため、破棄した行を参照するRudeArrayはカラムの値を持たない空の行になる。
+     */
+    public void clear() {
+        this.storeGeneration++;
+        this.freeRowIndexes.clear();
+        this.rows.clear();
+        this.storedRowCount = 0;
+        this.capacity = 16;
+        for (Column column: this.columns.values()) {
+            column.nulls.clear();
+            column.cachedValues = null;
+            column.resize(this.capacity);
+            if (column instanceof StringColumn) {
+                ((StringColumn) column).clearDictionary();
+            }
+        }
+    }
+
+    /**
+     * 1カラム分の値を保持するクラス。nullはBitSetで管理する。
+     *
+     * @author hiro
+     *
+     */
+    private static abstract class Column {
+
+        private ColumnType columnType;
+
+        protected BitSet nulls = new BitSet();
+
+        /**
+         * 配列の容量を変更する。
+         *
+         * @param capacity 容量
+         */
+        public abstract void resize(int capacity);
+
+        /**
+         * 取得した値のインスタンスを行インデックス毎に保持するキャッシュ。値をオブジェクトとして生成するカラムのみ使用する。
+         */
+        private CachedValue[] cachedValues = null;
+
+        /**
+         * null以外の値を取得する。値をオブジェクトとして生成するカラムでは、同じ行を繰り返し取得した場合に同じインスタンスを返す。
+         *
+         * @param rowIndex 行インデックス
+         * @return 値
+         */
+        public Object get(int rowIndex) {
+            if (this.isValueCreated() == false) {
+                return this.createValue(rowIndex);
+            }
+            if (this.cachedValues == null) {
+                this.cachedValues = new CachedValue[VALUE_CACHE_SIZE];
+            }
+            int index = rowIndex & (VALUE_CACHE_SIZE - 1);
+            CachedValue cachedValue = this.cachedValues[index];
+            if (cachedValue == null || cachedValue.rowIndex != rowIndex) {
+                cachedValue = new CachedValue(rowIndex, this.createValue(rowIndex));
+                this.cachedValues[index] = cachedValue;
+            }
+            return cachedValue.value;
+        }
+
+        /**
+         * 値をオブジェクトとして生成するカラムかどうかを判定する。
+         *
+         * @return 結果(初期値はfalse)
+         */
+        protected boolean isValueCreated() {
+            return false;
+        }
+
+        /**
+         * null以外の値を配列から作成する。
+         *
+         * @param rowIndex 行インデックス
+         * @return 値
+         */
+        protected abstract Object createValue(int rowIndex);
+
+        /**
+         * 値をセットする。
+         *
+         * @param rowIndex 行インデックス
+         * @param value 値
+         */
+        public void set(int rowIndex, Object value) {
+            if (this.cachedValues != null) {
+                this.cachedValues[rowIndex & (VALUE_CACHE_SIZE - 1)] = null;
+            }
+            if (value == null) {
+                this.nulls.set(rowIndex);
+                return;
+            }
+            try {
+                this.setValue(rowIndex, value);
+                this.nulls.clear(rowIndex);
+            } catch (NumberFormatException exception) {
+                this.nulls.set(rowIndex);
+            }
+        }
+
+        /**
+         * null以外の値をセットする。
+         *
+         * @param rowIndex 行インデックス
+         * @param value 値
+         */
+        protected abstract void setValue(int rowIndex, Object value);
+
+        /**
+         * 値を数値に変換する。
+         *
+         * @param value 値
+         * @return 数値
+         */
+        protected static Number toNumber(Object value) {
+            if (value instanceof Number) {
+                return (Number) value;
+            }
+            if (value instanceof Date) {
+                return ((Date) value).getTime();
+            }
+            if (value instanceof Boolean) {
+                return (Boolean) value ? 1 : 0;
+            }
+            return Double.valueOf(value.toString());
+        }
+
+    }
+
+    /**
+     * 取得した値のインスタンスと行インデックスを保持するクラス。一つのインスタンスで保持するため、行インデックスと値の組み合わせが崩れない。
+     *
+     * @author hiro
+     *
+     */
+    private static class CachedValue {
+
+        private final int rowIndex;
+
+        private final Object value;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param rowIndex 行インデックス
+         * @param value 値
+         */
+        public CachedValue(int rowIndex, Object value) {
+            this.rowIndex = rowIndex;
+            this.value = value;
+        }
+
+    }
+
+    /**
+     * int配列で値を保持するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class IntegerColumn extends Column {
+
+        private int[] values = new int[0];
+
+        @Override
+        public void resize(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        protected boolean isValueCreated() {
+            return true;
+        }
+
+        @Override
+        protected Object createValue(int rowIndex) {
+            return this.values[rowIndex];
+        }
+
+        @Override
+        protected void setValue(int rowIndex, Object value) {
+            this.values[rowIndex] = toNumber(value).intValue();
+        }
+
+    }
+
+    /**
+     * long配列で値を保持するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class LongColumn extends Column {
+
+        private long[] values = new long[0];
+
+        @Override
+        public void resize(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        protected boolean isValueCreated() {
+            return true;
+        }
+
+        @Override
+        protected Object createValue(int rowIndex) {
+            return this.values[rowIndex];
+        }
+
+        @Override
+        protected void setValue(int rowIndex, Object value) {
+            this.values[rowIndex] = toNumber(value).longValue();
+        }
+
+    }
+
+    /**
+     * double配列で値を保持するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class DoubleColumn extends Column {
+
+        private double[] values = new double[0];
+
+        @Override
+        public void resize(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        protected boolean isValueCreated() {
+            return true;
+        }
+
+        @Override
+        protected Object createValue(int rowIndex) {
+            return this.values[rowIndex];
+        }
+
+        @Override
+        protected void setValue(int rowIndex, Object value) {
+            this.values[rowIndex] = toNumber(value).doubleValue();
+        }
+
+    }
+
+    /**
+     * BitSetで値を保持するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class BooleanColumn extends Column {
+
+        private BitSet values = new BitSet();
+
+        @Override
+        public void resize(int capacity) {
+            if (capacity < this.values.length()) {
+                this.values.clear(capacity, this.values.length());
+            }
+        }
+
+        @Override
+        protected Object createValue(int rowIndex) {
+            return this.values.get(rowIndex);
+        }
+
+        @Override
+        protected void setValue(int rowIndex, Object value) {
+            boolean isTrue;
+            if (value instanceof Boolean) {
+                isTrue = (Boolean) value;
+            } else if (value instanceof Number) {
+                isTrue = ((Number) value).intValue() != 0;
+            } else {
+                isTrue = value.toString().equalsIgnoreCase("true") || value.toString().equals("1");
+            }
+            this.values.set(rowIndex, isTrue);
+        }
+
+    }
+
+    /**
+     * 文字列を辞書に登録して、行毎には辞書の番号をint配列で保持するクラス。同じ文字列は一つのインスタンスを共有する。
+     *
+     * @author hiro
+     *
+     */
+    private static class StringColumn extends Column {
+
+        private int[] values = new int[0];
+
+        private ArrayList<String> dictionary = new ArrayList<>();
+
+        /**
+         * 文字列から辞書の番号を引く索引。trimToSizeで破棄された場合は次の追加時に作り直す。
+         */
+        private HashMap<String, Integer> codes = new HashMap<>();
+
+        /**
+         * 辞書を破棄する。
+         */
+        public void clearDictionary() {
+            this.dictionary.clear();
+            this.codes = new HashMap<>();
+        }
+
+        @Override
+        public void resize(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        protected Object createValue(int rowIndex) {
+            return this.dictionary.get(this.values[rowIndex]);
+        }
+
+        @Override
+        protected void setValue(int rowIndex, Object value) {
+            if (this.codes == null) {
+                this.codes = new HashMap<>();
+                for (int code = 0; code < this.dictionary.size(); code++) {
+                    this.codes.put(this.dictionary.get(code), code);
+                }
+            }
+            String text = value.toString();
+            Integer code = this.codes.get(text);
+            if (code == null) {
+                code = this.dictionary.size();
+                this.dictionary.add(text);
+                this.codes.put(text, code);
+            }
+            this.values[rowIndex] = code;
+        }
+
+    }
+
+    /**
+     * エポックミリ秒をlong配列で保持するクラス。取得したDateは同じ行の取得で共有されるため、変更してはいけない。
+     *
+     * @author hiro
+     *
+     */
+    private static class DateColumn extends Column {
+
+        private long[] values = new long[0];
+
+        @Override
+        public void resize(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        protected boolean isValueCreated() {
+            return true;
+        }
+
+        @Override
+        protected Object createValue(int rowIndex) {
+            return new Date(this.values[rowIndex]);
+        }
+
+        @Override
+        protected void setValue(int rowIndex, Object value) {
+            this.values[rowIndex] = toNumber(value).longValue();
+        }
+
+    }
+
+    /**
+     * カラム毎の配列から1行分の値を参照するRudeArrayクラス。カラムとして追加されていないキーは通常のRudeArrayとして扱う。<br>
+     * ColumnarResultStoreがclearされた後は配列を参照せず、通常のRudeArrayとして扱う。
+     *
+     * @author hiro
+     *
+     */
+    private class Row extends RudeArray {
+
+        private int rowIndex;
+
+        private int storeGeneration;
+
+        /**
+         * releaseRowで配列の位置を解放された場合はtrue。
+         */
+        private boolean isDetached = false;
+
+        /**
+         * removeメソッドで削除されたカラム名。
+         */
+        private HashSet<String> removedColumnNames = null;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param rowIndex 配列の位置(追加した順。mergeRowsで削除された行の位置は再利用される)
+         * @param storeGeneration 作成した時点のclearの番号
+         */
+        public Row(int rowIndex, int storeGeneration) {
+            this.rowIndex = rowIndex;
+            this.storeGeneration = storeGeneration;
+        }
+
+        /**
+         * 値を参照するカラムを取得する。
+         *
+         * @param key キー
+         * @return カラム(配列で保持していないキーやclear後の場合はnull)
+         */
+        private Column getColumn(Object key) {
+            if (this.isStoredIn(ColumnarResultStore.this) == false) {
+                return null;
+            }
+            return ColumnarResultStore.this.columns.get(key);
+        }
+
+        /**
+         * 指定されたストアの配列を参照している行かどうかを判定する。
+         *
+         * @param store ストア
+         * @return 結果
+         */
+        private boolean isStoredIn(ColumnarResultStore store) {
+            return store == ColumnarResultStore.this && this.isDetached == false && this.storeGeneration == store.storeGeneration;
+        }
+
+        /**
+         * カラムの値を通常のRudeArrayの値として保持して、配列を参照しないようにする。
+         */
+        private void detach() {
+            for (String columnName: ColumnarResultStore.this.columns.keySet()) {
+                if (this.isRemoved(columnName) == false) {
+                    super.put(columnName, this.get(columnName));
+                }
+            }
+            this.isDetached = true;
+        }
+
+        /**
+         * カラムの値が削除されているかどうかを判定する。
+         *
+         * @param key キー
+         * @return 結果
+         */
+        private boolean isRemoved(Object key) {
+            return this.removedColumnNames != null && this.removedColumnNames.contains(key);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            Column column = this.getColumn(key);
+            if (column == null) {
+                super.put(key, value);
+                return;
+            }
+            column.set(this.rowIndex, value);
+            if (this.removedColumnNames != null) {
+                this.removedColumnNames.remove(key);
+            }
+        }
+
+        @Override
+        public Object get(Object key) {
+            Column column = this.getColumn(key);
+            if (column == null) {
+                return super.get(key);
+            }
+            if (this.isRemoved(key) || column.nulls.get(this.rowIndex)) {
+                return null;
+            }
+            return column.get(this.rowIndex);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (this.getColumn(key) != null) {
+                return this.isRemoved(key) == false;
+            }
+            return super.containsKey(key);
+        }
+
+        @Override
+        public void remove(Object key) {
+            Column column = this.getColumn(key);
+            if (column == null) {
+                super.remove(key);
+                return;
+            }
+            column.set(this.rowIndex, null);
+            if (this.removedColumnNames == null) {
+                this.removedColumnNames = new HashSet<>();
+            }
+            this.removedColumnNames.add((String) key);
+        }
+
+        @Override
+        public Object[] getKeys() {
+            ArrayList<Object> keys = new ArrayList<>();
+            if (this.isStoredIn(ColumnarResultStore.this)) {
+                for (String columnName: ColumnarResultStore.this.columns.keySet()) {
+                    if (this.isRemoved(columnName) == false) {
+                        keys.add(columnName);
+                    }
+                }
+            }
+            Object[] otherKeys = super.getKeys();
+            if (otherKeys != null) {
+                keys.addAll(Arrays.asList(otherKeys));
+            }
+            return keys.toArray();
+        }
+
+        @Override
+        public Object[] getValues() {
+            Object[] keys = this.getKeys();
+            Object[] values = new Object[keys.length];
+            for (int index = 0; index < keys.length; index++) {
+                values[index] = this.get(keys[index]);
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            return this.getKeys().length;
+        }
+
+        /**
+         * 配列を参照しない通常のRudeArrayとして、すべてのキーと値を複製する。
+         *
+         * @return 複製したRudeArray
+         */
+        @Override
+        public RudeArray clone() {
+            RudeArray clone = new RudeArray();
+            for (Object key: this.getKeys()) {
+                clone.put(key, this.get(key));
+            }
+            return clone;
+        }
+
+        @Override
+        public String getString(Object key) {
+            if (this.getColumn(key) == null) {
+                return super.getString(key);
+            }
+            Object value = this.get(key);
+            if (value == null) {
+                return null;
+            }
+            return value.toString();
+        }
+
+        @Override
+        public Number getNumber(Object key) {
+            if (this.getColumn(key) == null) {
+                return super.getNumber(key);
+            }
+            Object value = this.get(key);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Column.toNumber(value);
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+
+        @Override
+        public Integer getInteger(Object key) {
+            Number value = this.getNumber(key);
+            if (value == null || value instanceof Integer) {
+                return (Integer) value;
+            }
+            return value.intValue();
+        }
+
+        @Override
+        public Long getLong(Object key) {
+            Number value = this.getNumber(key);
+            if (value == null || value instanceof Long) {
+                return (Long) value;
+            }
+            return value.longValue();
+        }
+
+        @Override
+        public Double getDouble(Object key) {
+            Number value = this.getNumber(key);
+            if (value == null || value instanceof Double) {
+                return (Double) value;
+            }
+            return value.doubleValue();
+        }
+
+        @Override
+        public Boolean getBoolean(Object key) {
+            if (this.getColumn(key) == null) {
+                return super.getBoolean(key);
+            }
+            Object value = this.get(key);
+            if (value == null || value instanceof Boolean) {
+                return (Boolean) value;
+            }
+            return value.toString().equalsIgnoreCase("true") || value.toString().equals("1");
+        }
+
+        @Override
+        public Date getDate(Object key) {
+            if (this.getColumn(key) == null) {
+                return super.getDate(key);
+            }
+            Object value = this.get(key);
+            if (value == null || value instanceof Date) {
+                return (Date) value;
+            }
+            Number number = this.getNumber(key);
+            if (number == null) {
+                return null;
+            }
+            return new Date(number.longValue());
+        }
+
+    }
+
+}
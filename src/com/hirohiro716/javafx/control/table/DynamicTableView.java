@@ -1,7 +1,25 @@
 package com.hirohiro716.javafx.control.table;
 
+import java.text.CollationKey;
+import java.text.Collator;
 import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import com.hirohiro716.StringConverter;
 import com.hirohiro716.datetime.Datetime;
@@ -13,10 +31,10 @@ import com.hirohiro716.javafx.control.table.cell.EnterFireButtonTableCell;
 import com.hirohiro716.javafx.control.table.cell.IMEOffCheckBoxTableCell;
 
 import javafx.application.Platform;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
@@ -27,6 +45,8 @@ import javafx.scene.control.Label;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.scene.control.TableColumn.SortType;
+import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.util.Callback;
 
@@ -44,6 +64,8 @@ public class DynamicTableView extends TableView<RudeArray> {
     public DynamicTableView() {
         super();
         this.setPlaceholder(new Label("データがありません"));
+        this.initializeIndexes();
+        this.initializeSortPolicy();
     }
 
     /**
@@ -54,651 +76,958 @@ public class DynamicTableView extends TableView<RudeArray> {
     public DynamicTableView(ObservableList<RudeArray> items) {
         super(items);
         this.setPlaceholder(new Label("データがありません"));
+        this.initializeIndexes();
+        this.initializeSortPolicy();
     }
 
     /**
-     * TableViewのItemオブジェクトから行番号を取得する。
-     *
-     * @param target 対象オブジェクト
-     * @return 行インデックス
+     * itemから行番号を引く索引。itemsが変更されると破棄され、次に必要になった時に作り直される。
      */
-    public int getRowIndex(RudeArray target) {
-        int index = -1;
-        for (RudeArray row: this.getItems()) {
-            index++;
-            if (target == row) {
-                break;
+    private IdentityHashMap<RudeArray, Integer> rowIndexes = null;
+
+    /**
+     * カラムIDからカラムを引く索引。
+     */
+    private HashMap<String, TableColumn<RudeArray, ?>> columns = null;
+
+    private ListChangeListener<RudeArray> itemsChangeListener = new ListChangeListener<RudeArray>() {
+        @Override
+        public void onChanged(Change<? extends RudeArray> change) {
+            DynamicTableView tableView = DynamicTableView.this;
+            boolean isExternalChange = tableView.isPublishingSortResult == false && tableView.isMergingRows == false;
+            while (change.next()) {
+                if (isExternalChange && tableView.unfilteredItems != null) {
+                    tableView.applyChangeToUnfilteredItems(change);
+                }
+                // 末尾への追加だけであれば索引に追加する
+                if (tableView.rowIndexes != null && change.wasAdded() && change.wasRemoved() == false
+                        && change.getTo() == change.getList().size() && change.wasPermutated() == false) {
+                    for (int index = change.getFrom(); index < change.getTo(); index++) {
+                        RudeArray item = change.getList().get(index);
+                        if (tableView.rowIndexes.containsKey(item) == false) {
+                            tableView.rowIndexes.put(item, index);
+                        }
+                    }
+                    continue;
+                }
+                tableView.rowIndexes = null;
+            }
+            if (isExternalChange) {
+                // 実行中の並べ替えと絞り込みは変更前の行を対象にしているため、変更後の行でやり直す
+                if (tableView.unfilteredItems != null || tableView.isSortRunning) {
+                    tableView.startSortAndFilter();
+                } else {
+                    tableView.sortGeneration++;
+                }
             }
         }
-        return index;
-    }
+    };
 
     /**
-     * columnNameから対象カラムを取得する。
+     * 絞り込み中にitemsへ直接行われた変更を、絞り込む前のすべての行に反映する。<br>
+     * 表示されているすべての行を置き換える変更(clearやsetAll)の場合は、表示されていない行も削除する。
      *
-     * @param id ID(columnName)
-     * @return TableColumn
+     * @param change itemsの変更
      */
-    public TableColumn<RudeArray, ?> getColumn(String id) {
-        for (TableColumn<RudeArray, ?> column : this.getColumns()) {
-            if (id.equals(column.getId())) {
-                return column;
+    private void applyChangeToUnfilteredItems(ListChangeListener.Change<? extends RudeArray> change) {
+        if (change.wasPermutated() || change.wasUpdated()) {
+            return;
+        }
+        List<? extends RudeArray> list = change.getList();
+        if (change.wasRemoved()) {
+            if (change.getFrom() == 0 && change.getTo() == list.size()) {
+                this.unfilteredItems.clear();
+            } else {
+                IdentityHashMap<RudeArray, Boolean> removedItems = new IdentityHashMap<>();
+                for (RudeArray item: change.getRemoved()) {
+                    removedItems.put(item, true);
+                }
+                List<RudeArray> remainingItems = new ArrayList<>(this.unfilteredItems.size());
+                for (RudeArray item: this.unfilteredItems) {
+                    if (removedItems.containsKey(item) == false) {
+                        remainingItems.add(item);
+                    }
+                }
+                this.unfilteredItems = remainingItems;
             }
         }
-        return null;
+        if (change.wasAdded()) {
+            // 直前に表示されている行の後ろに挿入する
+            int insertIndex = 0;
+            if (change.getFrom() > 0) {
+                RudeArray previousItem = list.get(change.getFrom() - 1);
+                insertIndex = this.unfilteredItems.size();
+                for (int index = 0; index < this.unfilteredItems.size(); index++) {
+                    if (this.unfilteredItems.get(index) == previousItem) {
+                        insertIndex = index + 1;
+                        break;
+                    }
+                }
+            }
+            this.unfilteredItems.addAll(insertIndex, change.getAddedSubList());
+        }
     }
 
     /**
-     * カラムを作成する。
-     *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @param cellDataFeaturesCallback セルの値のプロパティを生成するコールバック
-     * @return TableColumn
+     * itemsとカラムの変更を監視して索引を破棄するように設定する。
      */
-    private static TableColumn<RudeArray, Object> createColumn(String columnName, String columnHeaderText, double prefWidth,
-            Callback<TableColumn.CellDataFeatures<RudeArray, Object>, ObservableValue<Object>> cellDataFeaturesCallback) {
-        TableColumn<RudeArray, Object> column = new TableColumn<>(columnHeaderText);
-        column.setId(columnName);
-        column.setCellValueFactory(cellDataFeaturesCallback);
-        if (prefWidth > -1) {
-            column.setPrefWidth(prefWidth);
+    private void initializeIndexes() {
+        DynamicTableView tableView = this;
+        if (this.getItems() != null) {
+            this.getItems().addListener(this.itemsChangeListener);
         }
-        return column;
+        this.itemsProperty().addListener(new ChangeListener<ObservableList<RudeArray>>() {
+            @Override
+            public void changed(ObservableValue<? extends ObservableList<RudeArray>> observable, ObservableList<RudeArray> oldValue, ObservableList<RudeArray> newValue) {
+                if (oldValue != null) {
+                    oldValue.removeListener(tableView.itemsChangeListener);
+                }
+                if (newValue != null) {
+                    newValue.addListener(tableView.itemsChangeListener);
+                }
+                tableView.rowIndexes = null;
+                tableView.unfilteredItems = null;
+                tableView.applyFilters();
+            }
+        });
+        this.getColumns().addListener(new ListChangeListener<TableColumn<RudeArray, ?>>() {
+            @Override
+            public void onChanged(Change<? extends TableColumn<RudeArray, ?>> change) {
+                tableView.columns = null;
+            }
+        });
     }
 
     /**
-     * カラムを追加する。
+     * addColumnXxxメソッドで作成したカラムの値の型をTableColumnのプロパティに保持するためのキー。
+     */
+    private static final String VALUE_TYPE_PROPERTY_KEY = "dynamic-table-view-value-type";
+
+    /**
+     * addColumnXxxメソッドで作成したカラムのセルの文字列の形式をTableColumnのプロパティに保持するためのキー。
+     */
+    private static final String CELL_TEXT_FORMATTER_PROPERTY_KEY = "dynamic-table-view-cell-text-formatter";
+
+    /**
+     * addColumnXxxメソッドで作成したカラムの値の型を取得する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param cellDataFeaturesCallback セルの値のプロパティを生成するコールバック
-     * @param tableCellCallback セルを生成するコールバック
+     * @param column カラム
+     * @return 値の型(型が不明なカラムの場合はnull、ボタンのカラムの場合はVoid)
      */
-    public void addColumn(String columnName, String columnHeaderText,
-            Callback<TableColumn.CellDataFeatures<RudeArray, Object>, ObservableValue<Object>> cellDataFeaturesCallback,
-                Callback<TableColumn<RudeArray, Object>, TableCell<RudeArray, Object>> tableCellCallback) {
-        this.addColumn(columnName, columnHeaderText, -1, cellDataFeaturesCallback, tableCellCallback);
+    static Class<?> getValueType(TableColumn<RudeArray, ?> column) {
+        Object valueType = column.getProperties().get(VALUE_TYPE_PROPERTY_KEY);
+        if (valueType instanceof Class) {
+            return (Class<?>) valueType;
+        }
+        return null;
     }
 
     /**
-     * カラムを追加する。
+     * 数値を、addColumnNumberメソッドで指定された表示形式で文字列に変換する。FXスレッドで使用する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth 初期列幅
-     * @param cellDataFeaturesCallback セルの値のプロパティを生成するコールバック
-     * @param tableCellCallback セルを生成するコールバック
+     * @param column カラム
+     * @param value 数値
+     * @return 文字列(表示形式が指定されていないカラムの場合はnull)
      */
-    public void addColumn(String columnName, String columnHeaderText, double prefWidth,
-            Callback<TableColumn.CellDataFeatures<RudeArray, Object>, ObservableValue<Object>> cellDataFeaturesCallback,
-                Callback<TableColumn<RudeArray, Object>, TableCell<RudeArray, Object>> tableCellCallback) {
-        TableColumn<RudeArray, Object> column = createColumn(columnName, columnHeaderText, prefWidth, cellDataFeaturesCallback);
-        column.setCellFactory(tableCellCallback);
-        this.getColumns().add(column);
+    static String formatNumber(TableColumn<RudeArray, ?> column, Number value) {
+        Object formatter = column.getProperties().get(CELL_TEXT_FORMATTER_PROPERTY_KEY);
+        if (formatter instanceof NumberCellTextFormatter) {
+            return ((NumberCellTextFormatter) formatter).format(value);
+        }
+        return null;
     }
 
     /**
-     * String型を格納するカラムを作成する。
+     * 行の値をカラムのセルに表示される文字列と同じ形式に変換する処理を作成する。<br>
+     * 変換に使用するフォーマットは複製されるため、作成した処理はFXスレッド以外で使用できる。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @return TableColumn
+     * @param column カラム
+     * @return 変換処理(ボタンのカラムの場合はnull)
      */
-    private static TableColumn<RudeArray, String> createColumnString(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, String> column = new TableColumn<>(columnHeaderText);
-        column.setId(columnName);
-        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray, String>, ObservableValue<String>>() {
+    static Function<RudeArray, String> createCellTextFunction(TableColumn<RudeArray, ?> column) {
+        String columnName = column.getId();
+        Class<?> valueType = getValueType(column);
+        if (valueType == Void.class) {
+            return null;
+        }
+        Object formatter = column.getProperties().get(CELL_TEXT_FORMATTER_PROPERTY_KEY);
+        if (valueType == Number.class && formatter instanceof NumberCellTextFormatter) {
+            CellTextFormatter<Number> numberFormatter = ((NumberCellTextFormatter) formatter).copy();
+            return new Function<RudeArray, String>() {
+                @Override
+                public String apply(RudeArray row) {
+                    Number value = row.getNumber(columnName);
+                    if (value == null) {
+                        return null;
+                    }
+                    return numberFormatter.format(value);
+                }
+            };
+        }
+        if (valueType == Date.class && formatter instanceof CellTextFormatter) {
+            @SuppressWarnings("unchecked")
+            CellTextFormatter<Date> dateFormatter = ((CellTextFormatter<Date>) formatter).copy();
+            return new Function<RudeArray, String>() {
+                @Override
+                public String apply(RudeArray row) {
+                    Date value = row.getDate(columnName);
+                    if (value == null) {
+                        return null;
+                    }
+                    return dateFormatter.format(value);
+                }
+            };
+        }
+        return new Function<RudeArray, String>() {
             @Override
-            public ObservableValue<String> call(CellDataFeatures<RudeArray, String> param) {
-                String value = param.getValue().getString(columnName);
+            public String apply(RudeArray row) {
+                Object value = row.get(columnName);
                 if (value == null) {
                     return null;
                 }
-                return new SimpleObjectProperty<String>(value);
+                if (valueType == Double.class) {
+                    return StringConverter.tryNonFraction(String.valueOf(value));
+                }
+                if (valueType == Boolean.class) {
+                    if (row.getBoolean(columnName)) {
+                        return "●";
+                    }
+                    return null;
+                }
+                if (value instanceof Date) {
+                    return Datetime.dateToString((Date) value);
+                }
+                return String.valueOf(value);
             }
-        });
-        if (prefWidth > -1) {
-            column.setPrefWidth(prefWidth);
-        }
-        return column;
+        };
     }
 
     /**
-     * String型のカラムを追加する。
-     *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param pos セルの文字配置
+     * 並べ替えを分割せずに1スレッドで行う行数。
      */
-    public void addColumnString(String columnName, String columnHeaderText, Pos pos) {
-        this.addColumnString(columnName, columnHeaderText, -1, pos);
-    }
+    private static final int SEQUENTIAL_SORT_THRESHOLD = 8192;
+
+    private Predicate<RudeArray> filter = null;
 
     /**
-     * String型のカラムを追加する。
-     *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth 初期列幅
-     * @param pos セルの文字配置
+     * 絞り込む前のすべての行。絞り込みが行われていない場合はnull。
      */
-    public void addColumnString(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
-        TableColumn<RudeArray, String> column = createColumnString(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray, String>, TableCell<RudeArray, String>>() {
-            @Override
-            public TableCell<RudeArray, String> call(TableColumn<RudeArray, String> param) {
-                TableCell<RudeArray, String> cell = new TableCell<RudeArray, String>() {
-                    @Override
-                    protected void updateItem(String item, boolean isEmpty) {
-                        super.updateItem(item, isEmpty);
-                        this.setText(null);
-                        if (isEmpty == false) {
-                            this.setText(item);
-                        }
-                    }
-                    @Override
-                    public void cancelEdit() {
-                        super.cancelEdit();
-                        this.setText(null);
-                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
-                            RudeArray row = (RudeArray) this.getTableRow().getItem();
-                            if (row.get(columnName) != null) {
-                                this.setText(row.getString(columnName));
-                            }
-                        }
-                    }
-                };
-                cell.setAlignment(pos);
-                return cell;
-            }
-        });
-        this.getColumns().add(column);
-    }
+    private List<RudeArray> unfilteredItems = null;
 
     /**
-     * Number型を格納するカラムを作成する。
-     *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @return TableColumn
+     * 並べ替えと絞り込みの要求毎に増える番号。古い要求の処理は結果を反映せずに中断する。
      */
-    private static TableColumn<RudeArray, Number> createColumnNumber(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, Number> column = new TableColumn<>(columnHeaderText);
-        column.setId(columnName);
-        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Number>, ObservableValue<Number>>() {
+    private volatile int sortGeneration = 0;
+
+    private boolean isPublishingSortResult = false;
+
+    /**
+     * 並べ替えと絞り込みの結果がまだ反映されていない場合はtrue。
+     */
+    private boolean isSortRunning = false;
+
+    /**
+     * mergeRowsで絞り込む前のすべての行を更新した後、itemsに反映している最中の場合はtrue。
+     */
+    private boolean isMergingRows = false;
+
+    /**
+     * TableViewの並べ替えをバックグラウンドで行うように設定する。
+     */
+    private void initializeSortPolicy() {
+        DynamicTableView tableView = this;
+        this.setSortPolicy(new Callback<TableView<RudeArray>, Boolean>() {
             @Override
-            public ObservableValue<Number> call(CellDataFeatures<RudeArray, Number> param) {
-                Number value = param.getValue().getNumber(columnName);
-                if (value == null) {
-                    return null;
+            public Boolean call(TableView<RudeArray> param) {
+                if (tableView.isPublishingSortResult == false) {
+                    tableView.startSortAndFilter();
                 }
-                return new SimpleObjectProperty<Number>(value);
+                return true;
             }
         });
-        if (prefWidth > -1) {
-            column.setPrefWidth(prefWidth);
-        }
-        return column;
     }
 
     /**
-     * Number型のカラムを追加する。
+     * 行を絞り込む条件をセットする。絞り込みと並べ替えはバックグラウンドで行われ、完了した時点で表示が入れ替わる。<br>
+     * 絞り込み中にitemsへ直接追加した行も絞り込まれる。clearやsetAllで表示されているすべての行を置き換えた場合は、表示されていない行も削除される。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param pos セルの文字配置
-     * @param numberFormat 数値の表示形式
+     * @param filter 表示する行の条件(nullの場合は絞り込みを解除する)
      */
-    public void addColumnNumber(String columnName, String columnHeaderText, Pos pos, NumberFormat numberFormat) {
-        this.addColumnNumber(columnName, columnHeaderText, -1, pos, numberFormat);
+    public void setFilter(Predicate<RudeArray> filter) {
+        this.filter = filter;
+        this.applyFilters();
     }
 
     /**
-     * Number型のカラムを追加する。
+     * 行を絞り込む条件を取得する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @param pos セルの文字配置
-     * @param numberFormat 数値の表示形式
+     * @return 条件(絞り込まれていない場合はnull)
      */
-    public void addColumnNumber(String columnName, String columnHeaderText, double prefWidth, Pos pos, NumberFormat numberFormat) {
-        TableColumn<RudeArray, Number> column = createColumnNumber(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray, Number>, TableCell<RudeArray, Number>>() {
-            @Override
-            public TableCell<RudeArray, Number> call(TableColumn<RudeArray, Number> param) {
-                TableCell<RudeArray, Number> cell = new TableCell<RudeArray, Number>() {
-                    @Override
-                    protected void updateItem(Number item, boolean isEmpty) {
-                        super.updateItem(item, isEmpty);
-                        this.setText(null);
-                        if (isEmpty == false) {
-                            if (item != null) {
-                                this.setText(numberFormat.format(item));
-                            }
-                        }
-                    }
-                    @Override
-                    public void cancelEdit() {
-                        super.cancelEdit();
-                        this.setText(null);
-                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
-                            RudeArray row = (RudeArray) this.getTableRow().getItem();
-                            if (row.get(columnName) != null) {
-                                this.setText(numberFormat.format(row.getDouble(columnName)));
-                            }
-                        }
-                    }
-                };
-                cell.setAlignment(pos);
-                return cell;
-            }
-        });
-        this.getColumns().add(column);
+    public Predicate<RudeArray> getFilter() {
+        return this.filter;
     }
 
+    private LinkedHashMap<String, Predicate<RudeArray>> namedFilters = new LinkedHashMap<>();
+
     /**
-     * Integer型を格納するカラムを作成する。
+     * 名前を付けて行を絞り込む条件をセットする。setFilterメソッドの条件と、名前毎の条件をすべて満たす行が表示される。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @return TableColumn
+     * @param name 条件の名前
+     * @param filter 表示する行の条件(nullの場合はその名前の条件を解除する)
      */
-    private static TableColumn<RudeArray, Integer> createColumnInteger(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, Integer> column = new TableColumn<>(columnHeaderText);
-        column.setId(columnName);
-        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Integer>, ObservableValue<Integer>>() {
-            @Override
-            public ObservableValue<Integer> call(CellDataFeatures<RudeArray, Integer> param) {
-                Integer value = param.getValue().getInteger(columnName);
-                if (value == null) {
-                    return null;
-                }
-                return new SimpleObjectProperty<Integer>(value);
-            }
-        });
-        if (prefWidth > -1) {
-            column.setPrefWidth(prefWidth);
+    public void setFilter(String name, Predicate<RudeArray> filter) {
+        if (filter == null) {
+            this.namedFilters.remove(name);
+        } else {
+            this.namedFilters.put(name, filter);
         }
-        return column;
+        this.applyFilters();
     }
 
     /**
-     * Integer型のカラムを追加する。
+     * 名前を付けてセットした行を絞り込む条件を取得する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param pos セルの文字配置
+     * @param name 条件の名前
+     * @return 条件(セットされていない場合はnull)
      */
-    public void addColumnInteger(String columnName, String columnHeaderText, Pos pos) {
-        this.addColumnInteger(columnName, columnHeaderText, -1, pos);
+    public Predicate<RudeArray> getFilter(String name) {
+        return this.namedFilters.get(name);
     }
 
     /**
-     * Integer型のカラムを追加する。
+     * 現在の絞り込み条件で、絞り込みと並べ替えを開始する。
+     */
+    private void applyFilters() {
+        if (this.createCombinedFilter() != null && this.unfilteredItems == null && this.getItems() != null) {
+            this.unfilteredItems = new ArrayList<>(this.getItems());
+        }
+        this.startSortAndFilter();
+    }
+
+    /**
+     * setFilterメソッドの条件と名前毎の条件をすべて満たす行を表示する条件を作成する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @param pos セルの文字配置
+     * @return 条件(絞り込まない場合はnull)
      */
-    public void addColumnInteger(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
-        TableColumn<RudeArray, Integer> column = createColumnInteger(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray, Integer>, TableCell<RudeArray, Integer>>() {
-            @Override
-            public TableCell<RudeArray, Integer> call(TableColumn<RudeArray, Integer> param) {
-                TableCell<RudeArray, Integer> cell = new TableCell<RudeArray, Integer>() {
-                    @Override
-                    protected void updateItem(Integer item, boolean isEmpty) {
-                        super.updateItem(item, isEmpty);
-                        this.setText(null);
-                        if (isEmpty == false) {
-                            if (item != null) {
-                                this.setText(String.valueOf(item));
-                            }
-                        }
-                    }
-                    @Override
-                    public void cancelEdit() {
-                        super.cancelEdit();
-                        this.setText(null);
-                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
-                            RudeArray row = (RudeArray) this.getTableRow().getItem();
-                            if (row.get(columnName) != null) {
-                                this.setText((row.getString(columnName)));
-                            }
+    private Predicate<RudeArray> createCombinedFilter() {
+        List<Predicate<RudeArray>> filters = new ArrayList<>();
+        if (this.filter != null) {
+            filters.add(this.filter);
+        }
+        filters.addAll(this.namedFilters.values());
+        switch (filters.size()) {
+        case 0:
+            return null;
+        case 1:
+            return filters.get(0);
+        default:
+            return new Predicate<RudeArray>() {
+                @Override
+                public boolean test(RudeArray row) {
+                    for (Predicate<RudeArray> filter: filters) {
+                        if (filter.test(row) == false) {
+                            return false;
                         }
                     }
-                };
-                cell.setAlignment(pos);
-                return cell;
-            }
-        });
-        this.getColumns().add(column);
+                    return true;
+                }
+            };
+        }
     }
 
     /**
-     * Long型を格納するカラムを作成する。
+     * 絞り込む前のすべての行を取得する。絞り込まれていない場合はitemsを返す。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @return TableColumn
+     * @return 行
      */
-    private static TableColumn<RudeArray, Long> createColumnLong(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, Long> column = new TableColumn<>(columnHeaderText);
-        column.setId(columnName);
-        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Long>, ObservableValue<Long>>() {
-            @Override
-            public ObservableValue<Long> call(CellDataFeatures<RudeArray, Long> param) {
-                Long value = param.getValue().getLong(columnName);
-                if (value == null) {
-                    return null;
-                }
-                return new SimpleObjectProperty<Long>(value);
-            }
-        });
-        if (prefWidth > -1) {
-            column.setPrefWidth(prefWidth);
+    List<RudeArray> getUnfilteredItems() {
+        if (this.unfilteredItems != null) {
+            return this.unfilteredItems;
         }
-        return column;
+        return this.getItems();
     }
 
     /**
-     * Long型のカラムを追加する。
+     * 並べ替えと絞り込みの結果をitemsに反映している最中かどうかを判定する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param pos セルの文字配置
+     * @return 結果
      */
-    public void addColumnLong(String columnName, String columnHeaderText, Pos pos) {
-        this.addColumnLong(columnName, columnHeaderText, -1, pos);
+    boolean isPublishingSortResult() {
+        return this.isPublishingSortResult;
     }
 
     /**
-     * Long型のカラムを追加する。
-     *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @param pos セルの文字配置
+     * 現在の並べ替えのカラムと絞り込み条件で、行の並び順をForkJoinPoolで計算する。<br>
+     * 実行中の古い処理は中断され、最後の要求の結果だけが一度のsetAllで反映される。
      */
-    public void addColumnLong(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
-        TableColumn<RudeArray, Long> column = createColumnLong(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray, Long>, TableCell<RudeArray, Long>>() {
+    private void startSortAndFilter() {
+        int generation = ++this.sortGeneration;
+        this.isSortRunning = false;
+        if (this.getItems() == null) {
+            return;
+        }
+        List<RudeArray> sourceItems;
+        if (this.unfilteredItems != null) {
+            sourceItems = new ArrayList<>(this.unfilteredItems);
+        } else {
+            if (this.getSortOrder().size() == 0) {
+                return;
+            }
+            sourceItems = new ArrayList<>(this.getItems());
+        }
+        this.isSortRunning = true;
+        // 行の値はFXスレッドで変更されるため、絞り込みと値の取り出しはFXスレッドで行い、ForkJoinPoolでは取り出した値だけを並べ替える
+        int[] indexes = this.filterIndexes(sourceItems, this.createCombinedFilter());
+        List<SortKey> sortKeys = this.createSortKeys(sourceItems, indexes);
+        DynamicTableView tableView = this;
+        ForkJoinPool.commonPool().execute(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
             @Override
-            public TableCell<RudeArray, Long> call(TableColumn<RudeArray, Long> param) {
-                TableCell<RudeArray, Long> cell = new TableCell<RudeArray, Long>() {
+            protected void compute() {
+                List<RudeArray> result;
+                try {
+                    result = tableView.sortIndexes(sourceItems, indexes, sortKeys, generation);
+                } catch (CancellationException exception) {
+                    return;
+                }
+                Platform.runLater(new Runnable() {
                     @Override
-                    protected void updateItem(Long item, boolean isEmpty) {
-                        super.updateItem(item, isEmpty);
-                        this.setText(null);
-                        if (isEmpty == false) {
-                            if (item != null) {
-                                this.setText(String.valueOf(item));
-                            }
+                    public void run() {
+                        if (generation != tableView.sortGeneration || tableView.getItems() == null) {
+                            return;
                         }
-                    }
-                    @Override
-                    public void cancelEdit() {
-                        super.cancelEdit();
-                        this.setText(null);
-                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
-                            RudeArray row = (RudeArray) this.getTableRow().getItem();
-                            if (row.get(columnName) != null) {
-                                this.setText((row.getString(columnName)));
-                            }
+                        tableView.isSortRunning = false;
+                        // setAllでは選択が解除されるため、反映後に選択し直す
+                        List<RudeArray> selectedItems = new ArrayList<>(tableView.getSelectionModel().getSelectedItems());
+                        RudeArray selectedItem = tableView.getSelectionModel().getSelectedItem();
+                        tableView.isPublishingSortResult = true;
+                        try {
+                            tableView.getItems().setAll(result);
+                        } finally {
+                            tableView.isPublishingSortResult = false;
+                        }
+                        tableView.restoreSelection(selectedItems, selectedItem);
+                        if (tableView.createCombinedFilter() == null) {
+                            tableView.unfilteredItems = null;
                         }
                     }
-                };
-                cell.setAlignment(pos);
-                return cell;
+                });
             }
         });
-        this.getColumns().add(column);
     }
 
     /**
-     * Double型を格納するカラムを作成する。
+     * 絞り込みと並べ替えを呼び出したスレッドで行う。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @return TableColumn
+     * @param sourceItems 絞り込む前の行
+     * @param filter 絞り込み条件
+     * @param generation 要求の番号
+     * @return 結果の行
      */
-    private static TableColumn<RudeArray, Double> createColumnDouble(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, Double> column = new TableColumn<>(columnHeaderText);
-        column.setId(columnName);
-        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Double>, ObservableValue<Double>>() {
-            @Override
-            public ObservableValue<Double> call(CellDataFeatures<RudeArray, Double> param) {
-                Double value = param.getValue().getDouble(columnName);
-                if (value == null) {
-                    return null;
-                }
-                return new SimpleObjectProperty<Double>(value);
+    private List<RudeArray> sortAndFilter(List<RudeArray> sourceItems, Predicate<RudeArray> filter, int generation) {
+        int[] indexes = this.filterIndexes(sourceItems, filter);
+        return this.sortIndexes(sourceItems, indexes, this.createSortKeys(sourceItems, indexes), generation);
+    }
+
+    /**
+     * 絞り込み条件を満たす行のインデックスを取得する。行の値を参照するためFXスレッドで実行する。
+     *
+     * @param sourceItems 絞り込む前の行
+     * @param filter 絞り込み条件
+     * @return 絞り込まれた行のインデックス
+     */
+    private int[] filterIndexes(List<RudeArray> sourceItems, Predicate<RudeArray> filter) {
+        int[] indexes = new int[sourceItems.size()];
+        int count = 0;
+        for (int index = 0; index < sourceItems.size(); index++) {
+            if (filter == null || filter.test(sourceItems.get(index))) {
+                indexes[count] = index;
+                count++;
             }
-        });
-        if (prefWidth > -1) {
-            column.setPrefWidth(prefWidth);
         }
-        return column;
+        return Arrays.copyOf(indexes, count);
     }
 
     /**
-     * Double型のカラムを追加する。
+     * 取り出し済みの並べ替えのキーで、絞り込まれた行を並べ替える。行の値は参照しないためForkJoinPoolのスレッドで実行できる。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param pos セルの文字配置
+     * @param sourceItems 絞り込む前の行(呼び出し元で複製したリスト)
+     * @param indexes 絞り込まれた行のインデックス
+     * @param sortKeys 値を取り出した並べ替えのキー
+     * @param generation 要求の番号
+     * @return 結果の行
+     * @throws CancellationException 新しい要求があった場合
      */
-    public void addColumnDouble(String columnName, String columnHeaderText, Pos pos) {
-        this.addColumnDouble(columnName, columnHeaderText, -1, pos);
+    private List<RudeArray> sortIndexes(List<RudeArray> sourceItems, int[] indexes, List<SortKey> sortKeys, int generation) throws CancellationException {
+        if (generation != this.sortGeneration) {
+            throw new CancellationException();
+        }
+        if (sortKeys.size() > 0) {
+            for (SortKey sortKey: sortKeys) {
+                sortKey.prepare();
+            }
+            new IndexMergeSortTask(indexes, new int[indexes.length], 0, indexes.length, sortKeys, generation).invoke();
+        }
+        List<RudeArray> result = new ArrayList<>(indexes.length);
+        for (int index: indexes) {
+            result.add(sourceItems.get(index));
+        }
+        return result;
     }
 
     /**
-     * Double型のカラムを追加する。
+     * 現在の並べ替えのカラムから並べ替えのキーを作成して、絞り込まれた行の値を取り出す。キーはFXスレッドでカラムの設定から作成する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @param pos セルの文字配置
+     * @param sourceItems 絞り込む前の行
+     * @param indexes 絞り込まれた行のインデックス
+     * @return 並べ替えのキー
      */
-    public void addColumnDouble(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
-        TableColumn<RudeArray, Double> column = createColumnDouble(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray, Double>, TableCell<RudeArray, Double>>() {
-            @Override
-            public TableCell<RudeArray, Double> call(TableColumn<RudeArray, Double> param) {
-                TableCell<RudeArray, Double> cell = new TableCell<RudeArray, Double>() {
-                    @Override
-                    protected void updateItem(Double item, boolean isEmpty) {
-                        super.updateItem(item, isEmpty);
-                        this.setText(null);
-                        if (isEmpty == false) {
-                            if (item != null) {
-                                this.setText(StringConverter.tryNonFraction(String.valueOf(item)));
-                            }
-                        }
-                    }
-                    @Override
-                    public void cancelEdit() {
-                        super.cancelEdit();
-                        this.setText(null);
-                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
-                            RudeArray row = (RudeArray) this.getTableRow().getItem();
-                            if (row.get(columnName) != null) {
-                                this.setText(StringConverter.tryNonFraction(String.valueOf(row.getString(columnName))));
-                            }
-                        }
-                    }
-                };
-                cell.setAlignment(pos);
-                return cell;
-            }
-        });
-        this.getColumns().add(column);
+    private List<SortKey> createSortKeys(List<RudeArray> sourceItems, int[] indexes) {
+        List<SortKey> sortKeys = new ArrayList<>();
+        for (TableColumn<RudeArray, ?> column: this.getSortOrder()) {
+            SortKey sortKey = this.createSortKey(column, sourceItems);
+            sortKey.isDescending = column.getSortType() == SortType.DESCENDING;
+            sortKey.extract(sourceItems, indexes);
+            sortKeys.add(sortKey);
+        }
+        return sortKeys;
     }
 
     /**
-     * Boolean型を格納するカラムを作成する。
+     * カラムの値の型に合わせた並べ替えのキーを作成する。型が不明なカラムやComparatorが変更されているカラムは、FXスレッドで値を取得してカラムのComparatorで比較する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
-     * @return TableColumn
+     * @param column カラム
+     * @param sourceItems 絞り込む前の行
+     * @return 並べ替えのキー
      */
-    private static TableColumn<RudeArray, Boolean> createColumnBoolean(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, Boolean> column = new TableColumn<>(columnHeaderText);
-        column.setId(columnName);
-        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Boolean>, ObservableValue<Boolean>>() {
-            @Override
-            public ObservableValue<Boolean> call(CellDataFeatures<RudeArray, Boolean> param) {
-                Boolean value = param.getValue().getBoolean(columnName);
-                if (value == null) {
-                    return null;
-                }
-                return new SimpleBooleanProperty(value);
+    private SortKey createSortKey(TableColumn<RudeArray, ?> column, List<RudeArray> sourceItems) {
+        Object valueType = column.getProperties().get(VALUE_TYPE_PROPERTY_KEY);
+        String columnName = column.getId();
+        if (valueType != null && column.getComparator() == TableColumn.DEFAULT_COMPARATOR) {
+            if (valueType == Integer.class || valueType == Long.class || valueType == Date.class) {
+                return new LongSortKey(columnName, valueType == Date.class);
+            }
+            if (valueType == Number.class || valueType == Double.class) {
+                return new DoubleSortKey(columnName);
+            }
+            if (valueType == Boolean.class) {
+                return new BooleanSortKey(columnName);
+            }
+            if (valueType == String.class) {
+                return new StringSortKey(columnName);
             }
-        });
-        if (prefWidth > -1) {
-            column.setPrefWidth(prefWidth);
         }
-        return column;
+        Object[] values = new Object[sourceItems.size()];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = column.getCellData(sourceItems.get(index));
+        }
+        @SuppressWarnings("unchecked")
+        Comparator<Object> comparator = (Comparator<Object>) column.getComparator();
+        return new ObjectSortKey(values, comparator);
     }
 
+    private ColumnarResultStore columnarResultStore = null;
+
     /**
-     * Boolean型のカラムを追加する。
+     * 行の値をカラム毎の配列で保持するストアをセットする。ストアの行がitemsになり、addColumnXxxメソッドで追加したカラムでそのまま表示される。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
+     * @param columnarResultStore ストア
      */
-    public void addColumnBoolean(String columnName, String columnHeaderText) {
-        this.addColumnBoolean(columnName, columnHeaderText, -1);
+    public void setColumnarResultStore(ColumnarResultStore columnarResultStore) {
+        this.columnarResultStore = columnarResultStore;
+        this.setItems(columnarResultStore.getRows());
     }
 
     /**
-     * Boolean型のカラムを追加する。
+     * setColumnarResultStoreでセットしたストアを取得する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
+     * @return ストア(セットされていない場合はnull)
      */
-    public void addColumnBoolean(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, Boolean> column = createColumnBoolean(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray, Boolean>, TableCell<RudeArray, Boolean>>() {
-            @Override
-            public TableCell<RudeArray, Boolean> call(TableColumn<RudeArray, Boolean> param) {
-                TableCell<RudeArray, Boolean> cell = new TableCell<RudeArray, Boolean>() {
-                    @Override
-                    public void updateItem(Boolean item, boolean isEmpty) {
-                        super.updateItem(item, isEmpty);
-                        this.setText(null);
-                        if (isEmpty == false) {
-                            if (item != null && item) {
-                                this.setText("●");
-                            }
-                        }
-                    }
-                    @Override
-                    public void cancelEdit() {
-                        super.cancelEdit();
-                        this.setText(null);
-                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
-                            RudeArray row = (RudeArray) this.getTableRow().getItem();
-                            Boolean isEnabled = row.getBoolean(columnName);
-                            if (isEnabled != null && isEnabled) {
-                                this.setText("●");
-                            }
-                        }
-                    }
-                };
-                cell.setAlignment(Pos.CENTER);
-                return cell;
-            }
-        });
-        this.getColumns().add(column);
+    public ColumnarResultStore getColumnarResultStore() {
+        return this.columnarResultStore;
     }
 
     /**
-     * CheckBoxカラムを追加する。
+     * TableViewのItemオブジェクトから行番号を取得する。
      *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
+     * @param target 対象オブジェクト
+     * @return 行インデックス(存在しない場合は-1)
      */
-    public void addColumnCheckBox(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, Boolean> column = createColumnBoolean(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray, Boolean>, TableCell<RudeArray, Boolean>>() {
-            @Override
-            public TableCell<RudeArray, Boolean> call(TableColumn<RudeArray, Boolean> param) {
-                CheckBoxTableCell<RudeArray> cell = new CheckBoxTableCell<RudeArray>() {
-                    @Override
-                    public void commitEdit() {
-                        RudeArray row = (RudeArray) this.getTableRow().getItem();
-                        if (row != null) {
-                            row.put(columnName, this.getCheckBox().isSelected());
-                        }
+    public int getRowIndex(RudeArray target) {
+        if (this.getItems() == null) {
+            return -1;
+        }
+        if (this.rowIndexes == null) {
+            this.rowIndexes = new IdentityHashMap<>();
+            ObservableList<RudeArray> items = this.getItems();
+            for (int index = items.size() - 1; index >= 0; index--) {
+                this.rowIndexes.put(items.get(index), index);
+            }
+        }
+        Integer index = this.rowIndexes.get(target);
+        if (index == null) {
+            return -1;
+        }
+        return index;
+    }
+
+    /**
+     * columnNameから対象カラムを取得する。
+     *
+     * @param id ID(columnName)
+     * @return TableColumn
+     */
+    public TableColumn<RudeArray, ?> getColumn(String id) {
+        if (this.columns != null) {
+            TableColumn<RudeArray, ?> column = this.columns.get(id);
+            // カラムIDが後から変更されている場合は索引を作り直す
+            if (column != null && id.equals(column.getId())) {
+                return column;
+            }
+        }
+        this.columns = new HashMap<>();
+        for (int index = this.getColumns().size() - 1; index >= 0; index--) {
+            TableColumn<RudeArray, ?> column = this.getColumns().get(index);
+            if (column.getId() != null) {
+                this.columns.put(column.getId(), column);
+            }
+        }
+        return this.columns.get(id);
+    }
+
+    /**
+     * mergeRowsで、行の追加と削除を個別に反映する範囲数の上限。超える場合は一度のsetAllで置き換える。
+     */
+    private static final int MAXIMUM_MERGE_RANGE_COUNT = 64;
+
+    /**
+     * 主キーのカラムで現在の行と新しい行を対応付けて、表示を新しい行の内容に更新する。<br>
+     * 追加、削除、移動された行と値が変更された行だけが反映されるため、スクロール位置と選択行は維持される。
+     * 値が変更された行は、現在のRudeArrayに新しい行の値がputされ、新しい行に存在しないカラムは削除される。
+     * 並べ替えられている場合は、新しい行を並べ替えてから反映する。
+     *
+     * @param keyColumnName 主キーのカラム名
+     * @param rows 新しい行
+     */
+    public void mergeRows(String keyColumnName, RudeArray[] rows) {
+        if (this.getItems() == null) {
+            return;
+        }
+        List<RudeArray> sourceItems = this.unfilteredItems;
+        if (sourceItems == null) {
+            sourceItems = this.getItems();
+        }
+        HashMap<Object, RudeArray> sourceRows = new HashMap<>();
+        for (RudeArray row: sourceItems) {
+            Object key = row.get(keyColumnName);
+            if (key != null && sourceRows.containsKey(key) == false) {
+                sourceRows.put(key, row);
+            }
+        }
+        List<RudeArray> targetItems = new ArrayList<>(rows.length);
+        IdentityHashMap<RudeArray, Boolean> changedRows = new IdentityHashMap<>();
+        for (RudeArray row: rows) {
+            Object key = row.get(keyColumnName);
+            RudeArray sourceRow = null;
+            if (key != null) {
+                sourceRow = sourceRows.remove(key);
+            }
+            if (sourceRow == null) {
+                if (this.columnarResultStore != null) {
+                    targetItems.add(this.columnarResultStore.createRow(row));
+                } else {
+                    targetItems.add(row);
+                }
+                continue;
+            }
+            for (Object valueKey: row.getKeys()) {
+                Object value = row.get(valueKey);
+                if (Objects.equals(sourceRow.get(valueKey), value) == false) {
+                    sourceRow.put(valueKey, value);
+                    changedRows.put(sourceRow, true);
+                }
+            }
+            // 新しい行に存在しないカラムは古い値が残らないように削除する
+            for (Object valueKey: sourceRow.getKeys()) {
+                if (row.containsKey(valueKey) == false) {
+                    sourceRow.remove(valueKey);
+                    changedRows.put(sourceRow, true);
+                }
+            }
+            targetItems.add(sourceRow);
+        }
+        // 削除された行が使用しているストアの配列の位置は、反映後に再利用できるようにする
+        List<RudeArray> removedRows = new ArrayList<>();
+        if (this.columnarResultStore != null) {
+            IdentityHashMap<RudeArray, Boolean> targetRows = new IdentityHashMap<>();
+            for (RudeArray row: targetItems) {
+                targetRows.put(row, true);
+            }
+            for (RudeArray row: sourceItems) {
+                if (targetRows.containsKey(row) == false) {
+                    removedRows.add(row);
+                }
+            }
+        }
+        // 実行中の並べ替えと絞り込みの結果は古い行を含むため破棄する
+        int generation = ++this.sortGeneration;
+        this.isSortRunning = false;
+        Predicate<RudeArray> filter = this.createCombinedFilter();
+        if (filter != null) {
+            this.unfilteredItems = targetItems;
+        } else {
+            this.unfilteredItems = null;
+        }
+        List<RudeArray> visibleItems = targetItems;
+        if (filter != null || this.getSortOrder().size() > 0) {
+            // 並べ替えてから反映しないと、反映後に並べ替えた結果で表示が二度入れ替わる
+            visibleItems = this.sortAndFilter(targetItems, filter, generation);
+        }
+        this.isMergingRows = true;
+        try {
+            this.applyItems(visibleItems, changedRows);
+        } finally {
+            this.isMergingRows = false;
+        }
+        for (RudeArray row: removedRows) {
+            this.columnarResultStore.releaseRow(row);
+        }
+    }
+
+    /**
+     * itemsを指定された並びに必要最小限の変更で更新する。並びが変わらない行の最長の列を残し、それ以外の行を削除して挿入し直す。
+     *
+     * @param targetItems 新しい並び
+     * @param changedRows 値が変更された行
+     */
+    private void applyItems(List<RudeArray> targetItems, IdentityHashMap<RudeArray, Boolean> changedRows) {
+        ObservableList<RudeArray> items = this.getItems();
+        List<RudeArray> selectedItems = new ArrayList<>(this.getSelectionModel().getSelectedItems());
+        RudeArray selectedItem = this.getSelectionModel().getSelectedItem();
+        int anchorIndex = this.getFirstVisibleRowIndex();
+        RudeArray anchorItem = null;
+        if (anchorIndex > -1 && anchorIndex < items.size()) {
+            anchorItem = items.get(anchorIndex);
+        }
+        // 現在の行番号が増加し続ける最長の列を求める
+        int[] sourceIndexes = new int[targetItems.size()];
+        int[] tailTargetIndexes = new int[targetItems.size()];
+        int[] previousTargetIndexes = new int[targetItems.size()];
+        int length = 0;
+        for (int index = 0; index < targetItems.size(); index++) {
+            sourceIndexes[index] = this.getRowIndex(targetItems.get(index));
+            previousTargetIndexes[index] = -1;
+            if (sourceIndexes[index] == -1) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (sourceIndexes[tailTargetIndexes[middle]] < sourceIndexes[index]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            if (low > 0) {
+                previousTargetIndexes[index] = tailTargetIndexes[low - 1];
+            }
+            tailTargetIndexes[low] = index;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] stableTargets = new boolean[targetItems.size()];
+        BitSet stableSources = new BitSet(items.size());
+        if (length > 0) {
+            for (int index = tailTargetIndexes[length - 1]; index > -1; index = previousTargetIndexes[index]) {
+                stableTargets[index] = true;
+                stableSources.set(sourceIndexes[index]);
+            }
+        }
+        int rangeCount = 0;
+        for (int index = 0; index < items.size(); index++) {
+            if (stableSources.get(index) == false && (index == 0 || stableSources.get(index - 1))) {
+                rangeCount++;
+            }
+        }
+        for (int index = 0; index < stableTargets.length; index++) {
+            if (stableTargets[index] == false && (index == 0 || stableTargets[index - 1])) {
+                rangeCount++;
+            }
+        }
+        if (rangeCount > MAXIMUM_MERGE_RANGE_COUNT) {
+            items.setAll(targetItems);
+        } else {
+            int index = items.size() - 1;
+            while (index >= 0) {
+                if (stableSources.get(index)) {
+                    index--;
+                    continue;
+                }
+                int to = index + 1;
+                while (index >= 0 && stableSources.get(index) == false) {
+                    index--;
+                }
+                items.remove(index + 1, to);
+            }
+            index = 0;
+            while (index < targetItems.size()) {
+                if (stableTargets[index]) {
+                    // 値だけが変更された行は同じitemで置き換えてセルを更新する
+                    if (changedRows.containsKey(targetItems.get(index))) {
+                        items.set(index, targetItems.get(index));
                     }
-                };
-                cell.setAlignment(Pos.CENTER);
-                return cell;
+                    index++;
+                    continue;
+                }
+                int from = index;
+                while (index < targetItems.size() && stableTargets[index] == false) {
+                    index++;
+                }
+                items.addAll(from, targetItems.subList(from, index));
             }
-        });
-        this.getColumns().add(column);
+        }
+        this.restoreSelection(selectedItems, selectedItem);
+        if (anchorItem != null) {
+            int newAnchorIndex = this.getRowIndex(anchorItem);
+            if (newAnchorIndex > -1 && newAnchorIndex != anchorIndex) {
+                this.scrollTo(newAnchorIndex);
+            }
+        }
     }
 
     /**
-     * IMEOffCheckBoxカラムを追加する。
+     * 行の更新前に選択されていた行のうち、更新後も存在する行が選択されている状態に戻す。
+     *
+     * @param selectedItems 更新前に選択されていた行
+     * @param selectedItem 更新前に最後に選択された行
+     */
+    private void restoreSelection(List<RudeArray> selectedItems, RudeArray selectedItem) {
+        List<RudeArray> restoreItems = new ArrayList<>();
+        for (RudeArray item: selectedItems) {
+            if (item != selectedItem && this.getRowIndex(item) > -1) {
+                restoreItems.add(item);
+            }
+        }
+        if (selectedItem != null && this.getRowIndex(selectedItem) > -1) {
+            restoreItems.add(selectedItem);
+        }
+        ObservableList<RudeArray> currentItems = this.getSelectionModel().getSelectedItems();
+        if (currentItems.size() == restoreItems.size() && this.getSelectionModel().getSelectedItem() == selectedItem) {
+            IdentityHashMap<RudeArray, Boolean> currentItemMap = new IdentityHashMap<>();
+            for (RudeArray item: currentItems) {
+                currentItemMap.put(item, true);
+            }
+            boolean isSame = true;
+            for (RudeArray item: restoreItems) {
+                if (currentItemMap.containsKey(item) == false) {
+                    isSame = false;
+                    break;
+                }
+            }
+            if (isSame) {
+                return;
+            }
+        }
+        this.getSelectionModel().clearSelection();
+        for (RudeArray item: restoreItems) {
+            this.getSelectionModel().select(this.getRowIndex(item));
+        }
+    }
+
+    /**
+     * 表示されている先頭の行番号を取得する。
+     *
+     * @return 行インデックス(行が表示されていない場合は-1)
+     */
+    private int getFirstVisibleRowIndex() {
+        int firstIndex = -1;
+        for (Node node: this.lookupAll(".table-row-cell")) {
+            if (node instanceof TableRow && node.isVisible()) {
+                TableRow<?> row = (TableRow<?>) node;
+                if (row.isEmpty() == false && (firstIndex == -1 || row.getIndex() < firstIndex)) {
+                    firstIndex = row.getIndex();
+                }
+            }
+        }
+        return firstIndex;
+    }
+
+    /**
+     * カラムを作成する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param prefWidth カラム幅
+     * @param cellDataFeaturesCallback セルの値のプロパティを生成するコールバック
+     * @return TableColumn
      */
-    public void addColumnIMEOffCheckBox(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, Boolean> column = createColumnBoolean(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray, Boolean>, TableCell<RudeArray, Boolean>>() {
-            @Override
-            public TableCell<RudeArray, Boolean> call(TableColumn<RudeArray, Boolean> param) {
-                IMEOffCheckBoxTableCell<RudeArray> cell = new IMEOffCheckBoxTableCell<RudeArray>() {
-                    @Override
-                    public void commitEdit() {
-                        RudeArray row = (RudeArray) this.getTableRow().getItem();
-                        if (row != null) {
-                            row.put(columnName, this.getIMEOffCheckBox().isSelected());
-                        }
-                    }
-                };
-                cell.setAlignment(Pos.CENTER);
-                return cell;
-            }
-        });
+    private static TableColumn<RudeArray, Object> createColumn(String columnName, String columnHeaderText, double prefWidth,
+            Callback<TableColumn.CellDataFeatures<RudeArray, Object>, ObservableValue<Object>> cellDataFeaturesCallback) {
+        TableColumn<RudeArray, Object> column = new TableColumn<>(columnHeaderText);
+        column.setId(columnName);
+        column.setCellValueFactory(cellDataFeaturesCallback);
+        if (prefWidth > -1) {
+            column.setPrefWidth(prefWidth);
+        }
+        return column;
+    }
+
+    /**
+     * カラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param cellDataFeaturesCallback セルの値のプロパティを生成するコールバック
+     * @param tableCellCallback セルを生成するコールバック
+     */
+    public void addColumn(String columnName, String columnHeaderText,
+            Callback<TableColumn.CellDataFeatures<RudeArray, Object>, ObservableValue<Object>> cellDataFeaturesCallback,
+                Callback<TableColumn<RudeArray, Object>, TableCell<RudeArray, Object>> tableCellCallback) {
+        this.addColumn(columnName, columnHeaderText, -1, cellDataFeaturesCallback, tableCellCallback);
+    }
+
+    /**
+     * カラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth 初期列幅
+     * @param cellDataFeaturesCallback セルの値のプロパティを生成するコールバック
+     * @param tableCellCallback セルを生成するコールバック
+     */
+    public void addColumn(String columnName, String columnHeaderText, double prefWidth,
+            Callback<TableColumn.CellDataFeatures<RudeArray, Object>, ObservableValue<Object>> cellDataFeaturesCallback,
+                Callback<TableColumn<RudeArray, Object>, TableCell<RudeArray, Object>> tableCellCallback) {
+        TableColumn<RudeArray, Object> column = createColumn(columnName, columnHeaderText, prefWidth, cellDataFeaturesCallback);
+        column.setCellFactory(tableCellCallback);
         this.getColumns().add(column);
     }
 
     /**
-     * Date型を格納するカラムを作成する。
+     * String型を格納するカラムを作成する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param prefWidth カラム幅
      * @return TableColumn
      */
-    private static TableColumn<RudeArray, Date> createColumnDate(String columnName, String columnHeaderText, double prefWidth) {
-        TableColumn<RudeArray, Date> column = new TableColumn<>(columnHeaderText);
+    private static TableColumn<RudeArray, String> createColumnString(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, String> column = new TableColumn<>(columnHeaderText);
         column.setId(columnName);
-        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Date>, ObservableValue<Date>>() {
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, String.class);
+        CellValueCache<String> cellValueCache = new CellValueCache<>();
+        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray, String>, ObservableValue<String>>() {
             @Override
-            public ObservableValue<Date> call(CellDataFeatures<RudeArray, Date> param) {
-                Date value = param.getValue().getDate(columnName);
+            public ObservableValue<String> call(CellDataFeatures<RudeArray, String> param) {
+                String value = param.getValue().getString(columnName);
                 if (value == null) {
                     return null;
                 }
-                return new SimpleObjectProperty<>(value);
+                return cellValueCache.get(value);
             }
         });
         if (prefWidth > -1) {
@@ -708,38 +1037,36 @@ public class DynamicTableView extends TableView<RudeArray> {
     }
 
     /**
-     * Date型のカラムを追加する。
+     * String型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param pos セルの文字配置
      */
-    public void addColumnDatetime(String columnName, String columnHeaderText, Pos pos) {
-        this.addColumnDatetime(columnName, columnHeaderText, -1, pos);
+    public void addColumnString(String columnName, String columnHeaderText, Pos pos) {
+        this.addColumnString(columnName, columnHeaderText, -1, pos);
     }
 
     /**
-     * Date型のカラムを追加する。
+     * String型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
-     * @param prefWidth カラム幅
+     * @param prefWidth 初期列幅
      * @param pos セルの文字配置
      */
-    public void addColumnDatetime(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
-        TableColumn<RudeArray, Date> column = createColumnDate(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray,Date>, TableCell<RudeArray,Date>>() {
+    public void addColumnString(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
+        TableColumn<RudeArray, String> column = createColumnString(columnName, columnHeaderText, prefWidth);
+        column.setCellFactory(new Callback<TableColumn<RudeArray, String>, TableCell<RudeArray, String>>() {
             @Override
-            public TableCell<RudeArray, Date> call(TableColumn<RudeArray, Date> param) {
-                TableCell<RudeArray, Date> cell = new TableCell<RudeArray, Date>() {
+            public TableCell<RudeArray, String> call(TableColumn<RudeArray, String> param) {
+                TableCell<RudeArray, String> cell = new TableCell<RudeArray, String>() {
                     @Override
-                    protected void updateItem(Date item, boolean isEmpty) {
+                    protected void updateItem(String item, boolean isEmpty) {
                         super.updateItem(item, isEmpty);
                         this.setText(null);
                         if (isEmpty == false) {
-                            if (item != null) {
-                                this.setText(Datetime.dateToString(item));
-                            }
+                            this.setText(item);
                         }
                     }
                     @Override
@@ -749,7 +1076,7 @@ public class DynamicTableView extends TableView<RudeArray> {
                         if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
                             RudeArray row = (RudeArray) this.getTableRow().getItem();
                             if (row.get(columnName) != null) {
-                                this.setText(Datetime.dateToString(row.getDate(columnName)));
+                                this.setText(row.getString(columnName));
                             }
                         }
                     }
@@ -762,37 +1089,70 @@ public class DynamicTableView extends TableView<RudeArray> {
     }
 
     /**
-     * Date型のカラムを追加する。
+     * Number型を格納するカラムを作成する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @return TableColumn
+     */
+    private static TableColumn<RudeArray, Number> createColumnNumber(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, Number> column = new TableColumn<>(columnHeaderText);
+        column.setId(columnName);
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Number.class);
+        CellValueCache<Number> cellValueCache = new CellValueCache<>();
+        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Number>, ObservableValue<Number>>() {
+            @Override
+            public ObservableValue<Number> call(CellDataFeatures<RudeArray, Number> param) {
+                Number value = param.getValue().getNumber(columnName);
+                if (value == null) {
+                    return null;
+                }
+                return cellValueCache.get(value);
+            }
+        });
+        if (prefWidth > -1) {
+            column.setPrefWidth(prefWidth);
+        }
+        return column;
+    }
+
+    /**
+     * Number型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param pos セルの文字配置
+     * @param numberFormat 数値の表示形式
      */
-    public void addColumnDate(String columnName, String columnHeaderText, Pos pos) {
-        this.addColumnDate(columnName, columnHeaderText, -1, pos);
+    public void addColumnNumber(String columnName, String columnHeaderText, Pos pos, NumberFormat numberFormat) {
+        this.addColumnNumber(columnName, columnHeaderText, -1, pos, numberFormat);
     }
 
     /**
-     * Date型のカラムを追加する。
+     * Number型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param prefWidth カラム幅
      * @param pos セルの文字配置
+     * @param numberFormat 数値の表示形式
      */
-    public void addColumnDate(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
-        TableColumn<RudeArray, Date> column = createColumnDate(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray,Date>, TableCell<RudeArray,Date>>() {
-            @Override
-            public TableCell<RudeArray, Date> call(TableColumn<RudeArray, Date> param) {
-                TableCell<RudeArray, Date> cell = new TableCell<RudeArray, Date>() {
+    public void addColumnNumber(String columnName, String columnHeaderText, double prefWidth, Pos pos, NumberFormat numberFormat) {
+        TableColumn<RudeArray, Number> column = createColumnNumber(columnName, columnHeaderText, prefWidth);
+        CellTextFormatter<Number> formatter = new NumberCellTextFormatter(numberFormat);
+        column.getProperties().put(CELL_TEXT_FORMATTER_PROPERTY_KEY, formatter);
+        column.setCellFactory(new Callback<TableColumn<RudeArray, Number>, TableCell<RudeArray, Number>>() {
+            @Override
+            public TableCell<RudeArray, Number> call(TableColumn<RudeArray, Number> param) {
+                TableCell<RudeArray, Number> cell = new TableCell<RudeArray, Number>() {
                     @Override
-                    protected void updateItem(Date item, boolean isEmpty) {
+                    protected void updateItem(Number item, boolean isEmpty) {
                         super.updateItem(item, isEmpty);
                         this.setText(null);
                         if (isEmpty == false) {
                             if (item != null) {
-                                this.setText(Datetime.dateToString(item, "yyyy/MM/dd"));
+                                this.setText(formatter.format(item));
                             }
                         }
                     }
@@ -803,7 +1163,7 @@ public class DynamicTableView extends TableView<RudeArray> {
                         if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
                             RudeArray row = (RudeArray) this.getTableRow().getItem();
                             if (row.get(columnName) != null) {
-                                this.setText(Datetime.dateToString(row.getDate(columnName), "yyyy/MM/dd"));
+                                this.setText(formatter.format(row.getDouble(columnName)));
                             }
                         }
                     }
@@ -816,39 +1176,66 @@ public class DynamicTableView extends TableView<RudeArray> {
     }
 
     /**
-     * Date型のカラムを追加する。
+     * Integer型を格納するカラムを作成する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @return TableColumn
+     */
+    private static TableColumn<RudeArray, Integer> createColumnInteger(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, Integer> column = new TableColumn<>(columnHeaderText);
+        column.setId(columnName);
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Integer.class);
+        CellValueCache<Integer> cellValueCache = new CellValueCache<>();
+        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Integer>, ObservableValue<Integer>>() {
+            @Override
+            public ObservableValue<Integer> call(CellDataFeatures<RudeArray, Integer> param) {
+                Integer value = param.getValue().getInteger(columnName);
+                if (value == null) {
+                    return null;
+                }
+                return cellValueCache.get(value);
+            }
+        });
+        if (prefWidth > -1) {
+            column.setPrefWidth(prefWidth);
+        }
+        return column;
+    }
+
+    /**
+     * Integer型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param pos セルの文字配置
-     * @param dateFormatPattern 日付を文字列に変換するパターン
      */
-    public void addColumnDatetime(String columnName, String columnHeaderText, Pos pos, String dateFormatPattern) {
-        this.addColumnDatetime(columnName, columnHeaderText, -1, pos, dateFormatPattern);
+    public void addColumnInteger(String columnName, String columnHeaderText, Pos pos) {
+        this.addColumnInteger(columnName, columnHeaderText, -1, pos);
     }
 
     /**
-     * Date型のカラムを追加する。
+     * Integer型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param prefWidth カラム幅
      * @param pos セルの文字配置
-     * @param dateFormatPattern 日付を文字列に変換するパターン
      */
-    public void addColumnDatetime(String columnName, String columnHeaderText, double prefWidth, Pos pos, String dateFormatPattern) {
-        TableColumn<RudeArray, Date> column = createColumnDate(columnName, columnHeaderText, prefWidth);
-        column.setCellFactory(new Callback<TableColumn<RudeArray,Date>, TableCell<RudeArray,Date>>() {
+    public void addColumnInteger(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
+        TableColumn<RudeArray, Integer> column = createColumnInteger(columnName, columnHeaderText, prefWidth);
+        column.setCellFactory(new Callback<TableColumn<RudeArray, Integer>, TableCell<RudeArray, Integer>>() {
             @Override
-            public TableCell<RudeArray, Date> call(TableColumn<RudeArray, Date> param) {
-                TableCell<RudeArray, Date> cell = new TableCell<RudeArray, Date>() {
+            public TableCell<RudeArray, Integer> call(TableColumn<RudeArray, Integer> param) {
+                TableCell<RudeArray, Integer> cell = new TableCell<RudeArray, Integer>() {
                     @Override
-                    protected void updateItem(Date item, boolean isEmpty) {
+                    protected void updateItem(Integer item, boolean isEmpty) {
                         super.updateItem(item, isEmpty);
                         this.setText(null);
                         if (isEmpty == false) {
                             if (item != null) {
-                                this.setText(Datetime.dateToString(item, dateFormatPattern));
+                                this.setText(String.valueOf(item));
                             }
                         }
                     }
@@ -859,7 +1246,7 @@ public class DynamicTableView extends TableView<RudeArray> {
                         if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
                             RudeArray row = (RudeArray) this.getTableRow().getItem();
                             if (row.get(columnName) != null) {
-                                this.setText(Datetime.dateToString(row.getDate(columnName), dateFormatPattern));
+                                this.setText((row.getString(columnName)));
                             }
                         }
                     }
@@ -872,185 +1259,1335 @@ public class DynamicTableView extends TableView<RudeArray> {
     }
 
     /**
-     * Buttonカラムを追加する。
-     *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param buttonText ボタンテキスト
-     * @param actionEvent ボタン押下イベント
-     */
-    public void addColumnButton(String columnName, String columnHeaderText, String buttonText, EventHandler<ActionEvent> actionEvent) {
-        this.addColumnButton(columnName, columnHeaderText, -1, buttonText, actionEvent);
-    }
-
-    /**
-     * Buttonカラムを追加する。
+     * Long型を格納するカラムを作成する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param prefWidth カラム幅
-     * @param buttonText ボタンテキスト
-     * @param actionEvent ボタン押下イベント
+     * @return TableColumn
      */
-    public void addColumnButton(String columnName, String columnHeaderText, double prefWidth, String buttonText, EventHandler<ActionEvent> actionEvent) {
-        TableColumn<RudeArray, Void> column = new TableColumn<>(columnHeaderText);
+    private static TableColumn<RudeArray, Long> createColumnLong(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, Long> column = new TableColumn<>(columnHeaderText);
         column.setId(columnName);
-        column.setCellFactory(new Callback<TableColumn<RudeArray,Void>, TableCell<RudeArray,Void>>() {
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Long.class);
+        CellValueCache<Long> cellValueCache = new CellValueCache<>();
+        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Long>, ObservableValue<Long>>() {
             @Override
-            public TableCell<RudeArray, Void> call(TableColumn<RudeArray, Void> param) {
-                ButtonTableCell<RudeArray> cell = new ButtonTableCell<RudeArray>(buttonText, actionEvent);
-                return cell;
+            public ObservableValue<Long> call(CellDataFeatures<RudeArray, Long> param) {
+                Long value = param.getValue().getLong(columnName);
+                if (value == null) {
+                    return null;
+                }
+                return cellValueCache.get(value);
             }
         });
         if (prefWidth > -1) {
             column.setPrefWidth(prefWidth);
         }
-        this.getColumns().add(column);
+        return column;
     }
 
     /**
-     * Buttonカラムを追加する。
+     * Long型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
-     * @param buttonText ボタンテキスト
-     * @param actionEvent ボタン押下イベント
-     * @param callback ボタンに対する処理
+     * @param pos セルの文字配置
      */
-    public void addColumnButton(String columnName, String columnHeaderText, String buttonText, EventHandler<ActionEvent> actionEvent, NodeCallback<Button, Void> callback) {
-        this.addColumnButton(columnName, columnHeaderText, -1, buttonText, actionEvent, callback);
+    public void addColumnLong(String columnName, String columnHeaderText, Pos pos) {
+        this.addColumnLong(columnName, columnHeaderText, -1, pos);
     }
 
     /**
-     * Buttonカラムを追加する。
+     * Long型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param prefWidth カラム幅
-     * @param buttonText ボタンテキスト
-     * @param actionEvent ボタン押下イベント
-     * @param callback ボタンに対する処理
+     * @param pos セルの文字配置
      */
-    public void addColumnButton(String columnName, String columnHeaderText, double prefWidth, String buttonText, EventHandler<ActionEvent> actionEvent, NodeCallback<Button, Void> callback) {
-        TableColumn<RudeArray, Void> column = new TableColumn<>(columnHeaderText);
-        column.setId(columnName);
-        column.setCellFactory(new Callback<TableColumn<RudeArray,Void>, TableCell<RudeArray,Void>>() {
+    public void addColumnLong(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
+        TableColumn<RudeArray, Long> column = createColumnLong(columnName, columnHeaderText, prefWidth);
+        column.setCellFactory(new Callback<TableColumn<RudeArray, Long>, TableCell<RudeArray, Long>>() {
             @Override
-            public TableCell<RudeArray, Void> call(TableColumn<RudeArray, Void> param) {
-                ButtonTableCell<RudeArray> cell = new ButtonTableCell<RudeArray>(buttonText, actionEvent);
-                Platform.runLater(new Runnable() {
-                    @Override @SuppressWarnings("unchecked")
-                    public void run() {
-                        callback.call(cell.getButton(), cell);
-                        if (cell.getTableRow() != null) {
-                            cell.getTableRow().itemProperty().addListener(new ChangeListener<RudeArray>() {
-                                @Override
-                                public void changed(ObservableValue<? extends RudeArray> observable, RudeArray oldValue, RudeArray newValue) {
-                                    callback.call(cell.getButton(), cell);
-                                }
-                            });
+            public TableCell<RudeArray, Long> call(TableColumn<RudeArray, Long> param) {
+                TableCell<RudeArray, Long> cell = new TableCell<RudeArray, Long>() {
+                    @Override
+                    protected void updateItem(Long item, boolean isEmpty) {
+                        super.updateItem(item, isEmpty);
+                        this.setText(null);
+                        if (isEmpty == false) {
+                            if (item != null) {
+                                this.setText(String.valueOf(item));
+                            }
                         }
                     }
-                });
+                    @Override
+                    public void cancelEdit() {
+                        super.cancelEdit();
+                        this.setText(null);
+                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
+                            RudeArray row = (RudeArray) this.getTableRow().getItem();
+                            if (row.get(columnName) != null) {
+                                this.setText((row.getString(columnName)));
+                            }
+                        }
+                    }
+                };
+                cell.setAlignment(pos);
                 return cell;
             }
         });
-        if (prefWidth > -1) {
-            column.setPrefWidth(prefWidth);
-        }
         this.getColumns().add(column);
     }
 
     /**
-     * EnterFireButtonカラムを追加する。
-     *
-     * @param columnName カラム名
-     * @param columnHeaderText ヘッダーテキスト
-     * @param buttonText ボタンテキスト
-     * @param actionEvent ボタン押下イベント
-     */
-    public void addColumnEnterFireButton(String columnName, String columnHeaderText, String buttonText, EventHandler<ActionEvent> actionEvent) {
-        this.addColumnEnterFireButton(columnName, columnHeaderText, -1, buttonText, actionEvent);
-    }
-
-    /**
-     * EnterFireButtonカラムを追加する。
+     * Double型を格納するカラムを作成する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param prefWidth カラム幅
-     * @param buttonText ボタンテキスト
-     * @param actionEvent ボタン押下イベント
+     * @return TableColumn
      */
-    public void addColumnEnterFireButton(String columnName, String columnHeaderText, double prefWidth, String buttonText, EventHandler<ActionEvent> actionEvent) {
-        TableColumn<RudeArray, Void> column = new TableColumn<>(columnHeaderText);
+    private static TableColumn<RudeArray, Double> createColumnDouble(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, Double> column = new TableColumn<>(columnHeaderText);
         column.setId(columnName);
-        column.setCellFactory(new Callback<TableColumn<RudeArray,Void>, TableCell<RudeArray,Void>>() {
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Double.class);
+        CellValueCache<Double> cellValueCache = new CellValueCache<>();
+        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Double>, ObservableValue<Double>>() {
             @Override
-            public TableCell<RudeArray, Void> call(TableColumn<RudeArray, Void> param) {
-                EnterFireButtonTableCell<RudeArray> cell = new EnterFireButtonTableCell<RudeArray>(buttonText, actionEvent);
-                return cell;
+            public ObservableValue<Double> call(CellDataFeatures<RudeArray, Double> param) {
+                Double value = param.getValue().getDouble(columnName);
+                if (value == null) {
+                    return null;
+                }
+                return cellValueCache.get(value);
             }
         });
         if (prefWidth > -1) {
             column.setPrefWidth(prefWidth);
         }
-        this.getColumns().add(column);
+        return column;
     }
 
     /**
-     * EnterFireButtonカラムを追加する。
+     * Double型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
-     * @param buttonText ボタンテキスト
-     * @param actionEvent ボタン押下イベント
-     * @param callback ボタンに対する処理
+     * @param pos セルの文字配置
      */
-    public void addColumnEnterFireButton(String columnName, String columnHeaderText, String buttonText, EventHandler<ActionEvent> actionEvent, NodeCallback<EnterFireButton, Void> callback) {
-        this.addColumnEnterFireButton(columnName, columnHeaderText, -1, buttonText, actionEvent, callback);
+    public void addColumnDouble(String columnName, String columnHeaderText, Pos pos) {
+        this.addColumnDouble(columnName, columnHeaderText, -1, pos);
     }
 
     /**
-     * EnterFireButtonカラムを追加する。
+     * Double型のカラムを追加する。
      *
      * @param columnName カラム名
      * @param columnHeaderText ヘッダーテキスト
      * @param prefWidth カラム幅
-     * @param buttonText ボタンテキスト
-     * @param actionEvent ボタン押下イベント
-     * @param callback ボタンに対する処理
+     * @param pos セルの文字配置
      */
-    public void addColumnEnterFireButton(String columnName, String columnHeaderText, double prefWidth, String buttonText, EventHandler<ActionEvent> actionEvent, NodeCallback<EnterFireButton, Void> callback) {
-        TableColumn<RudeArray, Void> column = new TableColumn<>(columnHeaderText);
-        column.setId(columnName);
-        column.setCellFactory(new Callback<TableColumn<RudeArray,Void>, TableCell<RudeArray,Void>>() {
+    public void addColumnDouble(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
+        TableColumn<RudeArray, Double> column = createColumnDouble(columnName, columnHeaderText, prefWidth);
+        column.setCellFactory(new Callback<TableColumn<RudeArray, Double>, TableCell<RudeArray, Double>>() {
             @Override
-            public TableCell<RudeArray, Void> call(TableColumn<RudeArray, Void> param) {
-                EnterFireButtonTableCell<RudeArray> cell = new EnterFireButtonTableCell<RudeArray>(buttonText, actionEvent);
-                Platform.runLater(new Runnable() {
-                    @Override @SuppressWarnings("unchecked")
-                    public void run() {
-                        callback.call(cell.getEnterFireButton(), cell);
-                        if (cell.getTableRow() != null) {
-                            cell.getTableRow().itemProperty().addListener(new ChangeListener<RudeArray>() {
-                                @Override
-                                public void changed(ObservableValue<? extends RudeArray> observable, RudeArray oldValue, RudeArray newValue) {
-                                    callback.call(cell.getEnterFireButton(), cell);
-                                }
-                            });
+            public TableCell<RudeArray, Double> call(TableColumn<RudeArray, Double> param) {
+                TableCell<RudeArray, Double> cell = new TableCell<RudeArray, Double>() {
+                    @Override
+                    protected void updateItem(Double item, boolean isEmpty) {
+                        super.updateItem(item, isEmpty);
+                        this.setText(null);
+                        if (isEmpty == false) {
+                            if (item != null) {
+                                this.setText(StringConverter.tryNonFraction(String.valueOf(item)));
+                            }
                         }
                     }
-                });
+                    @Override
+                    public void cancelEdit() {
+                        super.cancelEdit();
+                        this.setText(null);
+                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
+                            RudeArray row = (RudeArray) this.getTableRow().getItem();
+                            if (row.get(columnName) != null) {
+                                this.setText(StringConverter.tryNonFraction(String.valueOf(row.getString(columnName))));
+                            }
+                        }
+                    }
+                };
+                cell.setAlignment(pos);
                 return cell;
             }
         });
-        if (prefWidth > -1) {
-            column.setPrefWidth(prefWidth);
-        }
         this.getColumns().add(column);
     }
 
+    /**
+     * Boolean型を格納するカラムを作成する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @return TableColumn
+     */
+    private static TableColumn<RudeArray, Boolean> createColumnBoolean(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, Boolean> column = new TableColumn<>(columnHeaderText);
+        column.setId(columnName);
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Boolean.class);
+        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Boolean>, ObservableValue<Boolean>>() {
+            @Override
+            public ObservableValue<Boolean> call(CellDataFeatures<RudeArray, Boolean> param) {
+                Boolean value = param.getValue().getBoolean(columnName);
+                if (value == null) {
+                    return null;
+                }
+                if (value) {
+                    return CellValue.TRUE;
+                }
+                return CellValue.FALSE;
+            }
+        });
+        if (prefWidth > -1) {
+            column.setPrefWidth(prefWidth);
+        }
+        return column;
+    }
+
+    /**
+     * Boolean型のカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     */
+    public void addColumnBoolean(String columnName, String columnHeaderText) {
+        this.addColumnBoolean(columnName, columnHeaderText, -1);
+    }
+
+    /**
+     * Boolean型のカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     */
+    public void addColumnBoolean(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, Boolean> column = createColumnBoolean(columnName, columnHeaderText, prefWidth);
+        column.setCellFactory(new Callback<TableColumn<RudeArray, Boolean>, TableCell<RudeArray, Boolean>>() {
+            @Override
+            public TableCell<RudeArray, Boolean> call(TableColumn<RudeArray, Boolean> param) {
+                TableCell<RudeArray, Boolean> cell = new TableCell<RudeArray, Boolean>() {
+                    @Override
+                    public void updateItem(Boolean item, boolean isEmpty) {
+                        super.updateItem(item, isEmpty);
+                        this.setText(null);
+                        if (isEmpty == false) {
+                            if (item != null && item) {
+                                this.setText("●");
+                            }
+                        }
+                    }
+                    @Override
+                    public void cancelEdit() {
+                        super.cancelEdit();
+                        this.setText(null);
+                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
+                            RudeArray row = (RudeArray) this.getTableRow().getItem();
+                            Boolean isEnabled = row.getBoolean(columnName);
+                            if (isEnabled != null && isEnabled) {
+                                this.setText("●");
+                            }
+                        }
+                    }
+                };
+                cell.setAlignment(Pos.CENTER);
+                return cell;
+            }
+        });
+        this.getColumns().add(column);
+    }
+
+    /**
+     * CheckBoxカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     */
+    public void addColumnCheckBox(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, Boolean> column = createColumnBoolean(columnName, columnHeaderText, prefWidth);
+        column.setCellFactory(new Callback<TableColumn<RudeArray, Boolean>, TableCell<RudeArray, Boolean>>() {
+            @Override
+            public TableCell<RudeArray, Boolean> call(TableColumn<RudeArray, Boolean> param) {
+                CheckBoxTableCell<RudeArray> cell = new CheckBoxTableCell<RudeArray>() {
+                    @Override
+                    public void commitEdit() {
+                        RudeArray row = (RudeArray) this.getTableRow().getItem();
+                        if (row != null) {
+                            row.put(columnName, this.getCheckBox().isSelected());
+                        }
+                    }
+                };
+                cell.setAlignment(Pos.CENTER);
+                return cell;
+            }
+        });
+        this.getColumns().add(column);
+    }
+
+    /**
+     * IMEOffCheckBoxカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     */
+    public void addColumnIMEOffCheckBox(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, Boolean> column = createColumnBoolean(columnName, columnHeaderText, prefWidth);
+        column.setCellFactory(new Callback<TableColumn<RudeArray, Boolean>, TableCell<RudeArray, Boolean>>() {
+            @Override
+            public TableCell<RudeArray, Boolean> call(TableColumn<RudeArray, Boolean> param) {
+                IMEOffCheckBoxTableCell<RudeArray> cell = new IMEOffCheckBoxTableCell<RudeArray>() {
+                    @Override
+                    public void commitEdit() {
+                        RudeArray row = (RudeArray) this.getTableRow().getItem();
+                        if (row != null) {
+                            row.put(columnName, this.getIMEOffCheckBox().isSelected());
+                        }
+                    }
+                };
+                cell.setAlignment(Pos.CENTER);
+                return cell;
+            }
+        });
+        this.getColumns().add(column);
+    }
+
+    /**
+     * Date型を格納するカラムを作成する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @return TableColumn
+     */
+    private static TableColumn<RudeArray, Date> createColumnDate(String columnName, String columnHeaderText, double prefWidth) {
+        TableColumn<RudeArray, Date> column = new TableColumn<>(columnHeaderText);
+        column.setId(columnName);
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Date.class);
+        CellValueCache<Date> cellValueCache = new CellValueCache<>();
+        column.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<RudeArray,Date>, ObservableValue<Date>>() {
+            @Override
+            public ObservableValue<Date> call(CellDataFeatures<RudeArray, Date> param) {
+                Date value = param.getValue().getDate(columnName);
+                if (value == null) {
+                    return null;
+                }
+                return cellValueCache.get(value);
+            }
+        });
+        if (prefWidth > -1) {
+            column.setPrefWidth(prefWidth);
+        }
+        return column;
+    }
+
+    /**
+     * Date型のカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param pos セルの文字配置
+     */
+    public void addColumnDatetime(String columnName, String columnHeaderText, Pos pos) {
+        this.addColumnDatetime(columnName, columnHeaderText, -1, pos);
+    }
+
+    /**
+     * Date型のカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @param pos セルの文字配置
+     */
+    public void addColumnDatetime(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
+        TableColumn<RudeArray, Date> column = createColumnDate(columnName, columnHeaderText, prefWidth);
+        CellTextFormatter<Date> formatter = new DatetimeCellTextFormatter();
+        column.getProperties().put(CELL_TEXT_FORMATTER_PROPERTY_KEY, formatter);
+        column.setCellFactory(new Callback<TableColumn<RudeArray,Date>, TableCell<RudeArray,Date>>() {
+            @Override
+            public TableCell<RudeArray, Date> call(TableColumn<RudeArray, Date> param) {
+                TableCell<RudeArray, Date> cell = new TableCell<RudeArray, Date>() {
+                    @Override
+                    protected void updateItem(Date item, boolean isEmpty) {
+                        super.updateItem(item, isEmpty);
+                        this.setText(null);
+                        if (isEmpty == false) {
+                            if (item != null) {
+                                this.setText(formatter.format(item));
+                            }
+                        }
+                    }
+                    @Override
+                    public void cancelEdit() {
+                        super.cancelEdit();
+                        this.setText(null);
+                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
+                            RudeArray row = (RudeArray) this.getTableRow().getItem();
+                            if (row.get(columnName) != null) {
+                                this.setText(formatter.format(row.getDate(columnName)));
+                            }
+                        }
+                    }
+                };
+                cell.setAlignment(pos);
+                return cell;
+            }
+        });
+        this.getColumns().add(column);
+    }
+
+    /**
+     * Date型のカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param pos セルの文字配置
+     */
+    public void addColumnDate(String columnName, String columnHeaderText, Pos pos) {
+        this.addColumnDate(columnName, columnHeaderText, -1, pos);
+    }
+
+    /**
+     * Date型のカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @param pos セルの文字配置
+     */
+    public void addColumnDate(String columnName, String columnHeaderText, double prefWidth, Pos pos) {
+        TableColumn<RudeArray, Date> column = createColumnDate(columnName, columnHeaderText, prefWidth);
+        CellTextFormatter<Date> formatter = new DateCellTextFormatter("yyyy/MM/dd");
+        column.getProperties().put(CELL_TEXT_FORMATTER_PROPERTY_KEY, formatter);
+        column.setCellFactory(new Callback<TableColumn<RudeArray,Date>, TableCell<RudeArray,Date>>() {
+            @Override
+            public TableCell<RudeArray, Date> call(TableColumn<RudeArray, Date> param) {
+                TableCell<RudeArray, Date> cell = new TableCell<RudeArray, Date>() {
+                    @Override
+                    protected void updateItem(Date item, boolean isEmpty) {
+                        super.updateItem(item, isEmpty);
+                        this.setText(null);
+                        if (isEmpty == false) {
+                            if (item != null) {
+                                this.setText(formatter.format(item));
+                            }
+                        }
+                    }
+                    @Override
+                    public void cancelEdit() {
+                        super.cancelEdit();
+                        this.setText(null);
+                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
+                            RudeArray row = (RudeArray) this.getTableRow().getItem();
+                            if (row.get(columnName) != null) {
+                                this.setText(formatter.format(row.getDate(columnName)));
+                            }
+                        }
+                    }
+                };
+                cell.setAlignment(pos);
+                return cell;
+            }
+        });
+        this.getColumns().add(column);
+    }
+
+    /**
+     * Date型のカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param pos セルの文字配置
+     * @param dateFormatPattern 日付を文字列に変換するパターン
+     */
+    public void addColumnDatetime(String columnName, String columnHeaderText, Pos pos, String dateFormatPattern) {
+        this.addColumnDatetime(columnName, columnHeaderText, -1, pos, dateFormatPattern);
+    }
+
+    /**
+     * Date型のカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @param pos セルの文字配置
+     * @param dateFormatPattern 日付を文字列に変換するパターン
+     */
+    public void addColumnDatetime(String columnName, String columnHeaderText, double prefWidth, Pos pos, String dateFormatPattern) {
+        TableColumn<RudeArray, Date> column = createColumnDate(columnName, columnHeaderText, prefWidth);
+        CellTextFormatter<Date> formatter = new DateCellTextFormatter(dateFormatPattern);
+        column.getProperties().put(CELL_TEXT_FORMATTER_PROPERTY_KEY, formatter);
+        column.setCellFactory(new Callback<TableColumn<RudeArray,Date>, TableCell<RudeArray,Date>>() {
+            @Override
+            public TableCell<RudeArray, Date> call(TableColumn<RudeArray, Date> param) {
+                TableCell<RudeArray, Date> cell = new TableCell<RudeArray, Date>() {
+                    @Override
+                    protected void updateItem(Date item, boolean isEmpty) {
+                        super.updateItem(item, isEmpty);
+                        this.setText(null);
+                        if (isEmpty == false) {
+                            if (item != null) {
+                                this.setText(formatter.format(item));
+                            }
+                        }
+                    }
+                    @Override
+                    public void cancelEdit() {
+                        super.cancelEdit();
+                        this.setText(null);
+                        if (this.getTableRow() != null && this.getTableRow().getItem() != null) {
+                            RudeArray row = (RudeArray) this.getTableRow().getItem();
+                            if (row.get(columnName) != null) {
+                                this.setText(formatter.format(row.getDate(columnName)));
+                            }
+                        }
+                    }
+                };
+                cell.setAlignment(pos);
+                return cell;
+            }
+        });
+        this.getColumns().add(column);
+    }
+
+    /**
+     * Buttonカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param buttonText ボタンテキスト
+     * @param actionEvent ボタン押下イベント
+     */
+    public void addColumnButton(String columnName, String columnHeaderText, String buttonText, EventHandler<ActionEvent> actionEvent) {
+        this.addColumnButton(columnName, columnHeaderText, -1, buttonText, actionEvent);
+    }
+
+    /**
+     * Buttonカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @param buttonText ボタンテキスト
+     * @param actionEvent ボタン押下イベント
+     */
+    public void addColumnButton(String columnName, String columnHeaderText, double prefWidth, String buttonText, EventHandler<ActionEvent> actionEvent) {
+        TableColumn<RudeArray, Void> column = new TableColumn<>(columnHeaderText);
+        column.setId(columnName);
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Void.class);
+        column.setCellFactory(new Callback<TableColumn<RudeArray,Void>, TableCell<RudeArray,Void>>() {
+            @Override
+            public TableCell<RudeArray, Void> call(TableColumn<RudeArray, Void> param) {
+                ButtonTableCell<RudeArray> cell = new ButtonTableCell<RudeArray>(buttonText, actionEvent);
+                return cell;
+            }
+        });
+        if (prefWidth > -1) {
+            column.setPrefWidth(prefWidth);
+        }
+        this.getColumns().add(column);
+    }
+
+    /**
+     * Buttonカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param buttonText ボタンテキスト
+     * @param actionEvent ボタン押下イベント
+     * @param callback ボタンに対する処理
+     */
+    public void addColumnButton(String columnName, String columnHeaderText, String buttonText, EventHandler<ActionEvent> actionEvent, NodeCallback<Button, Void> callback) {
+        this.addColumnButton(columnName, columnHeaderText, -1, buttonText, actionEvent, callback);
+    }
+
+    /**
+     * Buttonカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @param buttonText ボタンテキスト
+     * @param actionEvent ボタン押下イベント
+     * @param callback ボタンに対する処理
+     */
+    public void addColumnButton(String columnName, String columnHeaderText, double prefWidth, String buttonText, EventHandler<ActionEvent> actionEvent, NodeCallback<Button, Void> callback) {
+        TableColumn<RudeArray, Void> column = new TableColumn<>(columnHeaderText);
+        column.setId(columnName);
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Void.class);
+        column.setCellFactory(new Callback<TableColumn<RudeArray,Void>, TableCell<RudeArray,Void>>() {
+            @Override
+            public TableCell<RudeArray, Void> call(TableColumn<RudeArray, Void> param) {
+                ButtonTableCell<RudeArray> cell = new ButtonTableCell<RudeArray>(buttonText, actionEvent);
+                Platform.runLater(new Runnable() {
+                    @Override @SuppressWarnings("unchecked")
+                    public void run() {
+                        callback.call(cell.getButton(), cell);
+                        if (cell.getTableRow() != null) {
+                            cell.getTableRow().itemProperty().addListener(new ChangeListener<RudeArray>() {
+                                @Override
+                                public void changed(ObservableValue<? extends RudeArray> observable, RudeArray oldValue, RudeArray newValue) {
+                                    callback.call(cell.getButton(), cell);
+                                }
+                            });
+                        }
+                    }
+                });
+                return cell;
+            }
+        });
+        if (prefWidth > -1) {
+            column.setPrefWidth(prefWidth);
+        }
+        this.getColumns().add(column);
+    }
+
+    /**
+     * EnterFireButtonカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param buttonText ボタンテキスト
+     * @param actionEvent ボタン押下イベント
+     */
+    public void addColumnEnterFireButton(String columnName, String columnHeaderText, String buttonText, EventHandler<ActionEvent> actionEvent) {
+        this.addColumnEnterFireButton(columnName, columnHeaderText, -1, buttonText, actionEvent);
+    }
+
+    /**
+     * EnterFireButtonカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @param buttonText ボタンテキスト
+     * @param actionEvent ボタン押下イベント
+     */
+    public void addColumnEnterFireButton(String columnName, String columnHeaderText, double prefWidth, String buttonText, EventHandler<ActionEvent> actionEvent) {
+        TableColumn<RudeArray, Void> column = new TableColumn<>(columnHeaderText);
+        column.setId(columnName);
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Void.class);
+        column.setCellFactory(new Callback<TableColumn<RudeArray,Void>, TableCell<RudeArray,Void>>() {
+            @Override
+            public TableCell<RudeArray, Void> call(TableColumn<RudeArray, Void> param) {
+                EnterFireButtonTableCell<RudeArray> cell = new EnterFireButtonTableCell<RudeArray>(buttonText, actionEvent);
+                return cell;
+            }
+        });
+        if (prefWidth > -1) {
+            column.setPrefWidth(prefWidth);
+        }
+        this.getColumns().add(column);
+    }
+
+    /**
+     * EnterFireButtonカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param buttonText ボタンテキスト
+     * @param actionEvent ボタン押下イベント
+     * @param callback ボタンに対する処理
+     */
+    public void addColumnEnterFireButton(String columnName, String columnHeaderText, String buttonText, EventHandler<ActionEvent> actionEvent, NodeCallback<EnterFireButton, Void> callback) {
+        this.addColumnEnterFireButton(columnName, columnHeaderText, -1, buttonText, actionEvent, callback);
+    }
+
+    /**
+     * EnterFireButtonカラムを追加する。
+     *
+     * @param columnName カラム名
+     * @param columnHeaderText ヘッダーテキスト
+     * @param prefWidth カラム幅
+     * @param buttonText ボタンテキスト
+     * @param actionEvent ボタン押下イベント
+     * @param callback ボタンに対する処理
+     */
+    public void addColumnEnterFireButton(String columnName, String columnHeaderText, double prefWidth, String buttonText, EventHandler<ActionEvent> actionEvent, NodeCallback<EnterFireButton, Void> callback) {
+        TableColumn<RudeArray, Void> column = new TableColumn<>(columnHeaderText);
+        column.setId(columnName);
+        column.getProperties().put(VALUE_TYPE_PROPERTY_KEY, Void.class);
+        column.setCellFactory(new Callback<TableColumn<RudeArray,Void>, TableCell<RudeArray,Void>>() {
+            @Override
+            public TableCell<RudeArray, Void> call(TableColumn<RudeArray, Void> param) {
+                EnterFireButtonTableCell<RudeArray> cell = new EnterFireButtonTableCell<RudeArray>(buttonText, actionEvent);
+                Platform.runLater(new Runnable() {
+                    @Override @SuppressWarnings("unchecked")
+                    public void run() {
+                        callback.call(cell.getEnterFireButton(), cell);
+                        if (cell.getTableRow() != null) {
+                            cell.getTableRow().itemProperty().addListener(new ChangeListener<RudeArray>() {
+                                @Override
+                                public void changed(ObservableValue<? extends RudeArray> observable, RudeArray oldValue, RudeArray newValue) {
+                                    callback.call(cell.getEnterFireButton(), cell);
+                                }
+                            });
+                        }
+                    }
+                });
+                return cell;
+            }
+        });
+        if (prefWidth > -1) {
+            column.setPrefWidth(prefWidth);
+        }
+        this.getColumns().add(column);
+    }
+
+    /**
+     * 並べ替えの1カラム分のキーを保持するクラス。比較は絞り込み前の行インデックスで行う。
+     *
+     * @author hiro
+     *
+     */
+    private static abstract class SortKey {
+
+        private boolean isDescending = false;
+
+        /**
+         * 絞り込まれた行の値を取り出す。行の値を参照するためFXスレッドで実行する。
+         *
+         * @param sourceItems 絞り込む前の行
+         * @param indexes 絞り込まれた行のインデックス
+         */
+        public abstract void extract(List<RudeArray> sourceItems, int[] indexes);
+
+        /**
+         * 取り出した値から比較に使用する値を作成する。ForkJoinPoolのスレッドで実行される。
+         */
+        public void prepare() {
+        }
+
+        /**
+         * 昇順で比較する。nullは先頭になる。
+         *
+         * @param index1 行インデックス
+         * @param index2 行インデックス
+         * @return 比較結果
+         */
+        protected abstract int compareAscending(int index1, int index2);
+
+        /**
+         * 並べ替えの方向に合わせて比較する。
+         *
+         * @param index1 行インデックス
+         * @param index2 行インデックス
+         * @return 比較結果
+         */
+        public int compare(int index1, int index2) {
+            if (this.isDescending) {
+                return this.compareAscending(index2, index1);
+            }
+            return this.compareAscending(index1, index2);
+        }
+
+    }
+
+    /**
+     * Integer、Long、Date型の値をlong配列で比較するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class LongSortKey extends SortKey {
+
+        private String columnName;
+
+        private boolean isDate;
+
+        private long[] values;
+
+        private BitSet nulls = new BitSet();
+
+        /**
+         * コンストラクタ。
+         *
+         * @param columnName カラム名
+         * @param isDate Date型の場合はtrue
+         */
+        public LongSortKey(String columnName, boolean isDate) {
+            this.columnName = columnName;
+            this.isDate = isDate;
+        }
+
+        @Override
+        public void extract(List<RudeArray> sourceItems, int[] indexes) {
+            this.values = new long[sourceItems.size()];
+            for (int index: indexes) {
+                RudeArray item = sourceItems.get(index);
+                if (this.isDate) {
+                    Date value = item.getDate(this.columnName);
+                    if (value == null) {
+                        this.nulls.set(index);
+                    } else {
+                        this.values[index] = value.getTime();
+                    }
+                } else {
+                    Long value = item.getLong(this.columnName);
+                    if (value == null) {
+                        this.nulls.set(index);
+                    } else {
+                        this.values[index] = value;
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected int compareAscending(int index1, int index2) {
+            boolean isNull1 = this.nulls.get(index1);
+            boolean isNull2 = this.nulls.get(index2);
+            if (isNull1 || isNull2) {
+                return Boolean.compare(isNull2, isNull1);
+            }
+            return Long.compare(this.values[index1], this.values[index2]);
+        }
+
+    }
+
+    /**
+     * Number、Double型の値をdouble配列で比較するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class DoubleSortKey extends SortKey {
+
+        private String columnName;
+
+        private double[] values;
+
+        private BitSet nulls = new BitSet();
+
+        /**
+         * コンストラクタ。
+         *
+         * @param columnName カラム名
+         */
+        public DoubleSortKey(String columnName) {
+            this.columnName = columnName;
+        }
+
+        @Override
+        public void extract(List<RudeArray> sourceItems, int[] indexes) {
+            this.values = new double[sourceItems.size()];
+            for (int index: indexes) {
+                Number value = sourceItems.get(index).getNumber(this.columnName);
+                if (value == null) {
+                    this.nulls.set(index);
+                } else {
+                    this.values[index] = value.doubleValue();
+                }
+            }
+        }
+
+        @Override
+        protected int compareAscending(int index1, int index2) {
+            boolean isNull1 = this.nulls.get(index1);
+            boolean isNull2 = this.nulls.get(index2);
+            if (isNull1 || isNull2) {
+                return Boolean.compare(isNull2, isNull1);
+            }
+            return Double.compare(this.values[index1], this.values[index2]);
+        }
+
+    }
+
+    /**
+     * Boolean型の値を比較するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class BooleanSortKey extends SortKey {
+
+        private String columnName;
+
+        private BitSet values = new BitSet();
+
+        private BitSet nulls = new BitSet();
+
+        /**
+         * コンストラクタ。
+         *
+         * @param columnName カラム名
+         */
+        public BooleanSortKey(String columnName) {
+            this.columnName = columnName;
+        }
+
+        @Override
+        public void extract(List<RudeArray> sourceItems, int[] indexes) {
+            for (int index: indexes) {
+                Boolean value = sourceItems.get(index).getBoolean(this.columnName);
+                if (value == null) {
+                    this.nulls.set(index);
+                } else {
+                    this.values.set(index, value);
+                }
+            }
+        }
+
+        @Override
+        protected int compareAscending(int index1, int index2) {
+            boolean isNull1 = this.nulls.get(index1);
+            boolean isNull2 = this.nulls.get(index2);
+            if (isNull1 || isNull2) {
+                return Boolean.compare(isNull2, isNull1);
+            }
+            return Boolean.compare(this.values.get(index1), this.values.get(index2));
+        }
+
+    }
+
+    /**
+     * String型の値をTableColumnの初期のComparatorと同じCollatorの照合キーで比較するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class StringSortKey extends SortKey {
+
+        private String columnName;
+
+        private String[] texts;
+
+        private CollationKey[] values;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param columnName カラム名
+         */
+        public StringSortKey(String columnName) {
+            this.columnName = columnName;
+        }
+
+        @Override
+        public void extract(List<RudeArray> sourceItems, int[] indexes) {
+            this.texts = new String[sourceItems.size()];
+            for (int index: indexes) {
+                this.texts[index] = sourceItems.get(index).getString(this.columnName);
+            }
+        }
+
+        @Override
+        public void prepare() {
+            // 照合キーの作成は時間がかかるため、取り出した文字列からForkJoinPoolのスレッドで作成する
+            Collator collator = Collator.getInstance();
+            this.values = new CollationKey[this.texts.length];
+            for (int index = 0; index < this.texts.length; index++) {
+                if (this.texts[index] != null) {
+                    this.values[index] = collator.getCollationKey(this.texts[index]);
+                }
+            }
+            this.texts = null;
+        }
+
+        @Override
+        protected int compareAscending(int index1, int index2) {
+            CollationKey value1 = this.values[index1];
+            CollationKey value2 = this.values[index2];
+            if (value1 == null || value2 == null) {
+                return Boolean.compare(value2 == null, value1 == null);
+            }
+            return value1.compareTo(value2);
+        }
+
+    }
+
+    /**
+     * FXスレッドで取得したセルの値をカラムのComparatorで比較するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class ObjectSortKey extends SortKey {
+
+        private Object[] values;
+
+        private Comparator<Object> comparator;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param values 絞り込む前の行の値
+         * @param comparator カラムのComparator
+         */
+        public ObjectSortKey(Object[] values, Comparator<Object> comparator) {
+            this.values = values;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public void extract(List<RudeArray> sourceItems, int[] indexes) {
+        }
+
+        @Override
+        protected int compareAscending(int index1, int index2) {
+            return this.comparator.compare(this.values[index1], this.values[index2]);
+        }
+
+    }
+
+    /**
+     * 行インデックスの配列を安定なマージソートで並べ替えるクラス。一定の行数を超える範囲は分割して並列に処理する。
+     *
+     * @author hiro
+     *
+     */
+    private class IndexMergeSortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private int[] indexes;
+
+        private int[] buffer;
+
+        private int from;
+
+        private int to;
+
+        private List<SortKey> sortKeys;
+
+        private int generation;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param indexes 並べ替える行インデックス
+         * @param buffer マージに使用する同じ長さの配列
+         * @param from 範囲の開始位置
+         * @param to 範囲の終了位置(この位置は含まない)
+         * @param sortKeys 並べ替えのキー
+         * @param generation 要求の番号
+         */
+        public IndexMergeSortTask(int[] indexes, int[] buffer, int from, int to, List<SortKey> sortKeys, int generation) {
+            this.indexes = indexes;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.sortKeys = sortKeys;
+            this.generation = generation;
+        }
+
+        /**
+         * 並べ替えのキーを順に使って比較する。
+         *
+         * @param index1 行インデックス
+         * @param index2 行インデックス
+         * @return 比較結果
+         */
+        private int compare(int index1, int index2) {
+            for (SortKey sortKey: this.sortKeys) {
+                int result = sortKey.compare(index1, index2);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.generation != DynamicTableView.this.sortGeneration) {
+                throw new CancellationException();
+            }
+            if (this.to - this.from <= SEQUENTIAL_SORT_THRESHOLD) {
+                this.sort(this.from, this.to);
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new IndexMergeSortTask(this.indexes, this.buffer, this.from, middle, this.sortKeys, this.generation),
+                    new IndexMergeSortTask(this.indexes, this.buffer, middle, this.to, this.sortKeys, this.generation));
+            this.merge(this.from, middle, this.to);
+        }
+
+        /**
+         * 範囲を1スレッドで並べ替える。
+         *
+         * @param from 範囲の開始位置
+         * @param to 範囲の終了位置
+         */
+        private void sort(int from, int to) {
+            if (to - from < 16) {
+                for (int index = from + 1; index < to; index++) {
+                    int value = this.indexes[index];
+                    int position = index - 1;
+                    while (position >= from && this.compare(this.indexes[position], value) > 0) {
+                        this.indexes[position + 1] = this.indexes[position];
+                        position--;
+                    }
+                    this.indexes[position + 1] = value;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            this.sort(from, middle);
+            this.sort(middle, to);
+            this.merge(from, middle, to);
+        }
+
+        /**
+         * 並べ替え済みの隣接する二つの範囲をマージする。
+         *
+         * @param from 前の範囲の開始位置
+         * @param middle 後の範囲の開始位置
+         * @param to 後の範囲の終了位置
+         */
+        private void merge(int from, int middle, int to) {
+            if (this.compare(this.indexes[middle - 1], this.indexes[middle]) <= 0) {
+                return;
+            }
+            System.arraycopy(this.indexes, from, this.buffer, from, to - from);
+            int left = from;
+            int right = middle;
+            for (int index = from; index < to; index++) {
+                if (right >= to || left < middle && this.compare(this.buffer[left], this.buffer[right]) <= 0) {
+                    this.indexes[index] = this.buffer[left];
+                    left++;
+                } else {
+                    this.indexes[index] = this.buffer[right];
+                    right++;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * カラム毎に作成してセルの表示文字列を作成するクラス。<br>
+     * 最近表示した値と文字列を一定数だけ保持して、ステータスや日付など同じ値が繰り返し表示される場合は書式化を省略する。
+     * セルの描画と同じFXスレッドだけで使用する。
+     *
+     * @author hiro
+     * @param <T> 値のタイプ
+     */
+    private static abstract class CellTextFormatter<T> {
+
+        private static final int MAXIMUM_CACHE_SIZE = 256;
+
+        private LinkedHashMap<T, String> texts = new LinkedHashMap<T, String>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<T, String> eldest) {
+                return this.size() > MAXIMUM_CACHE_SIZE;
+            }
+
+        };
+
+        /**
+         * 値を表示文字列に変換する。
+         *
+         * @param value 値
+         * @return 表示文字列
+         */
+        public String format(T value) {
+            String text = this.texts.get(value);
+            if (text == null) {
+                text = this.createText(value);
+                this.texts.put(value, text);
+            }
+            return text;
+        }
+
+        /**
+         * キャッシュされていない値を表示文字列に変換する。
+         *
+         * @param value 値
+         * @return 表示文字列
+         */
+        protected abstract String createText(T value);
+
+        /**
+         * 同じ形式で変換する、キャッシュとフォーマットを共有しないインスタンスを作成する。FXスレッド以外で変換する場合に使用する。
+         *
+         * @return 新しいインスタンス
+         */
+        public abstract CellTextFormatter<T> copy();
+
+    }
+
+    /**
+     * パターンから作成したSimpleDateFormatをカラム毎に使い回して日付を書式化するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class DateCellTextFormatter extends CellTextFormatter<Date> {
+
+        private String pattern;
+
+        private SimpleDateFormat dateFormat;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param pattern 日付を文字列に変換するパターン
+         */
+        public DateCellTextFormatter(String pattern) {
+            this.pattern = pattern;
+            this.dateFormat = new SimpleDateFormat(pattern);
+        }
+
+        @Override
+        protected String createText(Date value) {
+            return this.dateFormat.format(value);
+        }
+
+        @Override
+        public DateCellTextFormatter copy() {
+            return new DateCellTextFormatter(this.pattern);
+        }
+
+    }
+
+    /**
+     * Datetime.dateToStringで日時を文字列に変換するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class DatetimeCellTextFormatter extends CellTextFormatter<Date> {
+
+        @Override
+        protected String createText(Date value) {
+            return Datetime.dateToString(value);
+        }
+
+        @Override
+        public DatetimeCellTextFormatter copy() {
+            return new DatetimeCellTextFormatter();
+        }
+
+    }
+
+    /**
+     * NumberFormatで数値を文字列に変換するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class NumberCellTextFormatter extends CellTextFormatter<Number> {
+
+        private NumberFormat numberFormat;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param numberFormat 数値の表示形式
+         */
+        public NumberCellTextFormatter(NumberFormat numberFormat) {
+            this.numberFormat = numberFormat;
+        }
+
+        @Override
+        protected String createText(Number value) {
+            return this.numberFormat.format(value);
+        }
+
+        @Override
+        public NumberCellTextFormatter copy() {
+            return new NumberCellTextFormatter((NumberFormat) this.numberFormat.clone());
+        }
+
+    }
+
+    /**
+     * セルの値を保持する読み取り専用のObservableValueクラス。<br>
+     * 値は変更されないためリスナーを保持せず、TableViewのスクロール時に生成されるオブジェクトを最小限にする。
+     *
+     * @author hiro
+     * @param <T> 値のタイプ
+     */
+    private static class CellValue<T> implements ObservableValue<T> {
+
+        private static final CellValue<Boolean> TRUE = new CellValue<>(true);
+
+        private static final CellValue<Boolean> FALSE = new CellValue<>(false);
+
+        private T value;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param value 値
+         */
+        private CellValue(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T getValue() {
+            return this.value;
+        }
+
+        @Override
+        public void addListener(InvalidationListener listener) {
+        }
+
+        @Override
+        public void removeListener(InvalidationListener listener) {
+        }
+
+        @Override
+        public void addListener(ChangeListener<? super T> listener) {
+        }
+
+        @Override
+        public void removeListener(ChangeListener<? super T> listener) {
+        }
+
+    }
+
+    /**
+     * 同じ値に対して同じCellValueを返すためにカラム毎に保持するキャッシュクラス。<br>
+     * 値のハッシュ値から求めた位置に一件だけ保持して等価性で比較するため、描画のたびに値が新しく生成される行でも同じ値であればCellValueを生成しない。
+     *
+     * @author hiro
+     * @param <T> 値のタイプ
+     */
+    private static class CellValueCache<T> {
+
+        private static final int SIZE = 256;
+
+        private CellValue<?>[] cellValues = new CellValue<?>[SIZE];
+
+        /**
+         * 値を保持するCellValueを取得する。
+         *
+         * @param value 値
+         * @return CellValue
+         */
+        @SuppressWarnings("unchecked")
+        public CellValue<T> get(T value) {
+            int hash = value.hashCode();
+            int index = (hash ^ (hash >>> 16)) & (SIZE - 1);
+            CellValue<T> cellValue = (CellValue<T>) this.cellValues[index];
+            if (cellValue == null || cellValue.value.equals(value) == false) {
+                cellValue = new CellValue<>(value);
+                this.cellValues[index] = cellValue;
+            }
+            return cellValue;
+        }
+
+    }
+
     /**
      * CellFactory内で生成されたCell内のNodeに対する処理を呼び出し元で定義させるクラス。
      *
@@ -0,0 +1,406 @@
+package com.hirohiro716.javafx.control.table;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import com.hirohiro716.RudeArray;
+import com.hirohiro716.javafx.dialog.AbstractDialog.CloseEventHandler;
+import com.hirohiro716.javafx.dialog.wait.ProgressDialog;
+
+import javafx.scene.control.TableColumn;
+import javafx.scene.layout.Pane;
+
+/**
+ * DynamicTableViewの行を、カラムのセルに表示される形式のままファイルに書き出すクラス。<br>
+ * 行は1行ずつ文字列に変換されてバッファからFileChannelに書き出されるため、ファイル全体の内容をメモリに保持しない。
+ *
+ * @author hiro
+ *
+ */
+public class DynamicTableViewExporter {
+
+    /**
+     * 書き出すファイルの形式。
+     *
+     * @author hiro
+     *
+     */
+    public enum Format {
+        /**
+         * カンマ区切り。
+         */
+        CSV,
+        /**
+         * タブ区切り。
+         */
+        TSV,
+        /**
+         * Excel 2003 XMLスプレッドシート。
+         */
+        EXCEL_XML,
+    }
+
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * 進捗状況の更新とキャンセルの確認を行う行数の間隔。
+     */
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    private DynamicTableView tableView;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param tableView 書き出すDynamicTableView
+     */
+    public DynamicTableViewExporter(DynamicTableView tableView) {
+        this.tableView = tableView;
+    }
+
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * 書き出す文字コードをセットする。初期値はUTF-8。文字コードで表現できない文字は置き換えられる。
+     *
+     * @param charset 文字コード
+     */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * 書き出す文字コードを取得する。
+     *
+     * @return 文字コード
+     */
+    public Charset getCharset() {
+        return this.charset;
+    }
+
+    /**
+     * 表示されている行とカラムを、進捗状況の画面を表示しながらバックグラウンドで書き出す。<br>
+     * 書き出す行とカラムは呼び出した時点のものになる。キャンセルされた場合や例外が発生した場合、書き出し途中のファイルは削除される。
+     * EXCEL_XML形式の場合、数値のカラムは表示形式ではなく数値のまま書き出される。
+     *
+     * @param path 書き出すファイル
+     * @param format ファイルの形式
+     * @param parentPane ダイアログを表示するPane
+     * @param closeEvent 終了時の処理(完了した場合はtrue、キャンセルされた場合はfalse、例外が発生した場合はnullが渡される)
+     * @return 表示したダイアログ
+     */
+    public ProgressDialog<Boolean> exportWithProgressDialog(Path path, Format format, Pane parentPane, CloseEventHandler<Boolean> closeEvent) {
+        DynamicTableViewExporter exporter = this;
+        List<RudeArray> rows = new ArrayList<>(this.tableView.getItems());
+        List<ExportColumn> columns = this.createExportColumns();
+        ProgressDialog<Boolean> dialog = new ProgressDialog<>();
+        dialog.setTitle("書き出し処理中");
+        dialog.setMessage("ファイルに書き出しています。しばらくお待ちください。");
+        dialog.setCancelable(true);
+        dialog.setCallable(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                try {
+                    Boolean result = exporter.write(path, format, rows, columns, dialog);
+                    // closeで終了時の処理に渡される結果は、このメソッドから戻る前にセットしておく
+                    dialog.setResult(result);
+                    return result;
+                } finally {
+                    dialog.close();
+                }
+            }
+        });
+        dialog.setCloseEvent(closeEvent);
+        dialog.showOnPane(parentPane);
+        return dialog;
+    }
+
+    /**
+     * 表示されているカラムから書き出すカラムを作成する。ボタンのカラムは除外される。
+     *
+     * @return 書き出すカラム
+     */
+    private List<ExportColumn> createExportColumns() {
+        List<ExportColumn> columns = new ArrayList<>();
+        for (TableColumn<RudeArray, ?> column: this.tableView.getVisibleLeafColumns()) {
+            Function<RudeArray, String> textFunction = DynamicTableView.createCellTextFunction(column);
+            if (textFunction != null) {
+                ExportColumn exportColumn = new ExportColumn();
+                exportColumn.columnName = column.getId();
+                exportColumn.headerText = column.getText();
+                exportColumn.valueType = DynamicTableView.getValueType(column);
+                exportColumn.textFunction = textFunction;
+                columns.add(exportColumn);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 行をファイルに書き出す。
+     *
+     * @param path 書き出すファイル
+     * @param format ファイルの形式
+     * @param rows 行
+     * @param columns カラム
+     * @param dialog 進捗状況を表示するダイアログ
+     * @return 完了した場合はtrue、キャンセルされた場合はfalse
+     * @throws IOException
+     */
+    private boolean write(Path path, Format format, List<RudeArray> rows, List<ExportColumn> columns, ProgressDialog<?> dialog) throws IOException {
+        CharsetEncoder encoder = this.charset.newEncoder();
+        encoder.onMalformedInput(CodingErrorAction.REPLACE);
+        encoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+        boolean isCompleted = false;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                Writer writer = new BufferedWriter(Channels.newWriter(channel, encoder, BUFFER_SIZE), BUFFER_SIZE)) {
+            this.writeHeader(writer, format, columns);
+            for (int index = 0; index < rows.size(); index++) {
+                if (index % PROGRESS_INTERVAL == 0) {
+                    if (dialog.isCanceled()) {
+                        return false;
+                    }
+                    dialog.updateProgress(index, rows.size());
+                }
+                this.writeRow(writer, format, rows.get(index), columns);
+            }
+            this.writeFooter(writer, format);
+            isCompleted = true;
+        } finally {
+            if (isCompleted == false) {
+                Files.deleteIfExists(path);
+            }
+        }
+        dialog.updateProgress(rows.size(), Math.max(1, rows.size()));
+        return true;
+    }
+
+    /**
+     * ファイルの先頭とカラムのヘッダーを書き出す。
+     *
+     * @param writer Writer
+     * @param format ファイルの形式
+     * @param columns カラム
+     * @throws IOException
+     */
+    private void writeHeader(Writer writer, Format format, List<ExportColumn> columns) throws IOException {
+        switch (format) {
+        case CSV:
+        case TSV:
+            char delimiter = getDelimiter(format);
+            for (int index = 0; index < columns.size(); index++) {
+                if (index > 0) {
+                    writer.write(delimiter);
+                }
+                writeSeparatedValue(writer, columns.get(index).headerText, delimiter);
+            }
+            writer.write("\r\n");
+            break;
+        case EXCEL_XML:
+            writer.write("<?xml version=\"1.0\" encoding=\"");
+            writer.write(this.charset.name());
+            writer.write("\"?>\r\n");
+            writer.write("<?mso-application progid=\"Excel.Sheet\"?>\r\n");
+            writer.write("<Workbook xmlns=\"urn:schemas-microsoft-com:office:spreadsheet\" xmlns:ss=\"urn:schemas-microsoft-com:office:spreadsheet\">\r\n");
+            writer.write("<Worksheet ss:Name=\"Sheet1\">\r\n<Table>\r\n<Row>");
+            for (ExportColumn column: columns) {
+                writer.write("<Cell><Data ss:Type=\"String\">");
+                writeXMLText(writer, column.headerText);
+                writer.write("</Data></Cell>");
+            }
+            writer.write("</Row>\r\n");
+            break;
+        }
+    }
+
+    /**
+     * 1行を書き出す。
+     *
+     * @param writer Writer
+     * @param format ファイルの形式
+     * @param row 行
+     * @param columns カラム
+     * @throws IOException
+     */
+    private void writeRow(Writer writer, Format format, RudeArray row, List<ExportColumn> columns) throws IOException {
+        switch (format) {
+        case CSV:
+        case TSV:
+            char delimiter = getDelimiter(format);
+            for (int index = 0; index < columns.size(); index++) {
+                if (index > 0) {
+                    writer.write(delimiter);
+                }
+                writeSeparatedValue(writer, columns.get(index).textFunction.apply(row), delimiter);
+            }
+            writer.write("\r\n");
+            break;
+        case EXCEL_XML:
+            writer.write("<Row>");
+            for (ExportColumn column: columns) {
+                if (column.isNumber()) {
+                    Number value = row.getNumber(column.columnName);
+                    // NaNと無限大は数値のセルとして書き出せないため文字列にする
+                    if (value != null && Double.isNaN(value.doubleValue()) == false && Double.isInfinite(value.doubleValue()) == false) {
+                        writer.write("<Cell><Data ss:Type=\"Number\">");
+                        writer.write(value.toString());
+                        writer.write("</Data></Cell>");
+                        continue;
+                    }
+                }
+                String text = column.textFunction.apply(row);
+                if (text == null) {
+                    writer.write("<Cell/>");
+                    continue;
+                }
+                writer.write("<Cell><Data ss:Type=\"String\">");
+                writeXMLText(writer, text);
+                writer.write("</Data></Cell>");
+            }
+            writer.write("</Row>\r\n");
+            break;
+        }
+    }
+
+    /**
+     * ファイルの末尾を書き出す。
+     *
+     * @param writer Writer
+     * @param format ファイルの形式
+     * @throws IOException
+     */
+    private void writeFooter(Writer writer, Format format) throws IOException {
+        if (format == Format.EXCEL_XML) {
+            writer.write("</Table>\r\n</Worksheet>\r\n</Workbook>\r\n");
+        }
+    }
+
+    /**
+     * 区切り文字を取得する。
+     *
+     * @param format ファイルの形式
+     * @return 区切り文字
+     */
+    private static char getDelimiter(Format format) {
+        if (format == Format.TSV) {
+            return '\t';
+        }
+        return ',';
+    }
+
+    /**
+     * 区切り文字、ダブルクォート、改行を含む値をダブルクォートで囲んで書き出す。
+     *
+     * @param writer Writer
+     * @param value 値
+     * @param delimiter 区切り文字
+     * @throws IOException
+     */
+    private static void writeSeparatedValue(Writer writer, String value, char delimiter) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean isQuoteRequired = false;
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character == delimiter || character == '"' || character == '\r' || character == '\n') {
+                isQuoteRequired = true;
+                break;
+            }
+        }
+        if (isQuoteRequired == false) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character == '"') {
+                writer.write('"');
+            }
+            writer.write(character);
+        }
+        writer.write('"');
+    }
+
+    /**
+     * XMLの特殊文字をエスケープして書き出す。XMLで使用できない制御文字は除外する。
+     *
+     * @param writer Writer
+     * @param value 値
+     * @throws IOException
+     */
+    private static void writeXMLText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            switch (character) {
+            case '&':
+                writer.write("&amp;");
+                break;
+            case '<':
+                writer.write("&lt;");
+                break;
+            case '>':
+                writer.write("&gt;");
+                break;
+            case '"':
+                writer.write("&quot;");
+                break;
+            case '\n':
+                writer.write("&#10;");
+                break;
+            case '\r':
+                break;
+            default:
+                if (character >= 0x20 || character == '\t') {
+                    writer.write(character);
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * 書き出すカラムの情報。
+     *
+     * @author hiro
+     *
+     */
+    private static class ExportColumn {
+
+        private String columnName;
+
+        private String headerText;
+
+        private Class<?> valueType;
+
+        private Function<RudeArray, String> textFunction;
+
+        /**
+         * 数値のカラムかどうかを判定する。
+         *
+         * @return 結果
+         */
+        public boolean isNumber() {
+            return this.valueType == Number.class || this.valueType == Integer.class || this.valueType == Long.class || this.valueType == Double.class;
+        }
+
+    }
+}
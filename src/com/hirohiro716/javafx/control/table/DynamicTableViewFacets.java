@@ -0,0 +1,726 @@
+package com.hirohiro716.javafx.control.table;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.hirohiro716.RudeArray;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+
+/**
+ * DynamicTableViewのカラムの値毎の行数を集計して、Excelのフィルタのように値を選択して行を絞り込むクラス。<br>
+ * 集計は値が必要になったカラムだけバックグラウンドで行われ、行が変更されるまで保持される。
+ * 絞り込みは選択された値毎のビットマップの論理和と、カラム間の論理積で行われる。
+ * 絞り込み条件はFILTER_NAMEの名前でDynamicTableViewにセットされ、他の絞り込み条件と組み合わせることができる。
+ *
+ * @author hiro
+ *
+ */
+public class DynamicTableViewFacets {
+
+    /**
+     * DynamicTableViewにセットする絞り込み条件の名前。
+     */
+    public static final String FILTER_NAME = "facets";
+
+    /**
+     * 集計中に中断の確認を行う行数の間隔。
+     */
+    private static final int CANCELLATION_CHECK_INTERVAL = 4096;
+
+    private DynamicTableView tableView;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param tableView 集計するDynamicTableView
+     */
+    public DynamicTableViewFacets(DynamicTableView tableView) {
+        DynamicTableViewFacets facets = this;
+        this.tableView = tableView;
+        if (this.tableView.getItems() != null) {
+            this.tableView.getItems().addListener(this.itemsChangeListener);
+        }
+        this.tableView.itemsProperty().addListener(new ChangeListener<ObservableList<RudeArray>>() {
+            @Override
+            public void changed(ObservableValue<? extends ObservableList<RudeArray>> observable, ObservableList<RudeArray> oldValue, ObservableList<RudeArray> newValue) {
+                if (oldValue != null) {
+                    oldValue.removeListener(facets.itemsChangeListener);
+                }
+                if (newValue != null) {
+                    newValue.addListener(facets.itemsChangeListener);
+                }
+                facets.invalidate();
+            }
+        });
+    }
+
+    private ListChangeListener<RudeArray> itemsChangeListener = new ListChangeListener<RudeArray>() {
+        @Override
+        public void onChanged(Change<? extends RudeArray> change) {
+            DynamicTableViewFacets facets = DynamicTableViewFacets.this;
+            // 絞り込みの結果の反映では元の行は変わらない
+            if (facets.tableView.isPublishingSortResult()) {
+                return;
+            }
+            facets.requestInvalidate();
+        }
+    };
+
+    private int maximumFacetCount = 100;
+
+    /**
+     * 値の種類が多いカラムで、行数の多い順に取得する値の最大数をセットする。初期値は100。
+     *
+     * @param maximumFacetCount 最大数
+     */
+    public void setMaximumFacetCount(int maximumFacetCount) {
+        this.maximumFacetCount = maximumFacetCount;
+    }
+
+    /**
+     * 値の種類が多いカラムで、行数の多い順に取得する値の最大数を取得する。
+     *
+     * @return 最大数
+     */
+    public int getMaximumFacetCount() {
+        return this.maximumFacetCount;
+    }
+
+    /**
+     * 集計対象の行。集計が必要になった時点で作成され、行が変更されると破棄される。
+     */
+    private RowSnapshot rowSnapshot = null;
+
+    private HashMap<String, ColumnStatistics> columnStatistics = new HashMap<>();
+
+    /**
+     * 集計の要求毎に増える番号。行が変更されると増え、古い行の集計は結果を反映せずに中断する。
+     */
+    private volatile int statisticsGeneration = 0;
+
+    /**
+     * 集計中のカラムと、集計完了時に呼び出すコールバック。
+     */
+    private HashMap<String, List<StatisticsCallback>> pendingCallbacks = new HashMap<>();
+
+    private boolean isInvalidateRequested = false;
+
+    /**
+     * 行の変更毎に集計し直さないように、FXスレッドで次に処理される時点で一度だけ集計結果を破棄する。
+     */
+    private void requestInvalidate() {
+        if (this.isInvalidateRequested) {
+            return;
+        }
+        this.isInvalidateRequested = true;
+        DynamicTableViewFacets facets = this;
+        Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+                facets.isInvalidateRequested = false;
+                facets.invalidate();
+            }
+        });
+    }
+
+    /**
+     * 行が変更された際に集計結果を破棄する。集計中のカラムと値が選択されているカラムは集計し直す。
+     */
+    private void invalidate() {
+        this.statisticsGeneration++;
+        this.rowSnapshot = null;
+        this.columnStatistics.clear();
+        HashMap<String, List<StatisticsCallback>> pendingCallbacks = this.pendingCallbacks;
+        this.pendingCallbacks = new HashMap<>();
+        for (Map.Entry<String, List<StatisticsCallback>> entry: pendingCallbacks.entrySet()) {
+            this.requestStatistics(entry.getKey(), null);
+            this.pendingCallbacks.get(entry.getKey()).addAll(entry.getValue());
+        }
+        if (this.selectedValues.size() > 0) {
+            for (String columnName: this.selectedValues.keySet()) {
+                this.requestStatistics(columnName, null);
+            }
+            this.applyFilter();
+        }
+    }
+
+    /**
+     * カラムの値毎の行数を取得する。集計されていない場合はバックグラウンドで集計し、完了した時点でコールバックが呼び出される。
+     *
+     * @param columnName カラム名
+     * @param callback 集計結果を受け取るコールバック(FXスレッドで呼び出される)
+     */
+    public void requestStatistics(String columnName, StatisticsCallback callback) {
+        ColumnStatistics statistics = this.columnStatistics.get(columnName);
+        if (statistics != null) {
+            if (callback != null) {
+                callback.call(statistics);
+            }
+            return;
+        }
+        List<StatisticsCallback> callbacks = this.pendingCallbacks.get(columnName);
+        if (callbacks != null) {
+            if (callback != null) {
+                callbacks.add(callback);
+            }
+            return;
+        }
+        callbacks = new ArrayList<>();
+        if (callback != null) {
+            callbacks.add(callback);
+        }
+        this.pendingCallbacks.put(columnName, callbacks);
+        List<RudeArray> rows = null;
+        if (this.rowSnapshot == null) {
+            rows = new ArrayList<>();
+            if (this.tableView.getUnfilteredItems() != null) {
+                rows.addAll(this.tableView.getUnfilteredItems());
+            }
+        }
+        List<RudeArray> snapshotRows = rows;
+        RowSnapshot rowSnapshot = this.rowSnapshot;
+        // 行の値はFXスレッドで変更されるため、集計するカラムの値をFXスレッドで取り出してからForkJoinPoolに渡す
+        List<RudeArray> targetRows = snapshotRows;
+        if (rowSnapshot != null) {
+            targetRows = rowSnapshot.rows;
+        }
+        Object[] values = new Object[targetRows.size()];
+        for (int rowNumber = 0; rowNumber < values.length; rowNumber++) {
+            values[rowNumber] = targetRows.get(rowNumber).get(columnName);
+        }
+        Function<RudeArray, String> textFunction = null;
+        TableColumn<RudeArray, ?> column = this.tableView.getColumn(columnName);
+        if (column != null) {
+            textFunction = DynamicTableView.createCellTextFunction(column);
+        }
+        Function<RudeArray, String> cellTextFunction = textFunction;
+        int maximumFacetCount = this.maximumFacetCount;
+        int generation = this.statisticsGeneration;
+        DynamicTableViewFacets facets = this;
+        ForkJoinPool.commonPool().execute(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                RowSnapshot targetRowSnapshot = rowSnapshot;
+                ColumnStatistics statistics;
+                try {
+                    if (targetRowSnapshot == null) {
+                        targetRowSnapshot = new RowSnapshot(snapshotRows, facets, generation);
+                    }
+                    statistics = new ColumnStatistics(columnName, values, cellTextFunction, maximumFacetCount, facets, generation);
+                } catch (CancellationException exception) {
+                    return;
+                }
+                RowSnapshot resultRowSnapshot = targetRowSnapshot;
+                Platform.runLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != facets.statisticsGeneration) {
+                            return;
+                        }
+                        if (facets.rowSnapshot == null) {
+                            facets.rowSnapshot = resultRowSnapshot;
+                        }
+                        // 同時に作成された別の行のスナップショットの場合は、行番号を合わせるため集計し直す
+                        if (facets.rowSnapshot != resultRowSnapshot) {
+                            List<StatisticsCallback> callbacks = facets.pendingCallbacks.remove(columnName);
+                            for (StatisticsCallback callback: callbacks) {
+                                facets.requestStatistics(columnName, callback);
+                            }
+                            if (callbacks.size() == 0) {
+                                facets.requestStatistics(columnName, null);
+                            }
+                            return;
+                        }
+                        facets.columnStatistics.put(columnName, statistics);
+                        List<StatisticsCallback> callbacks = facets.pendingCallbacks.remove(columnName);
+                        if (facets.selectedValues.containsKey(columnName)) {
+                            facets.applyFilter();
+                        }
+                        for (StatisticsCallback callback: callbacks) {
+                            callback.call(statistics);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 集計済みのカラムの値毎の行数を取得する。
+     *
+     * @param columnName カラム名
+     * @return 集計結果(集計されていない場合はnull)
+     */
+    public ColumnStatistics getStatistics(String columnName) {
+        return this.columnStatistics.get(columnName);
+    }
+
+    /**
+     * カラム名をキーにした選択されている値。
+     */
+    private LinkedHashMap<String, HashSet<Object>> selectedValues = new LinkedHashMap<>();
+
+    /**
+     * カラムの値を選択または選択解除して行を絞り込む。カラム内では選択された値のいずれか、カラム間では選択されたすべてのカラムに一致する行が表示される。
+     *
+     * @param columnName カラム名
+     * @param value 値
+     * @param isSelected 選択するかどうか
+     */
+    public void setSelected(String columnName, Object value, boolean isSelected) {
+        HashSet<Object> values = this.selectedValues.get(columnName);
+        if (isSelected) {
+            if (values == null) {
+                values = new HashSet<>();
+                this.selectedValues.put(columnName, values);
+            }
+            values.add(value);
+            this.requestStatistics(columnName, null);
+        } else if (values != null) {
+            values.remove(value);
+            if (values.size() == 0) {
+                this.selectedValues.remove(columnName);
+            }
+        }
+        this.applyFilter();
+    }
+
+    /**
+     * カラムの値が選択されているかどうかを判定する。
+     *
+     * @param columnName カラム名
+     * @param value 値
+     * @return 結果
+     */
+    public boolean isSelected(String columnName, Object value) {
+        HashSet<Object> values = this.selectedValues.get(columnName);
+        return values != null && values.contains(value);
+    }
+
+    /**
+     * カラムの値の選択をすべて解除する。
+     *
+     * @param columnName カラム名
+     */
+    public void clearSelection(String columnName) {
+        if (this.selectedValues.remove(columnName) != null) {
+            this.applyFilter();
+        }
+    }
+
+    /**
+     * すべてのカラムの値の選択を解除する。
+     */
+    public void clearSelection() {
+        if (this.selectedValues.size() > 0) {
+            this.selectedValues.clear();
+            this.applyFilter();
+        }
+    }
+
+    /**
+     * 選択されている値でDynamicTableViewを絞り込む。集計が済んでいるカラムはビットマップで、集計中のカラムは値の比較で判定する。
+     */
+    private void applyFilter() {
+        if (this.selectedValues.size() == 0) {
+            if (this.tableView.getFilter(FILTER_NAME) != null) {
+                this.tableView.setFilter(FILTER_NAME, null);
+            }
+            return;
+        }
+        BitSet matchedRowNumbers = null;
+        Map<String, HashSet<Object>> uncomputedValues = new LinkedHashMap<>();
+        for (Map.Entry<String, HashSet<Object>> entry: this.selectedValues.entrySet()) {
+            ColumnStatistics statistics = this.columnStatistics.get(entry.getKey());
+            if (statistics == null) {
+                uncomputedValues.put(entry.getKey(), new HashSet<>(entry.getValue()));
+                continue;
+            }
+            BitSet columnRowNumbers = new BitSet(this.rowSnapshot.rows.size());
+            for (Object value: entry.getValue()) {
+                BitSet rowNumbers = statistics.getRowNumbers(value);
+                if (rowNumbers != null) {
+                    columnRowNumbers.or(rowNumbers);
+                }
+            }
+            if (matchedRowNumbers == null) {
+                matchedRowNumbers = columnRowNumbers;
+            } else {
+                matchedRowNumbers.and(columnRowNumbers);
+            }
+        }
+        Map<String, HashSet<Object>> computedValues = new LinkedHashMap<>();
+        for (Map.Entry<String, HashSet<Object>> entry: this.selectedValues.entrySet()) {
+            if (uncomputedValues.containsKey(entry.getKey()) == false) {
+                computedValues.put(entry.getKey(), new HashSet<>(entry.getValue()));
+            }
+        }
+        this.tableView.setFilter(FILTER_NAME, new FacetFilter(this.rowSnapshot, matchedRowNumbers, computedValues, uncomputedValues));
+    }
+
+    /**
+     * 集計結果を受け取るコールバック。
+     *
+     * @author hiro
+     *
+     */
+    public static interface StatisticsCallback {
+
+        /**
+         * 集計が完了した際に呼び出される。
+         *
+         * @param statistics 集計結果
+         */
+        public void call(ColumnStatistics statistics);
+
+    }
+
+    /**
+     * カラムの値と行数。
+     *
+     * @author hiro
+     *
+     */
+    public static class Facet {
+
+        private Object value;
+
+        private String text;
+
+        private int count;
+
+        private int code;
+
+        /**
+         * 値を取得する。
+         *
+         * @return 値
+         */
+        public Object getValue() {
+            return this.value;
+        }
+
+        /**
+         * 値をカラムのセルと同じ形式で表した文字列を取得する。
+         *
+         * @return 文字列(値がnullの場合はnull)
+         */
+        public String getText() {
+            return this.text;
+        }
+
+        /**
+         * 値を持つ行数を取得する。
+         *
+         * @return 行数
+         */
+        public int getCount() {
+            return this.count;
+        }
+
+    }
+
+    /**
+     * 集計対象の行と、行から行番号を引く索引。
+     *
+     * @author hiro
+     *
+     */
+    private static class RowSnapshot {
+
+        private List<RudeArray> rows;
+
+        private IdentityHashMap<RudeArray, Integer> rowNumbers = new IdentityHashMap<>();
+
+        /**
+         * コンストラクタ。
+         *
+         * @param rows 行
+         * @param facets 集計を行うDynamicTableViewFacets
+         * @param generation 要求の番号
+         * @throws CancellationException 行が変更された場合
+         */
+        public RowSnapshot(List<RudeArray> rows, DynamicTableViewFacets facets, int generation) throws CancellationException {
+            this.rows = rows;
+            for (int rowNumber = 0; rowNumber < rows.size(); rowNumber++) {
+                if (rowNumber % CANCELLATION_CHECK_INTERVAL == 0 && generation != facets.statisticsGeneration) {
+                    throw new CancellationException();
+                }
+                this.rowNumbers.put(rows.get(rowNumber), rowNumber);
+            }
+        }
+
+    }
+
+    /**
+     * 1カラム分の値毎の行数の集計結果。
+     *
+     * @author hiro
+     *
+     */
+    public static class ColumnStatistics {
+
+        private String columnName;
+
+        private int rowCount;
+
+        /**
+         * 行番号毎の値の番号。
+         */
+        private int[] valueCodes;
+
+        private HashMap<Object, Integer> codes = new HashMap<>();
+
+        private List<Facet> facets;
+
+        /**
+         * 値の番号をキーにした、作成済みの値を持つ行番号のビットマップ。保持する値の分は集計時に作成される。
+         */
+        private HashMap<Integer, BitSet> rowNumbers = new HashMap<>();
+
+        /**
+         * コンストラクタ。値の種類毎の行数をハッシュで集計して、行数の多い値から最大数まで保持する。
+         *
+         * @param columnName カラム名
+         * @param values FXスレッドで取り出した、集計対象の行の値
+         * @param textFunction 値を文字列に変換する処理
+         * @param maximumFacetCount 保持する値の最大数
+         * @param facets 集計を行うDynamicTableViewFacets
+         * @param generation 要求の番号
+         * @throws CancellationException 行が変更された場合
+         */
+        private ColumnStatistics(String columnName, Object[] values, Function<RudeArray, String> textFunction,
+                int maximumFacetCount, DynamicTableViewFacets facets, int generation) throws CancellationException {
+            this.columnName = columnName;
+            this.rowCount = values.length;
+            this.valueCodes = new int[this.rowCount];
+            List<Facet> allFacets = new ArrayList<>();
+            for (int rowNumber = 0; rowNumber < this.rowCount; rowNumber++) {
+                if (rowNumber % CANCELLATION_CHECK_INTERVAL == 0 && generation != facets.statisticsGeneration) {
+                    throw new CancellationException();
+                }
+                Object value = values[rowNumber];
+                Integer code = this.codes.get(value);
+                if (code == null) {
+                    code = allFacets.size();
+                    this.codes.put(value, code);
+                    Facet facet = new Facet();
+                    facet.value = value;
+                    facet.code = code;
+                    if (value != null && textFunction != null) {
+                        // 変換処理は行を受け取るため、取り出した値だけを持つ行で文字列にする
+                        RudeArray valueRow = new RudeArray();
+                        valueRow.put(columnName, value);
+                        facet.text = textFunction.apply(valueRow);
+                    }
+                    if (value != null && facet.text == null) {
+                        facet.text = String.valueOf(value);
+                    }
+                    allFacets.add(facet);
+                }
+                allFacets.get(code).count++;
+                this.valueCodes[rowNumber] = code;
+            }
+            // 行数の多い値を最大数まで選ぶ
+            PriorityQueue<Facet> queue = new PriorityQueue<>(Math.max(1, maximumFacetCount), new Comparator<Facet>() {
+                @Override
+                public int compare(Facet facet1, Facet facet2) {
+                    if (facet1.count != facet2.count) {
+                        return Integer.compare(facet1.count, facet2.count);
+                    }
+                    return Integer.compare(facet2.code, facet1.code);
+                }
+            });
+            for (Facet facet: allFacets) {
+                if (queue.size() < maximumFacetCount) {
+                    queue.add(facet);
+                } else if (maximumFacetCount > 0 && queue.comparator().compare(facet, queue.peek()) > 0) {
+                    queue.poll();
+                    queue.add(facet);
+                }
+            }
+            this.facets = new ArrayList<>(queue.size());
+            while (queue.size() > 0) {
+                this.facets.add(queue.poll());
+            }
+            Collections.reverse(this.facets);
+            // 選択される値のビットマップはFXスレッドで作成しないように、保持する値の分をここで1回の走査で作成する
+            BitSet[] facetRowNumbers = new BitSet[allFacets.size()];
+            for (Facet facet: this.facets) {
+                facetRowNumbers[facet.code] = new BitSet(this.rowCount);
+                this.rowNumbers.put(facet.code, facetRowNumbers[facet.code]);
+            }
+            for (int rowNumber = 0; rowNumber < this.rowCount; rowNumber++) {
+                if (rowNumber % CANCELLATION_CHECK_INTERVAL == 0 && generation != facets.statisticsGeneration) {
+                    throw new CancellationException();
+                }
+                BitSet rowNumbers = facetRowNumbers[this.valueCodes[rowNumber]];
+                if (rowNumbers != null) {
+                    rowNumbers.set(rowNumber);
+                }
+            }
+        }
+
+        /**
+         * カラム名を取得する。
+         *
+         * @return カラム名
+         */
+        public String getColumnName() {
+            return this.columnName;
+        }
+
+        /**
+         * 集計した行数を取得する。
+         *
+         * @return 行数
+         */
+        public int getRowCount() {
+            return this.rowCount;
+        }
+
+        /**
+         * 値の種類の数を取得する。
+         *
+         * @return 種類の数
+         */
+        public int getDistinctValueCount() {
+            return this.codes.size();
+        }
+
+        /**
+         * 行数の多い順に値を取得する。値の種類が最大数を超える場合は、行数の多い値から最大数までになる。
+         *
+         * @return 値と行数
+         */
+        public List<Facet> getFacets() {
+            return Collections.unmodifiableList(this.facets);
+        }
+
+        /**
+         * 値を持つ行数を取得する。FXスレッドで使用する。
+         *
+         * @param value 値
+         * @return 行数
+         */
+        public int getCount(Object value) {
+            BitSet rowNumbers = this.getRowNumbers(value);
+            if (rowNumbers == null) {
+                return 0;
+            }
+            return rowNumbers.cardinality();
+        }
+
+        /**
+         * 値を持つ行番号のビットマップを取得する。保持する値以外のビットマップは初めて必要になった時に作成される。FXスレッドで使用する。
+         *
+         * @param value 値
+         * @return ビットマップ(値を持つ行がない場合はnull)
+         */
+        private BitSet getRowNumbers(Object value) {
+            Integer code = this.codes.get(value);
+            if (code == null) {
+                return null;
+            }
+            BitSet rowNumbers = this.rowNumbers.get(code);
+            if (rowNumbers == null) {
+                rowNumbers = new BitSet(this.rowCount);
+                for (int rowNumber = 0; rowNumber < this.valueCodes.length; rowNumber++) {
+                    if (this.valueCodes[rowNumber] == code) {
+                        rowNumbers.set(rowNumber);
+                    }
+                }
+                this.rowNumbers.put(code, rowNumbers);
+            }
+            return rowNumbers;
+        }
+
+    }
+
+    /**
+     * 選択されている値で行を絞り込む条件。集計後に追加された行と集計中のカラムは、値を比較して判定する。
+     *
+     * @author hiro
+     *
+     */
+    private static class FacetFilter implements Predicate<RudeArray> {
+
+        private RowSnapshot rowSnapshot;
+
+        private BitSet matchedRowNumbers;
+
+        private Map<String, HashSet<Object>> computedValues;
+
+        private Map<String, HashSet<Object>> uncomputedValues;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param rowSnapshot 集計対象の行
+         * @param matchedRowNumbers 集計済みのカラムで一致した行番号(集計済みのカラムがない場合はnull)
+         * @param computedValues 集計済みのカラムで選択されている値
+         * @param uncomputedValues 集計中のカラムで選択されている値
+         */
+        public FacetFilter(RowSnapshot rowSnapshot, BitSet matchedRowNumbers, Map<String, HashSet<Object>> computedValues, Map<String, HashSet<Object>> uncomputedValues) {
+            this.rowSnapshot = rowSnapshot;
+            this.matchedRowNumbers = matchedRowNumbers;
+            this.computedValues = computedValues;
+            this.uncomputedValues = uncomputedValues;
+        }
+
+        @Override
+        public boolean test(RudeArray row) {
+            Integer rowNumber = null;
+            if (this.rowSnapshot != null && this.matchedRowNumbers != null) {
+                rowNumber = this.rowSnapshot.rowNumbers.get(row);
+            }
+            if (rowNumber != null) {
+                if (this.matchedRowNumbers.get(rowNumber) == false) {
+                    return false;
+                }
+            } else if (isMatch(row, this.computedValues) == false) {
+                return false;
+            }
+            return isMatch(row, this.uncomputedValues);
+        }
+
+        /**
+         * 行の値がすべてのカラムで選択されている値に含まれるかを判定する。
+         *
+         * @param row 行
+         * @param selectedValues カラム名をキーにした選択されている値
+         * @return 結果
+         */
+        private static boolean isMatch(RudeArray row, Map<String, HashSet<Object>> selectedValues) {
+            for (Map.Entry<String, HashSet<Object>> entry: selectedValues.entrySet()) {
+                if (entry.getValue().contains(row.get(entry.getKey())) == false) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+}
@@ -0,0 +1,749 @@
+package com.hirohiro716.javafx.control.table;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import com.hirohiro716.RudeArray;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * DynamicTableViewのカラムの合計や平均などを、カラムの下に表示するフッター行のクラス。<br>
+ * 集計はForkJoinPoolで行を分割して並列に行われ、少数の行の追加や削除は差分だけが集計に反映される。
+ * DynamicTableViewの直下に配置して使用する。
+ *
+ * @author hiro
+ *
+ */
+public class DynamicTableViewFooter extends Pane {
+
+    /**
+     * 集計の種類。
+     *
+     * @author hiro
+     *
+     */
+    public enum Aggregate {
+        /**
+         * 合計。
+         */
+        SUM,
+        /**
+         * 平均。
+         */
+        AVERAGE,
+        /**
+         * 最小値。
+         */
+        MINIMUM,
+        /**
+         * 最大値。
+         */
+        MAXIMUM,
+        /**
+         * 値がnullではない行の数。
+         */
+        COUNT,
+        /**
+         * 値の種類の数。
+         */
+        DISTINCT_COUNT,
+    }
+
+    /**
+     * 集計を分割せずに1スレッドで行う行数。
+     */
+    private static final int SEQUENTIAL_AGGREGATION_THRESHOLD = 8192;
+
+    /**
+     * 差分で集計を更新する変更行数の上限。超える場合はすべての行を集計し直す。
+     */
+    private static final int INCREMENTAL_UPDATE_LIMIT = 1024;
+
+    /**
+     * 行毎の値を保持する際に中断の確認を行う行数の間隔。
+     */
+    private static final int CANCELLATION_CHECK_INTERVAL = 4096;
+
+    private DynamicTableView tableView;
+
+    private HBox cellsHBox = new HBox();
+
+    private HashMap<String, Label> labels = new HashMap<>();
+
+    private ScrollBar horizontalScrollBar = null;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param tableView 集計するDynamicTableView
+     */
+    public DynamicTableViewFooter(DynamicTableView tableView) {
+        DynamicTableViewFooter footer = this;
+        this.tableView = tableView;
+        this.getStyleClass().add("dynamic-table-view-footer");
+        this.getStylesheets().add(this.getClass().getResource("DynamicTableViewFooter.css").toExternalForm());
+        this.getChildren().add(this.cellsHBox);
+        // テーブルの横スクロールに合わせて表示位置をずらすため、はみ出した部分は表示しない
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(this.widthProperty());
+        clip.heightProperty().bind(this.heightProperty());
+        this.setClip(clip);
+        this.tableView.getVisibleLeafColumns().addListener(new ListChangeListener<TableColumn<RudeArray, ?>>() {
+            @Override
+            public void onChanged(Change<? extends TableColumn<RudeArray, ?>> change) {
+                footer.updateCells();
+            }
+        });
+        if (this.tableView.getItems() != null) {
+            this.tableView.getItems().addListener(this.itemsChangeListener);
+        }
+        this.tableView.itemsProperty().addListener(new ChangeListener<ObservableList<RudeArray>>() {
+            @Override
+            public void changed(ObservableValue<? extends ObservableList<RudeArray>> observable, ObservableList<RudeArray> oldValue, ObservableList<RudeArray> newValue) {
+                if (oldValue != null) {
+                    oldValue.removeListener(footer.itemsChangeListener);
+                }
+                if (newValue != null) {
+                    newValue.addListener(footer.itemsChangeListener);
+                }
+                footer.startAggregation();
+            }
+        });
+        this.updateCells();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        super.layoutChildren();
+        DynamicTableViewFooter footer = this;
+        if (this.horizontalScrollBar == null) {
+            for (Node node: this.tableView.lookupAll(".scroll-bar")) {
+                if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.HORIZONTAL) {
+                    this.horizontalScrollBar = (ScrollBar) node;
+                    this.horizontalScrollBar.valueProperty().addListener(new ChangeListener<Number>() {
+                        @Override
+                        public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+                            footer.requestLayout();
+                        }
+                    });
+                    break;
+                }
+            }
+        }
+        double scrollLeft = 0;
+        if (this.horizontalScrollBar != null && this.horizontalScrollBar.isVisible()) {
+            scrollLeft = this.horizontalScrollBar.getValue();
+        }
+        Insets insets = this.getInsets();
+        this.cellsHBox.relocate(insets.getLeft() - scrollLeft, insets.getTop());
+    }
+
+    @Override
+    protected double computeMinWidth(double height) {
+        Insets insets = this.getInsets();
+        return insets.getLeft() + insets.getRight();
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return this.computeMinWidth(height);
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        Insets insets = this.getInsets();
+        return insets.getTop() + this.cellsHBox.prefHeight(-1) + insets.getBottom();
+    }
+
+    /**
+     * 表示されているカラムに合わせてセルを作り直す。
+     */
+    private void updateCells() {
+        this.cellsHBox.getChildren().clear();
+        this.labels.clear();
+        for (TableColumn<RudeArray, ?> column: this.tableView.getVisibleLeafColumns()) {
+            Label label = new Label();
+            label.getStyleClass().add("cell");
+            label.setAlignment(Pos.CENTER_RIGHT);
+            label.setMinWidth(0);
+            label.prefWidthProperty().bind(column.widthProperty());
+            label.maxWidthProperty().bind(column.widthProperty());
+            this.cellsHBox.getChildren().add(label);
+            if (column.getId() != null) {
+                this.labels.put(column.getId(), label);
+            }
+        }
+        this.updateLabels();
+    }
+
+    private LinkedHashMap<String, Aggregate> aggregates = new LinkedHashMap<>();
+
+    /**
+     * カラムの集計の種類をセットする。
+     *
+     * @param columnName カラム名
+     * @param aggregate 集計の種類(nullの場合は集計しない)
+     */
+    public void setAggregate(String columnName, Aggregate aggregate) {
+        if (aggregate == null) {
+            this.aggregates.remove(columnName);
+        } else {
+            this.aggregates.put(columnName, aggregate);
+        }
+        this.startAggregation();
+    }
+
+    /**
+     * カラムの集計の種類を取得する。
+     *
+     * @param columnName カラム名
+     * @return 集計の種類(集計しない場合はnull)
+     */
+    public Aggregate getAggregate(String columnName) {
+        return this.aggregates.get(columnName);
+    }
+
+    /**
+     * 集計結果の値を取得する。
+     *
+     * @param columnName カラム名
+     * @return 集計結果(集計中、または集計する値がない場合はnull)
+     */
+    public Number getValue(String columnName) {
+        if (this.accumulations == null) {
+            return null;
+        }
+        Accumulation accumulation = this.accumulations.get(columnName);
+        if (accumulation == null) {
+            return null;
+        }
+        return accumulation.getResult();
+    }
+
+    /**
+     * 最後に完了した集計。カラム名をキーにして保持する。集計中の場合はnull。
+     */
+    private HashMap<String, Accumulation> accumulations = null;
+
+    /**
+     * 最後に完了した集計を、集計に加えた値の並びと同じ順序で保持する。
+     */
+    private Accumulation[] orderedAccumulations = null;
+
+    /**
+     * 行毎の集計に加えた値。行の値は直接変更されることがあるため、行を差し引く際には現在の値ではなくこの値を差し引く。
+     */
+    private IdentityHashMap<RudeArray, Object[]> contributedValues = null;
+
+    /**
+     * 集計の要求毎に増える番号。古い要求の処理は結果を反映せずに中断する。
+     */
+    private volatile int aggregationGeneration = 0;
+
+    private ListChangeListener<RudeArray> itemsChangeListener = new ListChangeListener<RudeArray>() {
+        @Override
+        public void onChanged(Change<? extends RudeArray> change) {
+            DynamicTableViewFooter footer = DynamicTableViewFooter.this;
+            if (footer.accumulations == null) {
+                footer.requestAggregation();
+                return;
+            }
+            List<RudeArray> removedRows = new ArrayList<>();
+            List<RudeArray> addedRows = new ArrayList<>();
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    continue;
+                }
+                if (change.wasUpdated()) {
+                    footer.requestAggregation();
+                    return;
+                }
+                removedRows.addAll(change.getRemoved());
+                addedRows.addAll(change.getAddedSubList());
+                if (removedRows.size() + addedRows.size() > INCREMENTAL_UPDATE_LIMIT) {
+                    footer.requestAggregation();
+                    return;
+                }
+            }
+            // 取り除かれた行は集計に加えた時点の値を差し引き、同じ行での置き換えは現在の値を加え直す
+            for (RudeArray row: removedRows) {
+                Object[] values = footer.contributedValues.remove(row);
+                if (values == null) {
+                    footer.requestAggregation();
+                    return;
+                }
+                for (int index = 0; index < values.length; index++) {
+                    if (footer.orderedAccumulations[index].removeValue(values[index]) == false) {
+                        footer.requestAggregation();
+                        return;
+                    }
+                }
+            }
+            for (RudeArray row: addedRows) {
+                if (footer.contributedValues.containsKey(row)) {
+                    footer.requestAggregation();
+                    return;
+                }
+                Object[] values = new Object[footer.orderedAccumulations.length];
+                for (int index = 0; index < values.length; index++) {
+                    values[index] = footer.orderedAccumulations[index].extract(row);
+                    footer.orderedAccumulations[index].addValue(values[index]);
+                }
+                footer.contributedValues.put(row, values);
+            }
+            footer.updateLabels();
+        }
+    };
+
+    private boolean isAggregationRequested = false;
+
+    /**
+     * 行の変更毎に集計し直さないように、FXスレッドで次に処理される時点で一度だけ集計を開始する。
+     */
+    private void requestAggregation() {
+        // 実行中の集計は変更前の行を対象にしているため中断する
+        this.aggregationGeneration++;
+        this.accumulations = null;
+        this.orderedAccumulations = null;
+        this.contributedValues = null;
+        if (this.isAggregationRequested) {
+            return;
+        }
+        this.isAggregationRequested = true;
+        DynamicTableViewFooter footer = this;
+        Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+                footer.isAggregationRequested = false;
+                footer.startAggregation();
+            }
+        });
+    }
+
+    /**
+     * すべての行の集計をForkJoinPoolで開始する。実行中の古い集計は中断される。
+     */
+    private void startAggregation() {
+        int generation = ++this.aggregationGeneration;
+        this.accumulations = null;
+        this.orderedAccumulations = null;
+        this.contributedValues = null;
+        if (this.tableView.getItems() == null || this.aggregates.size() == 0) {
+            this.accumulations = new HashMap<>();
+            this.orderedAccumulations = new Accumulation[0];
+            this.contributedValues = new IdentityHashMap<>();
+            this.updateLabels();
+            return;
+        }
+        List<RudeArray> rows = this.tableView.getItems();
+        List<Accumulation> prototypes = new ArrayList<>();
+        for (Map.Entry<String, Aggregate> entry: this.aggregates.entrySet()) {
+            TableColumn<RudeArray, ?> column = this.tableView.getColumn(entry.getKey());
+            Class<?> valueType = null;
+            if (column != null) {
+                valueType = DynamicTableView.getValueType(column);
+            }
+            prototypes.add(new Accumulation(entry.getKey(), entry.getValue(), valueType == Integer.class || valueType == Long.class));
+        }
+        // 行の値はFXスレッドで変更されるため、集計する値をFXスレッドで取り出してからForkJoinPoolに渡す
+        Object[][] values = new Object[prototypes.size()][rows.size()];
+        RudeArray[] snapshotRows = rows.toArray(new RudeArray[rows.size()]);
+        for (int rowIndex = 0; rowIndex < snapshotRows.length; rowIndex++) {
+            RudeArray row = snapshotRows[rowIndex];
+            for (int index = 0; index < values.length; index++) {
+                values[index][rowIndex] = prototypes.get(index).extract(row);
+            }
+        }
+        int rowCount = snapshotRows.length;
+        DynamicTableViewFooter footer = this;
+        ForkJoinPool.commonPool().execute(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                Accumulation[] result;
+                IdentityHashMap<RudeArray, Object[]> contributedValues = new IdentityHashMap<>(rowCount);
+                try {
+                    result = new AggregationTask(footer, values, 0, rowCount, prototypes, generation).invoke();
+                    for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                        if (rowIndex % CANCELLATION_CHECK_INTERVAL == 0 && generation != footer.aggregationGeneration) {
+                            return;
+                        }
+                        Object[] rowValues = new Object[values.length];
+                        for (int index = 0; index < values.length; index++) {
+                            rowValues[index] = values[index][rowIndex];
+                        }
+                        contributedValues.put(snapshotRows[rowIndex], rowValues);
+                    }
+                } catch (CancellationException exception) {
+                    return;
+                }
+                Platform.runLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != footer.aggregationGeneration) {
+                            return;
+                        }
+                        footer.accumulations = new HashMap<>();
+                        footer.orderedAccumulations = result;
+                        footer.contributedValues = contributedValues;
+                        for (Accumulation accumulation: result) {
+                            footer.accumulations.put(accumulation.columnName, accumulation);
+                        }
+                        footer.updateLabels();
+                    }
+                });
+            }
+        });
+    }
+
+    private DecimalFormat decimalFormat = new DecimalFormat("0.###");
+
+    /**
+     * 集計結果をセルに表示する。集計中の場合は前回の表示のままにする。
+     */
+    private void updateLabels() {
+        if (this.accumulations == null) {
+            return;
+        }
+        for (Map.Entry<String, Label> entry: this.labels.entrySet()) {
+            Label label = entry.getValue();
+            Accumulation accumulation = this.accumulations.get(entry.getKey());
+            Number value = null;
+            if (accumulation != null) {
+                value = accumulation.getResult();
+            }
+            if (value == null) {
+                label.setText(null);
+                continue;
+            }
+            if (accumulation.aggregate == Aggregate.COUNT || accumulation.aggregate == Aggregate.DISTINCT_COUNT) {
+                label.setText(String.valueOf(value));
+                continue;
+            }
+            String text = DynamicTableView.formatNumber(this.tableView.getColumn(entry.getKey()), value);
+            if (text == null) {
+                if (value instanceof Long) {
+                    text = String.valueOf(value);
+                } else {
+                    text = this.decimalFormat.format(value);
+                }
+            }
+            label.setText(text);
+        }
+    }
+
+    /**
+     * 1カラム分の集計途中の値を保持するクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class Accumulation {
+
+        private String columnName;
+
+        private Aggregate aggregate;
+
+        private boolean isIntegral;
+
+        private long count = 0;
+
+        private long longSum = 0;
+
+        private double doubleSum = 0;
+
+        private double minimum = Double.POSITIVE_INFINITY;
+
+        private double maximum = Double.NEGATIVE_INFINITY;
+
+        /**
+         * 値毎の行数。DISTINCT_COUNTの場合のみ使用する。
+         */
+        private HashMap<Object, Integer> distinctValues = null;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param columnName カラム名
+         * @param aggregate 集計の種類
+         * @param isIntegral 整数のカラムかどうか
+         */
+        public Accumulation(String columnName, Aggregate aggregate, boolean isIntegral) {
+            this.columnName = columnName;
+            this.aggregate = aggregate;
+            this.isIntegral = isIntegral;
+            if (aggregate == Aggregate.DISTINCT_COUNT) {
+                this.distinctValues = new HashMap<>();
+            }
+        }
+
+        /**
+         * 同じ設定で値を持たないインスタンスを作成する。
+         *
+         * @return 新しいインスタンス
+         */
+        public Accumulation createEmpty() {
+            return new Accumulation(this.columnName, this.aggregate, this.isIntegral);
+        }
+
+        /**
+         * 数値として集計するかどうかを判定する。
+         *
+         * @return 結果
+         */
+        private boolean isNumeric() {
+            return this.aggregate != Aggregate.COUNT && this.aggregate != Aggregate.DISTINCT_COUNT;
+        }
+
+        /**
+         * 行から集計する値を取り出す。
+         *
+         * @param row 行
+         * @return 集計する値
+         */
+        public Object extract(RudeArray row) {
+            if (this.isNumeric()) {
+                return row.getNumber(this.columnName);
+            }
+            return row.get(this.columnName);
+        }
+
+        /**
+         * 取り出した値を集計に加える。
+         *
+         * @param value 集計する値
+         */
+        public void addValue(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (this.isNumeric()) {
+                Number number = (Number) value;
+                this.count++;
+                double doubleValue = number.doubleValue();
+                if (this.isIntegral) {
+                    this.longSum += number.longValue();
+                } else {
+                    this.doubleSum += doubleValue;
+                }
+                this.minimum = Math.min(this.minimum, doubleValue);
+                this.maximum = Math.max(this.maximum, doubleValue);
+                return;
+            }
+            this.count++;
+            if (this.distinctValues != null) {
+                Integer valueCount = this.distinctValues.get(value);
+                if (valueCount == null) {
+                    valueCount = 0;
+                }
+                this.distinctValues.put(value, valueCount + 1);
+            }
+        }
+
+        /**
+         * 集計に加えた値を集計から差し引く。
+         *
+         * @param value 集計に加えた値
+         * @return 差し引けた場合はtrue、最小値や最大値を集計し直す必要がある場合はfalse
+         */
+        public boolean removeValue(Object value) {
+            if (value == null) {
+                return true;
+            }
+            if (this.isNumeric()) {
+                Number number = (Number) value;
+                double doubleValue = number.doubleValue();
+                if (this.aggregate == Aggregate.MINIMUM && doubleValue <= this.minimum) {
+                    return false;
+                }
+                if (this.aggregate == Aggregate.MAXIMUM && doubleValue >= this.maximum) {
+                    return false;
+                }
+                this.count--;
+                if (this.isIntegral) {
+                    this.longSum -= number.longValue();
+                } else {
+                    this.doubleSum -= doubleValue;
+                }
+                return true;
+            }
+            this.count--;
+            if (this.distinctValues != null) {
+                Integer valueCount = this.distinctValues.get(value);
+                if (valueCount == null) {
+                    return false;
+                }
+                if (valueCount == 1) {
+                    this.distinctValues.remove(value);
+                } else {
+                    this.distinctValues.put(value, valueCount - 1);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 別の範囲の集計を加える。
+         *
+         * @param accumulation 別の範囲の集計
+         */
+        public void merge(Accumulation accumulation) {
+            this.count += accumulation.count;
+            this.longSum += accumulation.longSum;
+            this.doubleSum += accumulation.doubleSum;
+            this.minimum = Math.min(this.minimum, accumulation.minimum);
+            this.maximum = Math.max(this.maximum, accumulation.maximum);
+            if (this.distinctValues != null) {
+                for (Map.Entry<Object, Integer> entry: accumulation.distinctValues.entrySet()) {
+                    Integer valueCount = this.distinctValues.get(entry.getKey());
+                    if (valueCount == null) {
+                        valueCount = 0;
+                    }
+                    this.distinctValues.put(entry.getKey(), valueCount + entry.getValue());
+                }
+            }
+        }
+
+        /**
+         * 集計結果を取得する。
+         *
+         * @return 集計結果(集計する値がない場合はnull)
+         */
+        public Number getResult() {
+            switch (this.aggregate) {
+            case COUNT:
+                return this.count;
+            case DISTINCT_COUNT:
+                return (long) this.distinctValues.size();
+            default:
+                break;
+            }
+            if (this.count == 0) {
+                return null;
+            }
+            switch (this.aggregate) {
+            case SUM:
+                if (this.isIntegral) {
+                    return this.longSum;
+                }
+                return this.doubleSum;
+            case AVERAGE:
+                if (this.isIntegral) {
+                    return (double) this.longSum / this.count;
+                }
+                return this.doubleSum / this.count;
+            case MINIMUM:
+                if (this.isIntegral) {
+                    return (long) this.minimum;
+                }
+                return this.minimum;
+            case MAXIMUM:
+                if (this.isIntegral) {
+                    return (long) this.maximum;
+                }
+                return this.maximum;
+            default:
+                return null;
+            }
+        }
+
+    }
+
+    /**
+     * 行を分割して並列に集計するタスク。
+     *
+     * @author hiro
+     *
+     */
+    private static class AggregationTask extends RecursiveTask<Accumulation[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private DynamicTableViewFooter footer;
+
+        private Object[][] values;
+
+        private int from;
+
+        private int to;
+
+        private List<Accumulation> prototypes;
+
+        private int generation;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param footer 集計結果を表示するフッター
+         * @param values FXスレッドで取り出したカラム毎の値
+         * @param from 集計する範囲の開始位置
+         * @param to 集計する範囲の終了位置(この位置は含まない)
+         * @param prototypes 集計するカラムの設定
+         * @param generation 要求の番号
+         */
+        public AggregationTask(DynamicTableViewFooter footer, Object[][] values, int from, int to, List<Accumulation> prototypes, int generation) {
+            this.footer = footer;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.prototypes = prototypes;
+            this.generation = generation;
+        }
+
+        @Override
+        protected Accumulation[] compute() {
+            if (this.generation != this.footer.aggregationGeneration) {
+                throw new CancellationException();
+            }
+            if (this.to - this.from <= SEQUENTIAL_AGGREGATION_THRESHOLD) {
+                Accumulation[] accumulations = new Accumulation[this.prototypes.size()];
+                for (int index = 0; index < accumulations.length; index++) {
+                    accumulations[index] = this.prototypes.get(index).createEmpty();
+                }
+                for (int index = 0; index < accumulations.length; index++) {
+                    Object[] columnValues = this.values[index];
+                    for (int rowIndex = this.from; rowIndex < this.to; rowIndex++) {
+                        accumulations[index].addValue(columnValues[rowIndex]);
+                    }
+                }
+                return accumulations;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            AggregationTask left = new AggregationTask(this.footer, this.values, this.from, middle, this.prototypes, this.generation);
+            AggregationTask right = new AggregationTask(this.footer, this.values, middle, this.to, this.prototypes, this.generation);
+            left.fork();
+            Accumulation[] accumulations = right.compute();
+            Accumulation[] leftAccumulations = left.join();
+            for (int index = 0; index < accumulations.length; index++) {
+                accumulations[index].merge(leftAccumulations[index]);
+            }
+            return accumulations;
+        }
+
+    }
+}
@@ -1,14 +1,30 @@
 package com.hirohiro716.javafx.control.table;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Predicate;
 
 import com.hirohiro716.javafx.CSSHelper;
 import com.hirohiro716.javafx.LayoutHelper;
-import com.hirohiro716.javafx.PaneNodeFinder;
 import com.hirohiro716.javafx.control.ScrollToNodePane;
 
 import javafx.application.Platform;
@@ -18,12 +34,18 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.css.PseudoClass;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
+import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
+import javafx.geometry.VPos;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -40,12 +62,16 @@ import javafx.scene.control.Separator;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ScrollPane.ScrollBarPolicy;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import javafx.scene.shape.Rectangle;
 
 /**
  * ColumnとRowの概念があり 様々なコントロールを行として並べて表示し 複数のオブジェクトを編集するクラス。<br>
@@ -82,17 +108,32 @@ public class EditableTable<S> extends AnchorPane {
     /**
      * Header用のHBox。
      */
-    private HBox headerHBox = new HBox();
+    private HBox headerHBox = new HBox() {
+        @Override
+        protected void layoutChildren() {
+            super.layoutChildren();
+            if (EditableTable.this.frozenColumnCount > 0) {
+                EditableTable.this.layoutFrozenHeader();
+            }
+        }
+    };
 
     /**
      * Rowを追加していくためのVBox。
      */
-    private VBox rowsVBox = new VBox();
+    private VBox rowsVBox = new VBox() {
+        @Override
+        protected void layoutChildren() {
+            super.layoutChildren();
+            // 行の高さが計測された後でスクロール位置を戻す
+            EditableTable.this.restoreScrollAnchor();
+        }
+    };
     
     /**
-     * itemとRowのHBoxを関連付ける連想配列。
+     * itemと行を関連付ける連想配列。itemは同一性で比較する。
      */
-    private HashMap<S, HBox> rowHBoxes = new HashMap<>();
+    private IdentityHashMap<S, Row> rows = new IdentityHashMap<>();
     
     /**
      * 選択状態の行HBoxを表す擬似CSSクラス。
@@ -104,6 +145,16 @@ public class EditableTable<S> extends AnchorPane {
         }
     };
 
+    /**
+     * 複数選択に含まれている行HBoxを表す擬似CSSクラス。
+     */
+    private PseudoClass multiSelectedPseudoClass = new PseudoClass() {
+        @Override
+        public String getPseudoClassName() {
+            return "multi-selected";
+        }
+    };
+
     private String selectedRowColor = null;
     
     /**
@@ -156,21 +207,39 @@ public class EditableTable<S> extends AnchorPane {
         this.selectedItemProperty.addListener(new ChangeListener<S>() {
             @Override
             public void changed(ObservableValue<? extends S> observable, S oldValue, S newValue) {
-                HBox oldHBox = table.rowHBoxes.get(oldValue);
-                if (oldHBox != null) {
+                Row oldRow = table.rows.get(oldValue);
+                Row newRow = table.rows.get(newValue);
+                // プレースホルダー表示の行は選択された行だけコントロールを生成する
+                if (table.isLazyControlCreation) {
+                    if (oldRow != null && oldRow.isPlaceholderRow == false) {
+                        table.createRowControls(oldRow);
+                    }
+                    if (newRow != null && newRow.isPlaceholderRow) {
+                        table.createRowControls(newRow);
+                    }
+                }
+                if (oldRow != null) {
+                    HBox oldHBox = oldRow.hBox;
                     oldHBox.pseudoClassStateChanged(EditableTable.this.selectedPseudoClass, false);
                     oldHBox.setStyle(CSSHelper.removeStyle(oldHBox.getStyle(), "-fx-background-color"));
                     if (table.isDisabled() == false) {
-                        table.disableRowControlFocusTraversable(oldValue);
+                        table.disableRowControlFocusTraversable(oldRow);
                     }
                 }
-                HBox newHBox = table.rowHBoxes.get(newValue);
-                if (newHBox != null) {
+                if (newRow != null) {
+                    HBox newHBox = newRow.hBox;
                     newHBox.pseudoClassStateChanged(EditableTable.this.selectedPseudoClass, true);
                     if (table.selectedRowColor != null && table.selectedRowColor.length() > 0) {
                         newHBox.setStyle(CSSHelper.updateStyleValue(newHBox.getStyle(), "-fx-background-color", table.selectedRowColor));
                     }
-                    table.rollbackRowControlFocusTraversable(newValue);
+                    table.rollbackRowControlFocusTraversable(newRow);
+                }
+                if (table.isSelectionExtending == false) {
+                    table.selectOnly(newValue);
+                }
+                if (oldValue != null && oldValue == table.viewPendingItem) {
+                    table.viewPendingItem = null;
+                    table.updateViewItem(oldValue);
                 }
             }
         });
@@ -179,7 +248,7 @@ public class EditableTable<S> extends AnchorPane {
             @Override
             public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
                 if (newValue == false) {
-                    table.rollbackRowControlFocusTraversable(table.getSelectedItem());
+                    table.rollbackRowControlFocusTraversable(table.rows.get(table.getSelectedItem()));
                 }
             }
         });
@@ -194,27 +263,60 @@ public class EditableTable<S> extends AnchorPane {
         this.rowsScrollPane.vvalueProperty().addListener(new ChangeListener<Number>() {
             @Override
             public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+                // 読み込み済みのitemが残り少なければDataSourceから次のページを読み込む
+                if (table.dataSource != null && newValue.doubleValue() >= 0.9) {
+                    if (table.isVirtualized || table.visibleRowsCount + table.loadRowsCountProperty.get() >= table.items.size()) {
+                        table.fetchNextPage();
+                    }
+                }
+                if (table.isVirtualized) {
+                    table.updateVirtualRows();
+                    return;
+                }
                 if (newValue.doubleValue() == 1) {
                     table.loadMoreRows();
                 }
             }
         });
+        // 固定カラムは横スクロールに合わせて位置を戻す
+        this.rowsScrollPane.hvalueProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+                if (table.frozenColumnCount > 0) {
+                    table.updateFrozenColumns();
+                }
+            }
+        });
+        // 仮想化モードではViewportのサイズに合わせて行を割り当て直す
+        this.rowsScrollPane.viewportBoundsProperty().addListener(new ChangeListener<Bounds>() {
+            @Override
+            public void changed(ObservableValue<? extends Bounds> observable, Bounds oldValue, Bounds newValue) {
+                if (table.isVirtualized && (oldValue == null || oldValue.getHeight() != newValue.getHeight())) {
+                    table.updateVirtualRows();
+                }
+                // 高くなったViewportが読み込み済みの行で埋まらない場合はスクロールできないため次のページを読み込む
+                if (oldValue == null || oldValue.getHeight() < newValue.getHeight()) {
+                    table.fetchNextPageIfViewportNotFilled();
+                }
+            }
+        });
+        this.virtualTopSpacer.setMinHeight(Region.USE_PREF_SIZE);
+        this.virtualBottomSpacer.setMinHeight(Region.USE_PREF_SIZE);
         // キーイベントを設定
         this.setOnKeyPressed(new EventHandler<KeyEvent>() {
             @Override
             public void handle(KeyEvent event) {
                 if (event.isControlDown()) {
                     int index;
+                    Control focusedControl;
                     switch (event.getCode()) {
                     case UP:
-                        index = table.getItems().indexOf(table.getSelectedItem());
+                        index = table.getRowIndex(table.getSelectedItem());
                         if (index > 0) {
                             S selectItem = table.getItems().get(index - 1);
-                            if (table.getFocusedControl() == null) {
-                                table.setSelectedItem(selectItem);
-                            } else {
-                                table.getControl(selectItem, table.getFocusedControl().getId()).requestFocus();
-                            }
+                            focusedControl = table.getFocusedControl();
+                            table.showRow(index - 1);
+                            table.moveSelection(selectItem, focusedControl, event.isShiftDown());
                         }
                         if (index == 0 && table.cantMoveUpAtFirstRowCallback != null) {
                             table.cantMoveUpAtFirstRowCallback.call(table.getSelectedItem());
@@ -222,20 +324,40 @@ public class EditableTable<S> extends AnchorPane {
                         event.consume();
                         break;
                     case DOWN:
-                        index = table.getItems().indexOf(table.getSelectedItem());
+                        index = table.getRowIndex(table.getSelectedItem());
                         if (index != -1 && index < table.getItems().size() - 1) {
                             S selectItem = table.getItems().get(index + 1);
-                            if (table.getFocusedControl() == null) {
-                                table.setSelectedItem(selectItem);
-                            } else {
-                                table.getControl(selectItem, table.getFocusedControl().getId()).requestFocus();
-                            }
+                            focusedControl = table.getFocusedControl();
+                            table.showRow(index + 1);
+                            table.moveSelection(selectItem, focusedControl, event.isShiftDown());
                         }
                         if (index == table.getItems().size() - 1 && table.cantMoveDownAtLastRowCallback != null) {
                             table.cantMoveDownAtLastRowCallback.call(table.getSelectedItem());
                         }
                         event.consume();
                         break;
+                    case C:
+                        if (table.getSelectedItems().size() > 0) {
+                            table.copyToClipboard();
+                            event.consume();
+                        }
+                        break;
+                    case V:
+                        table.pasteFromClipboard();
+                        event.consume();
+                        break;
+                    case Z:
+                        if (event.isShiftDown()) {
+                            table.redo();
+                        } else {
+                            table.undo();
+                        }
+                        event.consume();
+                        break;
+                    case Y:
+                        table.redo();
+                        event.consume();
+                        break;
                     default:
                         break;
                     }
@@ -294,6 +416,116 @@ public class EditableTable<S> extends AnchorPane {
     public List<S> getItems() {
         return Collections.unmodifiableList(this.items);
     }
+    
+    /**
+     * itemを同一性で比較するSetを作成する。等しいitemが複数ある場合や、編集でhashCodeが変わる場合でも行を区別できるようにする。
+     *
+     * @param <T> itemの型
+     * @param items 初期の要素
+     * @return Set
+     */
+    private static <T> Set<T> createIdentitySet(Collection<T> items) {
+        Set<T> set = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+        set.addAll(items);
+        return set;
+    }
+    
+    /**
+     * リスト内のitemの位置を同一性で検索する。
+     *
+     * @param list リスト
+     * @param item item
+     * @return 位置(存在しない場合は-1)
+     */
+    private static int indexOfIdentity(List<?> list, Object item) {
+        for (int index = 0; index < list.size(); index++) {
+            if (list.get(index) == item) {
+                return index;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * itemと行インデックスを関連付ける連想配列。indexedItemsCount未満のインデックスのみ有効。<br>
+     * 等しいitemが複数ある場合や編集でhashCodeが変わる場合でも行を区別できるように、同一性で比較する。
+     */
+    private IdentityHashMap<S, Integer> itemIndexes = new IdentityHashMap<>();
+    
+    /**
+     * 先頭から何件のitemのインデックスが採番済みかを表す件数。
+     */
+    private int indexedItemsCount = 0;
+    
+    /**
+     * itemの行インデックスを取得する。<br>
+     * 挿入や削除で無効になったインデックスは次に参照された際にまとめて採番し直す。
+     *
+     * @param item 対象のitem
+     * @return 行インデックス(存在しない場合は-1)
+     */
+    public int getRowIndex(S item) {
+        if (item == null) {
+            return -1;
+        }
+        Integer index = this.itemIndexes.get(item);
+        if (index != null && index < this.indexedItemsCount && this.items.get(index) == item) {
+            return index;
+        }
+        for (int renumberIndex = this.indexedItemsCount; renumberIndex < this.items.size(); renumberIndex++) {
+            S renumberItem = this.items.get(renumberIndex);
+            Integer currentIndex = this.itemIndexes.get(renumberItem);
+            if (currentIndex == null || currentIndex >= renumberIndex || this.items.get(currentIndex) != renumberItem) {
+                this.itemIndexes.put(renumberItem, renumberIndex);
+            }
+            this.indexedItemsCount = renumberIndex + 1;
+            if (renumberItem == item) {
+                return renumberIndex;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 指定位置にitemを挿入してそれ以降のインデックスを無効にする。
+     *
+     * @param index 挿入位置
+     * @param item 対象のitem
+     */
+    private void insertItem(int index, S item) {
+        this.captureScrollAnchor(index);
+        this.items.add(index, item);
+        this.indexedItemsCount = Math.min(this.indexedItemsCount, index);
+        this.isRowOffsetIndexValid = false;
+    }
+    
+    /**
+     * 指定位置に複数のitemを挿入してそれ以降のインデックスを無効にする。
+     *
+     * @param index 挿入位置
+     * @param items 対象のitem
+     */
+    private void insertItems(int index, List<S> items) {
+        this.captureScrollAnchor(index);
+        this.items.addAll(index, items);
+        this.indexedItemsCount = Math.min(this.indexedItemsCount, index);
+        this.isRowOffsetIndexValid = false;
+    }
+    
+    /**
+     * 指定位置のitemを削除してそれ以降のインデックスを無効にする。
+     *
+     * @param index 削除位置
+     * @return 削除したitem
+     */
+    private S removeItem(int index) {
+        this.captureScrollAnchor(index);
+        S item = this.items.remove(index);
+        this.itemIndexes.remove(item);
+        this.indexedItemsCount = Math.min(this.indexedItemsCount, index);
+        this.isRowOffsetIndexValid = false;
+        return item;
+    }
 
     /**
      * Rowを追加する。
@@ -301,7 +533,17 @@ public class EditableTable<S> extends AnchorPane {
      * @param item
      */
     public void addRow(S item) {
+        if (this.sourceItems != null) {
+            this.addRow(item, this.items.size());
+            return;
+        }
+        if (this.isRecordingRowOperation) {
+            this.pushUndoEntry(new RowsAddedUndoEntry(Collections.singletonList(item), this.items.size()));
+        }
         this.items.add(item);
+        if (this.isVirtualized) {
+            this.updateVirtualRows();
+        }
     }
     
     /**
@@ -311,15 +553,53 @@ public class EditableTable<S> extends AnchorPane {
      * @param index
      */
     public void addRow(S item, int index) {
+        if (this.isRecordingRowOperation) {
+            this.pushUndoEntry(new RowsAddedUndoEntry(Collections.singletonList(item), index));
+        }
+        if (this.sourceItems != null) {
+            // 並べ替えと絞り込みが有効な場合は元の並びにも挿入してからビューでの位置を決める
+            int sourceIndex = this.sourceItems.size();
+            if (index < this.items.size()) {
+                sourceIndex = indexOfIdentity(this.sourceItems, this.items.get(index));
+            }
+            this.sourceItems.add(sourceIndex, item);
+            if (this.isAcceptedByView(item) == false) {
+                return;
+            }
+            if (this.sortColumnId != null) {
+                index = this.findViewPosition(item);
+            }
+            this.insertViewRow(item, index);
+            return;
+        }
+        this.insertViewRow(item, index);
+    }
+    
+    /**
+     * ビューの指定位置にRowを追加する。
+     *
+     * @param item
+     * @param index
+     */
+    private void insertViewRow(S item, int index) {
         if (this.items.size() <= index) {
-            this.addRow(item);
+            this.items.add(item);
+            if (this.isVirtualized) {
+                this.updateVirtualRows();
+            }
+            return;
+        }
+        this.insertItem(index, item);
+        if (this.isVirtualized) {
+            this.updateVirtualRows();
+            return;
         }
         if (this.visibleRowsCount > index) {
             this.initializeRow(item);
-            HBox hBox = this.rowHBoxes.get(item);
+            HBox hBox = this.rows.get(item).hBox;
             this.rowsVBox.getChildren().remove(hBox);
             this.rowsVBox.getChildren().add(index, hBox);
-            this.items.add(index, item);
+            this.visibleRowsCount++;
         }
     }
     
@@ -329,9 +609,7 @@ public class EditableTable<S> extends AnchorPane {
      * @param items
      */
     public void addRows(S[] items) {
-        for (S item: items) {
-            this.items.add(item);
-        }
+        this.addRows(Arrays.asList(items));
     }
     
     /**
@@ -340,9 +618,70 @@ public class EditableTable<S> extends AnchorPane {
      * @param items
      */
     public void addRows(List<S> items) {
+        if (this.isRecordingRowOperation) {
+            this.pushUndoEntry(new RowsAddedUndoEntry(new ArrayList<>(items), this.items.size()));
+        }
+        if (this.sourceItems != null) {
+            this.sourceItems.addAll(items);
+            this.applyView();
+            return;
+        }
         for (S item: items) {
             this.items.add(item);
         }
+        if (this.isVirtualized) {
+            this.updateVirtualRows();
+        }
+    }
+    
+    /**
+     * 指定位置に複数のRowをまとめて追加する。<br>
+     * 表示済みの範囲に挿入される行は画面外で生成してから一度にVBoxへ配置するため、レイアウトの再計算は一回で済む。
+     *
+     * @param items
+     * @param index
+     */
+    public void addRows(List<S> items, int index) {
+        if (items.size() == 0) {
+            return;
+        }
+        int insertIndex = Math.max(0, Math.min(index, this.items.size()));
+        if (this.isRecordingRowOperation) {
+            this.pushUndoEntry(new RowsAddedUndoEntry(new ArrayList<>(items), insertIndex));
+        }
+        if (this.sourceItems != null) {
+            int sourceIndex = this.sourceItems.size();
+            if (insertIndex < this.items.size()) {
+                sourceIndex = indexOfIdentity(this.sourceItems, this.items.get(insertIndex));
+            }
+            this.sourceItems.addAll(sourceIndex, items);
+            this.applyView();
+            return;
+        }
+        this.insertItems(insertIndex, items);
+        if (this.isVirtualized) {
+            this.updateVirtualRows();
+            return;
+        }
+        if (this.visibleRowsCount > insertIndex) {
+            List<HBox> hBoxes = new ArrayList<>();
+            for (S item: items) {
+                Row row = this.createRow(item);
+                hBoxes.add(row.hBox);
+            }
+            this.rowsVBox.getChildren().addAll(insertIndex, hBoxes);
+            this.visibleRowsCount += items.size();
+        }
+    }
+    
+    /**
+     * 指定位置に複数のRowをまとめて追加する。
+     *
+     * @param items
+     * @param index
+     */
+    public void addRows(S[] items, int index) {
+        this.addRows(Arrays.asList(items), index);
     }
     
     /**
@@ -352,7 +691,7 @@ public class EditableTable<S> extends AnchorPane {
      * @return 結果
      */
     public boolean isFirstRow(S item) {
-        return this.items.indexOf(item) == 0;
+        return this.getRowIndex(item) == 0;
     }
     
     /**
@@ -362,7 +701,7 @@ public class EditableTable<S> extends AnchorPane {
      * @return 結果
      */
     public boolean isLastRow(S item) {
-        return this.items.indexOf(item) == this.items.size() - 1;
+        return this.getRowIndex(item) == this.items.size() - 1;
     }
 
     /**
@@ -371,742 +710,3571 @@ public class EditableTable<S> extends AnchorPane {
      * @param item
      */
     public void removeRow(S item) {
-        this.rowsVBox.getChildren().remove(this.rowHBoxes.get(item));
-        this.rowHBoxes.remove(item);
-        this.items.remove(item);
-        this.visibleRowsCount--;
-        this.loadMoreRows();
-        this.requestFocus();
+        if (this.isRecordingRowOperation) {
+            this.pushUndoEntry(new RowsRemovedUndoEntry(Collections.singletonList(item), new int[] {this.getRowIndex(item)}));
+        }
+        if (this.sourceItems != null) {
+            int sourceIndex = indexOfIdentity(this.sourceItems, item);
+            if (sourceIndex > -1) {
+                this.sourceItems.remove(sourceIndex);
+            }
+        }
+        this.dirtyColumnIds.remove(item);
+        this.selectedItems.remove(item);
+        this.removeMeasuredRowHeight(item);
+        this.removeViewRow(item);
     }
     
     /**
-     * Rowをすべて削除する。
+     * 複数のRowをまとめて削除する。VBoxの子要素の入れ替えは一度だけ行われる。
+     *
+     * @param items
      */
-    public void clearRows() {
-        this.rowsVBox.getChildren().clear();
-        this.rowHBoxes.clear();
-        this.items.clear();
-        this.visibleRowsCount = 0;
+    public void removeRows(Collection<S> items) {
+        Set<S> removeItems = createIdentitySet(items);
+        if (removeItems.size() == 0) {
+            return;
+        }
+        if (this.sourceItems != null) {
+            this.sourceItems.removeAll(removeItems);
+        }
+        int firstIndex = -1;
+        List<S> newItems = new ArrayList<>();
+        List<S> removedItems = new ArrayList<>();
+        List<Integer> removedIndexes = new ArrayList<>();
+        for (int index = 0; index < this.items.size(); index++) {
+            S item = this.items.get(index);
+            if (removeItems.contains(item)) {
+                if (firstIndex == -1) {
+                    firstIndex = index;
+                }
+                removedItems.add(item);
+                removedIndexes.add(index);
+                this.dirtyColumnIds.remove(item);
+                this.removeMeasuredRowHeight(item);
+            } else {
+                newItems.add(item);
+            }
+        }
+        if (this.isRecordingRowOperation) {
+            // ビューに表示されていなかったitemは取り消し時に末尾へ戻す
+            if (this.sourceItems != null && removedItems.size() < removeItems.size()) {
+                Set<S> hiddenItems = createIdentitySet(removeItems);
+                hiddenItems.removeAll(removedItems);
+                for (S item: hiddenItems) {
+                    removedItems.add(item);
+                    removedIndexes.add(-1);
+                }
+            }
+            int[] indexes = new int[removedIndexes.size()];
+            for (int index = 0; index < indexes.length; index++) {
+                indexes[index] = removedIndexes.get(index);
+            }
+            this.pushUndoEntry(new RowsRemovedUndoEntry(removedItems, indexes));
+        }
+        this.selectedItems.removeAll(removeItems);
+        if (firstIndex == -1) {
+            return;
+        }
+        this.captureScrollAnchor(firstIndex);
+        this.replaceItems(newItems, firstIndex);
         this.requestFocus();
     }
     
     /**
-     * Rowの値をitemから再読み込みする。
+     * 複数のRowをまとめて指定位置に移動する。既存の行は作り直さずに並び順だけ変更される。
      *
-     * @param item
+     * @param items 移動するitem
+     * @param index 移動先の位置(移動前の並びで、この位置のRowの直前に移動する)
      */
-    @SuppressWarnings("unchecked")
-    public void updateRow(S item) {
-        if (this.rowHBoxes.get(item) == null) {
+    public void moveRows(Collection<S> items, int index) {
+        Set<S> moveItemSet = createIdentitySet(items);
+        List<S> moveItems = new ArrayList<>();
+        List<S> newItems = new ArrayList<>();
+        List<Integer> moveIndexes = new ArrayList<>();
+        int targetIndex = Math.max(0, Math.min(index, this.items.size()));
+        for (int itemIndex = 0; itemIndex < this.items.size(); itemIndex++) {
+            S item = this.items.get(itemIndex);
+            if (moveItemSet.contains(item)) {
+                moveItems.add(item);
+                moveIndexes.add(itemIndex);
+                if (itemIndex < index) {
+                    targetIndex--;
+                }
+            } else {
+                newItems.add(item);
+            }
+        }
+        if (moveItems.size() == 0) {
             return;
         }
-        // HBoxを取得
-        HBox itemHBox = this.rowHBoxes.get(item);
-        PaneNodeFinder paneNodeFinder = new PaneNodeFinder(itemHBox);
-        // 各カラムの設定に基づい値を再表示
-        try {
-            for (String id: this.columnIds) {
-                ColumnType columnType = this.columnTypes.get(id);
-                switch (columnType) {
-                case LABEL:
-                    ReadOnlyControlFactory<S, Label> labelFactory = (ReadOnlyControlFactory<S, Label>) this.controlFactories.get(id);
-                    Label label = paneNodeFinder.findLabel("#" + id);
-                    labelFactory.setValueForControl(item, label);
-                    break;
-                case TEXTFIELD:
-                    ControlFactory<S, TextField> textFieldFactory = (ControlFactory<S, TextField>) this.controlFactories.get(id);
-                    TextField textField = paneNodeFinder.findTextField("#" + id);
-                    textFieldFactory.setValueForControl(item, textField);
-                    break;
-                case TEXTAREA:
-                    ControlFactory<S, TextArea> textAreaFactory = (ControlFactory<S, TextArea>) this.controlFactories.get(id);
-                    TextArea textArea = paneNodeFinder.findTextArea("#" + id);
-                    textAreaFactory.setValueForControl(item, textArea);
-                    break;
-                case PASSWORD:
-                    ControlFactory<S, PasswordField> passwordFieldFactory = (ControlFactory<S, PasswordField>) this.controlFactories.get(id);
-                    PasswordField passwordField = paneNodeFinder.findPasswordField("#" + id);
-                    passwordFieldFactory.setValueForControl(item, passwordField);
-                    break;
-                case COMBOBOX:
-                    ControlFactory<S, ComboBox<?>> comboBoxFactory = (ControlFactory<S, ComboBox<?>>) this.controlFactories.get(id);
-                    ComboBox<?> comboBox = paneNodeFinder.findComboBox("#" + id);
-                    comboBoxFactory.setValueForControl(item, comboBox);
-                    break;
-                case DATEPICKER:
-                    ControlFactory<S, DatePicker> datePickerFactory = (ControlFactory<S, DatePicker>) this.controlFactories.get(id);
-                    DatePicker datePicker = paneNodeFinder.findDatePicker("#" + id);
-                    datePickerFactory.setValueForControl(item, datePicker);
-                    break;
-                case CHECKBOX:
-                    ControlFactory<S, CheckBox> checkBoxFactory = (ControlFactory<S, CheckBox>) this.controlFactories.get(id);
-                    CheckBox checkBox = paneNodeFinder.findCheckBox("#" + id);
-                    checkBoxFactory.setValueForControl(item, checkBox);
-                    break;
-                case HYPERLINK:
-                    ReadOnlyControlFactory<S, Hyperlink> hyperlinkFactory = (ReadOnlyControlFactory<S, Hyperlink>) this.controlFactories.get(id);
-                    Hyperlink hyperlink = paneNodeFinder.findHyperlink("#" + id);
-                    hyperlinkFactory.setValueForControl(item, hyperlink);
-                    break;
-                case BUTTON:
-                    break;
-                }
+        if (this.isRecordingRowOperation) {
+            this.pushUndoEntry(new RowsMovedUndoEntry(moveItems, moveIndexes, index));
+        }
+        if (this.sourceItems != null) {
+            // 元の並びでも移動先の直後になるitemの前に移動する
+            S nextItem = null;
+            if (targetIndex < newItems.size()) {
+                nextItem = newItems.get(targetIndex);
             }
-        } catch (Exception exception) {
-            exception.printStackTrace();
+            this.sourceItems.removeAll(moveItemSet);
+            int sourceIndex = this.sourceItems.size();
+            if (nextItem != null) {
+                sourceIndex = indexOfIdentity(this.sourceItems, nextItem);
+            }
+            this.sourceItems.addAll(sourceIndex, moveItems);
+        }
+        newItems.addAll(targetIndex, moveItems);
+        Control focusedControl = this.getFocusedControl();
+        this.replaceItems(newItems, 0);
+        if (focusedControl != null && focusedControl.getScene() != null) {
+            focusedControl.requestFocus();
         }
     }
     
-    private SimpleDoubleProperty rowTopBottomPaddingProperty = new SimpleDoubleProperty(8);
-    
     /**
-     * 行の上下余白を取得する。
+     * ビューからRowを削除する。
      *
-     * @return TOP & Bottom padding
+     * @param item
      */
-    public double getRowTopBottomPadding() {
-        return this.rowTopBottomPaddingProperty.get();
+    private void removeViewRow(S item) {
+        int index = this.getRowIndex(item);
+        if (this.isVirtualized) {
+            if (index > -1) {
+                this.removeItem(index);
+            }
+            this.updateVirtualRows();
+            this.requestFocus();
+            return;
+        }
+        Row row = this.rows.get(item);
+        if (row != null) {
+            this.rowsVBox.getChildren().remove(row.hBox);
+            this.rows.remove(item);
+            this.visibleRowsCount--;
+        }
+        if (index > -1) {
+            this.removeItem(index);
+        }
+        this.loadMoreRows();
+        this.requestFocus();
     }
     
     /**
-     * 行の上下余白をセットする。
+     * 取り消し可能な操作として、指定位置に複数のRowをまとめて追加する。画面の操作で行を追加する場合に使用する。
      *
-     * @param rowTopBottomPadding
+     * @param items
+     * @param index
      */
-    public void setRowTopBottomPadding(double rowTopBottomPadding) {
-        this.rowTopBottomPaddingProperty.set(rowTopBottomPadding);
-        // 既存のHBoxにも
-        this.headerHBox.setPadding(new Insets(rowTopBottomPadding + 2, 0, rowTopBottomPadding, 0));
-        for (S item: this.items) {
-            HBox hBox = this.rowHBoxes.get(item);
-            if (hBox != null) {
-                hBox.setPadding(new Insets(rowTopBottomPadding, 0, rowTopBottomPadding, 0));
-            }
+    public void addRowsUndoable(List<S> items, int index) {
+        this.isRecordingRowOperation = true;
+        try {
+            this.addRows(items, index);
+        } finally {
+            this.isRecordingRowOperation = false;
         }
     }
     
     /**
-     * Rowを初期化する。
+     * 取り消し可能な操作として、複数のRowをまとめて削除する。画面の操作で行を削除する場合に使用する。
      *
-     * @param item
+     * @param items
      */
-    @SuppressWarnings("unchecked")
-    public void initializeRow(S item) {
-        if (item == null) {
-            return;
-        }
-        HBox itemHBox = this.rowHBoxes.get(item);
-        if (itemHBox == null) {
-            itemHBox = new HBox();
-            itemHBox.setUserData(item);
-            itemHBox.setAlignment(Pos.CENTER);
-            itemHBox.setPadding(new Insets(this.rowTopBottomPaddingProperty.get(), 0, this.rowTopBottomPaddingProperty.get(), 0));
-            itemHBox.getStyleClass().add("row");
-            if (this.selectedItemProperty.get() == item) {
-                itemHBox.pseudoClassStateChanged(EditableTable.this.selectedPseudoClass, true);
-            }
-            itemHBox.setOnMouseClicked(new FocusingItemMouseEventHandler(item));
-            this.rowsVBox.getChildren().add(itemHBox);
-            this.rowHBoxes.put(item, itemHBox);
-        } else {
-            itemHBox.getChildren().clear();
+    public void removeRowsUndoable(Collection<S> items) {
+        this.isRecordingRowOperation = true;
+        try {
+            this.removeRows(items);
+        } finally {
+            this.isRecordingRowOperation = false;
         }
-        // 各カラムの設定に基づいたセルを生成
-        for (String id: this.columnIds) {
-            Separator columnSeparator = new Separator(Orientation.VERTICAL);
-            columnSeparator.setOpacity(0);
-            itemHBox.getChildren().add(columnSeparator);
-            ColumnType columnType = this.columnTypes.get(id);
-            Label headerLabel = this.columnHeaderLabels.get(id);
-            Control addedControl = null;
-            switch (columnType) {
-            case LABEL:
-                ReadOnlyControlFactory<S, Label> labelFactory = (ReadOnlyControlFactory<S, Label>) this.controlFactories.get(id);
-                Label label = labelFactory.newInstance(item);
-                labelFactory.setValueForControl(item, label);
-                label.prefWidthProperty().bind(headerLabel.widthProperty());
-                itemHBox.getChildren().add(label);
-                addedControl = label;
-                break;
-            case TEXTFIELD:
-                ControlFactory<S, TextField> textFieldFactory = (ControlFactory<S, TextField>) this.controlFactories.get(id);
-                TextField textField = textFieldFactory.newInstance(item);
-                textFieldFactory.setValueForControl(item, textField);
-                textField.textProperty().addListener(new ChangeListener<String>() {
-                    @Override
-                    public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
-                        textFieldFactory.setValueForItem(item, textField);
-                    }
-                });
-                textField.prefWidthProperty().bind(headerLabel.widthProperty());
-                itemHBox.getChildren().add(textField);
-                addedControl = textField;
-                break;
-            case TEXTAREA:
-                ControlFactory<S, TextArea> textAreaFactory = (ControlFactory<S, TextArea>) this.controlFactories.get(id);
-                TextArea textArea = textAreaFactory.newInstance(item);
-                textAreaFactory.setValueForControl(item, textArea);
-                textArea.textProperty().addListener(new ChangeListener<String>() {
-                    @Override
-                    public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
-                        textAreaFactory.setValueForItem(item, textArea);
-                    }
-                });
-                textArea.prefWidthProperty().bind(headerLabel.widthProperty());
-                itemHBox.getChildren().add(textArea);
-                addedControl = textArea;
-                break;
-            case PASSWORD:
-                ControlFactory<S, PasswordField> passwordFieldFactory = (ControlFactory<S, PasswordField>) this.controlFactories.get(id);
-                PasswordField passwordField = passwordFieldFactory.newInstance(item);
-                passwordFieldFactory.setValueForControl(item, passwordField);
-                passwordField.textProperty().addListener(new ChangeListener<String>() {
-                    @Override
-                    public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
-                        passwordFieldFactory.setValueForItem(item, passwordField);
-                    }
-                });
-                passwordField.prefWidthProperty().bind(headerLabel.widthProperty());
-                itemHBox.getChildren().add(passwordField);
-                addedControl = passwordField;
-                break;
-            case COMBOBOX:
-                ControlFactory<S, ComboBox<?>> comboBoxFactory = (ControlFactory<S, ComboBox<?>>) this.controlFactories.get(id);
-                ComboBox<?> comboBox = comboBoxFactory.newInstance(item);
-                comboBoxFactory.setValueForControl(item, comboBox);
-                comboBox.setOnAction(new EventHandler<ActionEvent>() {
-                    @Override
-                    public void handle(ActionEvent event) {
-                        comboBoxFactory.setValueForItem(item, comboBox);
-                    }
-                });
-                comboBox.prefWidthProperty().bind(headerLabel.widthProperty());
-                itemHBox.getChildren().add(comboBox);
-                addedControl = comboBox;
-                break;
-            case DATEPICKER:
-                ControlFactory<S, DatePicker> datePickerFactory = (ControlFactory<S, DatePicker>) this.controlFactories.get(id);
-                DatePicker datePicker = datePickerFactory.newInstance(item);
-                datePickerFactory.setValueForControl(item, datePicker);
-                datePicker.setOnAction(new EventHandler<ActionEvent>() {
-                    @Override
-                    public void handle(ActionEvent event) {
-                        datePickerFactory.setValueForItem(item, datePicker);
-                    }
-                });
-                datePicker.prefWidthProperty().bind(headerLabel.widthProperty());
-                itemHBox.getChildren().add(datePicker);
-                addedControl = datePicker;
-                break;
-            case CHECKBOX:
-                ControlFactory<S, CheckBox> checkBoxFactory = (ControlFactory<S, CheckBox>) this.controlFactories.get(id);
-                CheckBox checkBox = checkBoxFactory.newInstance(item);
-                checkBoxFactory.setValueForControl(item, checkBox);
-                checkBox.selectedProperty().addListener(new ChangeListener<Boolean>() {
-                    @Override
-                    public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
-                        checkBoxFactory.setValueForItem(item, checkBox);
-                    }
-                });
-                StackPane stackPaneCheckBox = new StackPane(checkBox);
-                stackPaneCheckBox.prefWidthProperty().bind(headerLabel.widthProperty());
-                itemHBox.getChildren().add(stackPaneCheckBox);
-                addedControl = checkBox;
-                break;
-            case BUTTON:
-                FixControlFactory<S, Button> buttonFactory = (FixControlFactory<S, Button>) this.controlFactories.get(id);
-                Button button = buttonFactory.newInstance(item);
-                StackPane stackPaneButton = new StackPane(button);
-                stackPaneButton.prefWidthProperty().bind(headerLabel.widthProperty());
-                itemHBox.getChildren().add(stackPaneButton);
-                addedControl = button;
-                break;
-            case HYPERLINK:
-                ReadOnlyControlFactory<S, Hyperlink> hyperlinkFactory = (ReadOnlyControlFactory<S, Hyperlink>) this.controlFactories.get(id);
-                Hyperlink hyperlink = hyperlinkFactory.newInstance(item);
-                hyperlinkFactory.setValueForControl(item, hyperlink);
-                hyperlink.prefWidthProperty().bind(headerLabel.widthProperty());
-                itemHBox.getChildren().add(hyperlink);
-                addedControl = hyperlink;
-                break;
-            }
-            // コントロール共通の設定
-            addedControl.setId(id);
-            // 現在の行を特定するためのListenerを設定
-            ChangeListener<Boolean> innerControlFocusChangeListener = new InnerControlFocusChangeListener(item, addedControl);
-            addedControl.focusedProperty().addListener(innerControlFocusChangeListener);
-        }
-        // すべてのコントロールのFocusTraversableを無効にする
-        if (this.rowControlFocusTraversables.get(item) == null) {
-            this.rowControlFocusTraversables.put(item, new HashMap<>());
-        }
-        this.disableRowControlFocusTraversable(item);
-        // 最後にカラムと幅を同じにするためにseparatorを追加する
-        Separator columnSeparator = new Separator(Orientation.VERTICAL);
-        columnSeparator.setOpacity(0);
-        itemHBox.getChildren().add(columnSeparator);
     }
     
-    private SimpleIntegerProperty loadRowsCountProperty = new SimpleIntegerProperty(20);
-    
     /**
-     * Rowを更に読み込む際の行数(初期値は20)。
+     * 取り消し可能な操作として、複数のRowをまとめて指定位置に移動する。画面の操作で行を移動する場合に使用する。
      *
-     * @return 読み込み行数
+     * @param items 移動するitem
+     * @param index 移動先の位置(移動前の並びで、この位置のRowの直前に移動する)
      */
-    public int getLoadRowsCount() {
-        return this.loadRowsCountProperty.get();
+    public void moveRowsUndoable(Collection<S> items, int index) {
+        this.isRecordingRowOperation = true;
+        try {
+            this.moveRows(items, index);
+        } finally {
+            this.isRecordingRowOperation = false;
+        }
     }
     
     /**
-     * Rowを更に読み込む際の行数をセットする(初期値は20)。
-     *
-     * @param loadRowsCount 読み込み行数
+     * Rowをすべて削除する。
      */
-    public void setLoadRowsCount(int loadRowsCount) {
-        this.loadRowsCountProperty.set(loadRowsCount);
+    public void clearRows() {
+        this.resetDataSource();
+        this.clearChanges();
+        this.clearUndoHistory();
+        this.selectedItems.clear();
+        this.selectionAnchorItem = null;
+        if (this.sourceItems != null) {
+            this.sourceItems.clear();
+        }
+        this.items.clear();
+        this.itemIndexes.clear();
+        this.indexedItemsCount = 0;
+        this.isRowOffsetIndexValid = false;
+        this.scrollAnchorItem = null;
+        this.resetRows();
+        this.requestFocus();
     }
     
-    private int visibleRowsCount = 0;
-    
     /**
-     * すでに表示されている行数を取得する。
-     *
-     * @return 表示されている行数
+     * 並べ替えや絞り込みが有効な場合に元の並びですべてのitemを保持する。無効な場合はnull。
      */
-    public int getVisibleRowsCount() {
-        return this.visibleRowsCount;
-    }
+    private List<S> sourceItems = null;
+    
+    private HashMap<String, Comparator<S>> columnComparators = new HashMap<>();
+    
+    private LinkedHashMap<String, Predicate<S>> columnFilters = new LinkedHashMap<>();
+    
+    private String sortColumnId = null;
+    
+    private boolean isSortAscending = true;
     
     /**
-     * Rowを更に読み込む。
+     * 選択が外れたらビューでの位置を更新するitem。
      */
-    public void loadMoreRows() {
-        for (int index = this.visibleRowsCount; index < this.visibleRowsCount + this.loadRowsCountProperty.get(); index++) {
-            if (this.items.size() - 1 < index) {
-                break;
-            }
-            S item = this.items.get(index);
-            this.initializeRow(item);
-        }
-        this.visibleRowsCount += this.loadRowsCountProperty.get();
-        if (this.visibleRowsCount > this.items.size()) {
-            this.visibleRowsCount = this.items.size();
-        }
-        if (this.getSelectedItem() == null && this.visibleRowsCount > 0) {
-            this.setSelectedItem(this.items.get(0));
-        }
-        this.requestLayout();
-    }
+    private S viewPendingItem = null;
     
     /**
-     * コントロールに関連づいているitemを取得する。
+     * 並べ替えや絞り込みに関係なくすべてのitemを元の並びで取得する。
      *
-     * @param control 対象Control
-     * @return item(取得できない場合はnull)
+     * @return 読み取り専用のList<S>
      */
-    @SuppressWarnings("unchecked")
-    public S findRelationalItem(Control control) {
-        try {
-            Parent parent = control.getParent();
-            return (S) parent.getUserData();
-        } catch (Exception exception) {
-            return null;
+    public List<S> getSourceItems() {
+        if (this.sourceItems == null) {
+            return this.getItems();
         }
+        return Collections.unmodifiableList(this.sourceItems);
     }
-
+    
     /**
-     * itemとカラムIDから内部のコントロールを取得する。
+     * カラムで並べ替える際に使用するComparatorをセットする。
      *
-     * @param <T>
-     * @param item 対象のitem
      * @param id 対象のカラムID
-     * @return コントロール(表示されていない場合はnull)
-     * @throws ClassCastException 取得しようとしているclassと内部コントロールのclassが不一致の場合
+     * @param comparator nullの場合はcreateDefaultComparatorで作成されたものを使用する
      */
-    @SuppressWarnings("unchecked")
-    public <T extends Control> T getControl(S item, String id) throws ClassCastException {
-        HBox hBox = this.rowHBoxes.get(item);
-        if (hBox == null) {
-            return null;
+    public void setColumnComparator(String id, Comparator<S> comparator) {
+        if (comparator == null) {
+            this.columnComparators.remove(id);
+        } else {
+            this.columnComparators.put(id, comparator);
+        }
+        if (id.equals(this.sortColumnId)) {
+            this.applyView();
         }
-        T control = (T) hBox.lookup("#" + id);
-        return control;
     }
     
-    private HashMap<S, HashMap<String, Boolean>> rowControlFocusTraversables = new HashMap<>();
-    
-    private HashMap<S, Boolean> isDisabledRowControlFocusTraversables = new HashMap<>();
-    
     /**
-     * 指定された行のFocusTraversableを保存しておく。
+     * Comparatorがセットされていないカラムで並べ替える際に使用するComparatorを作成する。
      *
-     * @param item
+     * @param id 対象のカラムID
+     * @return Comparator(並べ替えできない場合はnull)
      */
-    private void disableRowControlFocusTraversable(S item) {
-        HashMap<String, Boolean> hashMap = this.rowControlFocusTraversables.get(item);
-        HBox hBox = this.rowHBoxes.get(item);
-        if (hashMap != null && hBox != null) {
-            for (String id: this.columnIds) {
-                Set<Node> nodes = hBox.lookupAll("#" + id);
-                for (Node node: nodes) {
-                    if (this.isDisabledRowControlFocusTraversables.get(item) == null || this.isDisabledRowControlFocusTraversables.get(item) == false) {
-                        hashMap.put(id, node.isFocusTraversable());
-                        node.setFocusTraversable(false);
-                    }
-                    break;
-                }
-            }
-            this.isDisabledRowControlFocusTraversables.put(item, true);
-        }
+    protected Comparator<S> createDefaultComparator(String id) {
+        return null;
     }
     
     /**
-     * 指定された行のFocusTraversableを保存している値に戻す。
+     * 指定されたカラムで行を並べ替える。既存の行は作り直さずに並び順だけ変更される。
      *
-     * @param item
+     * @param id 対象のカラムID
+     * @param isAscending 昇順の場合はtrue
      */
-    private void rollbackRowControlFocusTraversable(S item) {
-        HashMap<String, Boolean> hashMap = this.rowControlFocusTraversables.get(item);
-        HBox hBox = this.rowHBoxes.get(item);
-        if (hashMap != null && hBox != null) {
-            for (String id: this.columnIds) {
-                Set<Node> nodes = hBox.lookupAll("#" + id);
-                for (Node node: nodes) {
-                    if (hashMap.containsKey(id)) {
-                        node.setFocusTraversable(hashMap.get(id));
-                    }
-                    break;
-                }
-            }
-            this.isDisabledRowControlFocusTraversables.put(item, false);
-        }
+    public void sort(String id, boolean isAscending) {
+        this.sortColumnId = id;
+        this.isSortAscending = isAscending;
+        this.applyView();
     }
     
-    private HashMap<String, Label> columnHeaderLabels = new HashMap<>();
-    
     /**
-     * ColumnのHeaderに配置されているLabelコントロールを取得する。
-     *
-     * @param id 対象のカラムID
-     * @return Label(存在しない場合はnull)
+     * 並べ替えを解除して元の並びに戻す。
      */
-    public Label getHeaderLabel(String id) {
-        return this.columnHeaderLabels.get(id);
+    public void clearSort() {
+        this.sortColumnId = null;
+        this.applyView();
     }
     
-    private SimpleObjectProperty<S> selectedItemProperty = new SimpleObjectProperty<>();
-    
     /**
-     * 現在選択されているitemプロパティ。
+     * 並べ替えているカラムIDを取得する。
      *
-     * @return selectedItemProperty
+     * @return カラムID(並べ替えていない場合はnull)
      */
-    public ReadOnlyProperty<S> selectedItemProperty() {
-        return this.selectedItemProperty;
+    public String getSortColumnId() {
+        return this.sortColumnId;
     }
     
     /**
-     * 現在選択されているitemを取得する。
+     * 並べ替えが昇順かどうかを取得する。
      *
-     * @return selectedItem
+     * @return 結果
      */
-    public S getSelectedItem() {
-        return this.selectedItemProperty.get();
+    public boolean isSortAscending() {
+        return this.isSortAscending;
     }
     
     /**
-     * 現在選択されているitemをセットする。
+     * カラムに絞り込みの条件をセットする。複数のカラムに条件がある場合はすべてを満たすitemだけ表示される。
      *
-     * @param selectedItem
+     * @param id 対象のカラムID
+     * @param predicate nullの場合は条件を解除する
      */
-    public void setSelectedItem(S selectedItem) {
-        if (this.columnIds.size() == 0) {
-            return;
-        }
-        if (this.items.indexOf(selectedItem) > -1) {
-            this.selectedItemProperty.set(selectedItem);
-            if (this.getFocusedControl() != null) {
-                Control control = this.getControl(selectedItem, this.getFocusedControl().getId());
-                if (control != null) {
-                    control.requestFocus();
-                }
-            }
+    public void setColumnFilter(String id, Predicate<S> predicate) {
+        if (predicate == null) {
+            this.columnFilters.remove(id);
         } else {
-            this.selectedItemProperty.setValue(null);
+            this.columnFilters.put(id, predicate);
         }
+        this.applyView();
     }
     
-    private SimpleObjectProperty<Control> focusedControlProperty = new SimpleObjectProperty<>();
+    /**
+     * すべての絞り込みの条件を解除する。
+     */
+    public void clearFilters() {
+        this.columnFilters.clear();
+        this.applyView();
+    }
     
     /**
-     * 現在フォーカスされているControlプロパティ。
+     * 並べ替えに使用するComparatorを取得する。
      *
-     * @return focusedControlProperty
+     * @return Comparator(並べ替えない場合はnull)
      */
-    public ReadOnlyProperty<Control> focusedControlProperty() {
-        return this.focusedControlProperty;
+    private Comparator<S> getViewComparator() {
+        if (this.sortColumnId == null) {
+            return null;
+        }
+        Comparator<S> comparator = this.columnComparators.get(this.sortColumnId);
+        if (comparator == null) {
+            comparator = this.createDefaultComparator(this.sortColumnId);
+        }
+        if (comparator == null || this.isSortAscending) {
+            return comparator;
+        }
+        return Collections.reverseOrder(comparator);
     }
     
     /**
-     * 現在フォーカスされているControlを取得する。
+     * itemが絞り込みの条件をすべて満たすかどうかを判定する。
      *
-     * @param <T> 
-     * @return フォーカスされているコントロール
-     * @throws ClassCastException 取得しようとしているclassと内部コントロールのclassが不一致の場合
+     * @param item 対象のitem
+     * @return 結果
      */
-    @SuppressWarnings("unchecked")
-    public <T extends Control> T getFocusedControl() throws ClassCastException {
-        return (T) this.focusedControlProperty.get();
+    private boolean isAcceptedByView(S item) {
+        for (Predicate<S> predicate: this.columnFilters.values()) {
+            if (predicate.test(item) == false) {
+                return false;
+            }
+        }
+        return true;
     }
     
     /**
-     * ColumnIDのList。
+     * 並べ替えた状態を保つためにitemを挿入するビューの位置を二分探索で取得する。
+     *
+     * @param item 対象のitem
+     * @return 挿入位置
      */
-    private List<String> columnIds = new ArrayList<>();
+    private int findViewPosition(S item) {
+        Comparator<S> comparator = this.getViewComparator();
+        if (comparator == null) {
+            return this.items.size();
+        }
+        int low = 0;
+        int high = this.items.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(this.items.get(middle), item) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
     
     /**
-     * 追加済みのColumnIDの読み取り専用Listを取得する。
-     *
-     * @return 読み取り専用のColumnIDリスト
+     * 並べ替えと絞り込みの条件に従ってビューを作り直す。既存の行は再利用される。
      */
-    public List<String> getColumnIds() {
-        return Collections.unmodifiableList(this.columnIds);
+    private void applyView() {
+        if (this.sortColumnId == null && this.columnFilters.size() == 0) {
+            if (this.sourceItems != null) {
+                List<S> sourceItems = this.sourceItems;
+                this.sourceItems = null;
+                this.setViewItems(sourceItems);
+            }
+            return;
+        }
+        if (this.sourceItems == null) {
+            this.sourceItems = new ArrayList<>(this.items);
+        }
+        List<S> viewItems = new ArrayList<>();
+        for (S item: this.sourceItems) {
+            if (this.isAcceptedByView(item)) {
+                viewItems.add(item);
+            }
+        }
+        Comparator<S> comparator = this.getViewComparator();
+        if (comparator != null) {
+            Collections.sort(viewItems, comparator);
+        }
+        this.setViewItems(viewItems);
     }
     
     /**
-     * 各Column種類の連想配列(キーはID)。
+     * ビューのitemを入れ替えて、表示されている行を新しい並びに配置し直す。
+     *
+     * @param viewItems 新しい並びのitem
      */
-    private HashMap<String, ColumnType> columnTypes = new HashMap<>();
+    private void setViewItems(List<S> viewItems) {
+        this.viewPendingItem = null;
+        this.replaceItems(viewItems, 0);
+    }
     
     /**
-     * 各Columnのコントロールを生成するFactoryの連想配列(キーはID)。
+     * 表示するitemを入れ替えて、表示されている行を新しい並びに配置し直す。
+     *
+     * @param newItems 新しい並びのitem
+     * @param selectionIndex 選択されていたitemが含まれなくなった場合に代わりに選択する位置
      */
-    private HashMap<String, ControlFactory<S, ?>> controlFactories = new HashMap<>();
+    private void replaceItems(List<S> newItems, int selectionIndex) {
+        this.items.clear();
+        this.items.addAll(newItems);
+        this.itemIndexes.clear();
+        this.indexedItemsCount = 0;
+        this.isRowOffsetIndexValid = false;
+        if (this.isVirtualized) {
+            this.updateVirtualRows();
+        } else {
+            // 表示する範囲の行は既存の行を並べ替えて、足りない行だけ生成する
+            int count = Math.min(this.items.size(), Math.max(this.visibleRowsCount, this.loadRowsCountProperty.get()));
+            IdentityHashMap<S, Row> rows = new IdentityHashMap<>();
+            List<HBox> hBoxes = new ArrayList<>();
+            for (int index = 0; index < count; index++) {
+                S item = this.items.get(index);
+                Row row = this.rows.get(item);
+                if (row == null) {
+                    row = this.createRow(item);
+                }
+                rows.put(item, row);
+                hBoxes.add(row.hBox);
+            }
+            this.rows = rows;
+            this.rowsVBox.getChildren().setAll(hBoxes);
+            this.visibleRowsCount = count;
+            if (this.isPageRequested) {
+                this.showLoadingRows();
+            }
+        }
+        S selectedItem = this.selectedItemProperty.get();
+        if (selectedItem != null && this.getRowIndex(selectedItem) == -1) {
+            if (this.items.size() > 0) {
+                this.setSelectedItem(this.items.get(Math.min(selectionIndex, this.items.size() - 1)));
+            } else {
+                this.selectedItemProperty.set(null);
+            }
+        }
+    }
     
     /**
-     * カラムを追加する。
+     * 値が変更されたitemのビューでの位置を更新する。条件を満たさなくなった場合はビューから取り除く。
      *
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param columnType 種類
-     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     * @param item 対象のitem
      */
-    public void addColumn(String id, String text, ColumnType columnType, ControlFactory<S, ?> controlFactory) {
-        if (this.columnIds.contains(id)) {
+    private void updateViewItem(S item) {
+        if (this.sourceItems == null) {
             return;
         }
-        // 内容を表示
-        for (Node node: this.getChildren()) {
-            node.setVisible(true);
+        int index = this.getRowIndex(item);
+        if (this.isAcceptedByView(item) == false) {
+            if (index > -1) {
+                this.removeViewRow(item);
+            }
+            return;
         }
-        // カラムの追加処理
-        Label label = this.createHeaderLabel(text);
-        switch (columnType) {
-        case LABEL:
-            break;
-        case TEXTFIELD:
-        case PASSWORD:
-        case COMBOBOX:
-        case DATEPICKER:
-            label.setMinWidth(60);
-            break;
-        case TEXTAREA:
-            label.setMinWidth(100);
-            break;
-        case CHECKBOX:
-            label.setMinWidth(30);
-            break;
-        case BUTTON:
-            label.setMinWidth(45);
-            break;
-        case HYPERLINK:
-            break;
+        if (index == -1) {
+            if (indexOfIdentity(this.sourceItems, item) > -1) {
+                this.insertViewRow(item, this.findViewPosition(item));
+            }
+            return;
         }
-        this.columnIds.add(id);
-        this.columnHeaderLabels.put(id, label);
-        this.controlFactories.put(id, controlFactory);
-        this.columnTypes.put(id, columnType);
-        if (this.visibleRowsCount > 0) {
-            for (int index = 0; index < this.visibleRowsCount; index++) {
-                S item = this.items.get(index);
-                this.initializeRow(item);
+        Comparator<S> comparator = this.getViewComparator();
+        if (comparator == null) {
+            return;
+        }
+        boolean isPreviousOrdered = index == 0 || comparator.compare(this.items.get(index - 1), item) <= 0;
+        boolean isNextOrdered = index == this.items.size() - 1 || comparator.compare(item, this.items.get(index + 1)) <= 0;
+        if (isPreviousOrdered && isNextOrdered) {
+            return;
+        }
+        // 行を作り直さずにHBoxだけ移動する
+        this.removeItem(index);
+        int newIndex = this.findViewPosition(item);
+        this.insertItem(newIndex, item);
+        if (this.isVirtualized) {
+            this.updateVirtualRows();
+            return;
+        }
+        Row row = this.rows.get(item);
+        if (row != null) {
+            this.rowsVBox.getChildren().remove(row.hBox);
+            this.visibleRowsCount--;
+        }
+        if (newIndex <= this.visibleRowsCount) {
+            if (row == null) {
+                row = this.createRow(item);
             }
+            this.rowsVBox.getChildren().add(newIndex, row.hBox);
+            this.visibleRowsCount++;
+        } else if (row != null) {
+            this.rows.remove(item);
         }
     }
     
     /**
-     * Labelを内包するセルを追加する。
+     * 編集されたitemと、item毎に編集されたカラムIDを編集された順で保持する。itemは同一性で比較する。
+     */
+    private IdentityHashMap<S, DirtyColumnIds> dirtyColumnIds = new IdentityHashMap<>();
+    
+    /**
+     * itemが最初に編集された順番を表す番号。
+     */
+    private long dirtySequence = 0;
+    
+    /**
+     * item毎に編集されたカラムIDと、itemが最初に編集された順番を保持するクラス。
      *
-     * @param <T> コントロールの型
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param readOnlyControlFactory コントロールを生成し値の表示を行うCallback
+     * @author hiro
      */
-    public <T extends Label> void addColumnLabel(String id, String text, ReadOnlyControlFactory<S, T> readOnlyControlFactory) {
-        this.addColumn(id, text, ColumnType.LABEL, readOnlyControlFactory);
+    private static class DirtyColumnIds extends LinkedHashSet<String> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private long sequence;
+        
+        /**
+         * コンストラクタ。
+         *
+         * @param sequence itemが最初に編集された順番
+         */
+        public DirtyColumnIds(long sequence) {
+            this.sequence = sequence;
+        }
     }
     
+    private List<Change<S>> changeJournal = new ArrayList<>();
+    
     /**
-     * TextFieldを内包するセルを追加する。
+     * コントロールからitemに値がセットされたことを記録する。<br>
+     * 同じitemとカラムの編集が連続する場合は変更履歴に一件だけ記録する。
      *
-     * @param <T> コントロールの型
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     * @param item 編集されたitem
+     * @param id 編集されたカラムID
      */
-    public <T extends TextField> void addColumnTextField(String id, String text, ControlFactory<S, T> controlFactory) {
-        this.addColumn(id, text, ColumnType.TEXTFIELD, controlFactory);
+    private void markDirty(S item, String id) {
+        if (this.sourceItems != null && (this.columnFilters.containsKey(id) || id.equals(this.sortColumnId))) {
+            // 編集中の行が移動しないように選択中のitemは選択が外れてから並べ替える
+            if (this.selectedItemProperty.get() == item) {
+                this.viewPendingItem = item;
+            } else {
+                this.updateViewItem(item);
+            }
+        }
+        this.recordChange(item, id);
     }
-
+    
     /**
-     * TextAreaを内包するセルを追加する。
+     * itemの編集を記録して変更履歴に追加する。
      *
-     * @param <T> コントロールの型
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     * @param item 編集されたitem
+     * @param id 編集されたカラムID
      */
-    public <T extends TextArea> void addColumnTextArea(String id, String text, ControlFactory<S, T> controlFactory) {
-        this.addColumn(id, text, ColumnType.TEXTAREA, controlFactory);
+    private void recordChange(S item, String id) {
+        DirtyColumnIds columnIds = this.dirtyColumnIds.get(item);
+        if (columnIds == null) {
+            columnIds = new DirtyColumnIds(this.dirtySequence++);
+            this.dirtyColumnIds.put(item, columnIds);
+        }
+        columnIds.add(id);
+        if (this.changeJournal.size() > 0) {
+            Change<S> lastChange = this.changeJournal.get(this.changeJournal.size() - 1);
+            if (lastChange.getItem() == item && lastChange.getColumnId().equals(id)) {
+                return;
+            }
+        }
+        this.changeJournal.add(new Change<>(item, id));
     }
     
     /**
-     * PasswordFieldを内包するセルを追加する。
+     * itemが編集されているかどうかを判定する。
      *
-     * @param <T> コントロールの型
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     * @param item 対象のitem
+     * @return 結果
      */
-    public <T extends PasswordField> void addColumnPasswordField(String id, String text, ControlFactory<S, T> controlFactory) {
-        this.addColumn(id, text, ColumnType.PASSWORD, controlFactory);
+    public boolean isDirty(S item) {
+        return this.dirtyColumnIds.containsKey(item);
     }
     
     /**
-     * ComboBoxを内包するセルを追加する。
+     * itemの指定されたカラムが編集されているかどうかを判定する。
      *
-     * @param <T> コントロールの型
-     * @param <V> コンボボックスの値型
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     * @param item 対象のitem
+     * @param id 対象のカラムID
+     * @return 結果
      */
-    public <T extends ComboBox<V>, V> void addColumnComboBox(String id, String text, ControlFactory<S, T> controlFactory) {
-        this.addColumn(id, text, ColumnType.COMBOBOX, controlFactory);
+    public boolean isDirty(S item, String id) {
+        LinkedHashSet<String> columnIds = this.dirtyColumnIds.get(item);
+        return columnIds != null && columnIds.contains(id);
     }
     
     /**
-     * DatePickerを内包するセルを追加する。
+     * 編集されたitemを最初に編集された順で取得する。
      *
-     * @param <T> コントロールの型
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     * @return 編集されたitem
      */
-    public <T extends DatePicker> void addColumnDatePicker(String id, String text, ControlFactory<S, T> controlFactory) {
-        this.addColumn(id, text, ColumnType.DATEPICKER, controlFactory);
+    public List<S> getDirtyItems() {
+        EditableTable<S> table = this;
+        List<S> items = new ArrayList<>(this.dirtyColumnIds.keySet());
+        items.sort(new Comparator<S>() {
+            @Override
+            public int compare(S item1, S item2) {
+                return Long.compare(table.dirtyColumnIds.get(item1).sequence, table.dirtyColumnIds.get(item2).sequence);
+            }
+        });
+        return items;
     }
     
     /**
-     * CheckBoxを内包するセルを追加する。
+     * itemの編集されたカラムIDを最初に編集された順で取得する。
      *
-     * @param <T> コントロールの型
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     * @param item 対象のitem
+     * @return 編集されたカラムID
      */
-    public <T extends CheckBox> void addColumnCheckBox(String id, String text, ControlFactory<S, T> controlFactory) {
-        this.addColumn(id, text, ColumnType.CHECKBOX, controlFactory);
+    public List<String> getDirtyColumnIds(S item) {
+        LinkedHashSet<String> columnIds = this.dirtyColumnIds.get(item);
+        if (columnIds == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(columnIds);
     }
     
     /**
-     * Buttonを内包するセルを追加する。
+     * 編集の変更履歴を古い順で取得する。
      *
-     * @param <T> コントロールの型
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param fixControlFactory コントロールを生成を行うCallback
+     * @return 変更履歴
      */
-    public <T extends Button> void addColumnButton(String id, String text, FixControlFactory<S, T> fixControlFactory) {
-        this.addColumn(id, text, ColumnType.BUTTON, fixControlFactory);
+    public List<Change<S>> getChangeJournal() {
+        return Collections.unmodifiableList(this.changeJournal);
     }
-
+    
     /**
-     * Hyperlinkを内包するセルを追加する。
+     * 編集の記録と変更履歴をすべて破棄する。保存処理が完了した後などに使用する。
+     */
+    public void clearChanges() {
+        this.dirtyColumnIds.clear();
+        this.changeJournal.clear();
+    }
+    
+    /**
+     * itemの編集の記録を破棄する。変更履歴は保持される。
      *
-     * @param <T> コントロールの型
-     * @param id 任意のカラムID
-     * @param text ヘッダーテキスト
-     * @param readOnlyControlFactory コントロールを生成し値の表示を行うCallback
+     * @param item 対象のitem
      */
-    public <T extends Hyperlink> void addColumnHyperlink(String id, String text, ReadOnlyControlFactory<S, T> readOnlyControlFactory) {
-        this.addColumn(id, text, ColumnType.HYPERLINK, readOnlyControlFactory);
+    public void clearChanges(S item) {
+        this.dirtyColumnIds.remove(item);
+    }
+    
+    /**
+     * 取り消しの記録を保持するリングバッファ。上限を超えると古い記録から破棄される。
+     */
+    private List<UndoEntry> undoEntries = this.createUndoEntries(100);
+    
+    private int undoEntriesStart = 0;
+    
+    /**
+     * 指定された上限の数だけnullで埋めたリングバッファを作成する。
+     *
+     * @param undoLimit 上限
+     * @return リングバッファ
+     */
+    private List<UndoEntry> createUndoEntries(int undoLimit) {
+        UndoEntry nullUndoEntry = null;
+        return new ArrayList<>(Collections.nCopies(undoLimit, nullUndoEntry));
+    }
+    
+    private int undoEntriesCount = 0;
+    
+    /**
+     * 取り消し可能な記録の数。これより後ろの記録はやり直しに使用される。
+     */
+    private int undoPosition = 0;
+    
+    /**
+     * 同じセルへの連続した入力をまとめるために、最後に記録したセルの編集を保持する。
+     */
+    private CellValuesUndoEntry coalescingUndoEntry = null;
+    
+    /**
+     * 取り消しややり直しの実行中はその操作を記録しない。
+     */
+    private boolean isUndoing = false;
+    
+    /**
+     * 行の追加、削除、移動を取り消しの対象として記録する場合はtrue。プログラムからの行の操作は記録しない。
+     */
+    private boolean isRecordingRowOperation = false;
+    
+    /**
+     * 保持する取り消しの記録の上限を取得する。
+     *
+     * @return 上限(初期値は100)
+     */
+    public int getUndoLimit() {
+        return this.undoEntries.size();
+    }
+    
+    /**
+     * 保持する取り消しの記録の上限をセットする。上限を超える記録は古いものから破棄される。
+     *
+     * @param undoLimit 上限(初期値は100)
+     */
+    public void setUndoLimit(int undoLimit) {
+        List<UndoEntry> undoEntries = this.createUndoEntries(Math.max(1, undoLimit));
+        int removeCount = Math.max(0, this.undoEntriesCount - undoEntries.size());
+        for (int index = removeCount; index < this.undoEntriesCount; index++) {
+            undoEntries.set(index - removeCount, this.getUndoEntry(index));
+        }
+        this.undoEntries = undoEntries;
+        this.undoEntriesStart = 0;
+        this.undoEntriesCount -= removeCount;
+        this.undoPosition = Math.max(0, this.undoPosition - removeCount);
+    }
+    
+    /**
+     * 古い順で指定された位置の記録を取得する。
+     *
+     * @param index 古い順の位置
+     * @return 記録
+     */
+    private UndoEntry getUndoEntry(int index) {
+        return this.undoEntries.get((this.undoEntriesStart + index) % this.undoEntries.size());
+    }
+    
+    /**
+     * 取り消しの記録を追加する。やり直し可能な記録は破棄される。
+     *
+     * @param undoEntry 記録
+     */
+    private void pushUndoEntry(UndoEntry undoEntry) {
+        if (this.isUndoing) {
+            return;
+        }
+        this.coalescingUndoEntry = null;
+        for (int index = this.undoPosition; index < this.undoEntriesCount; index++) {
+            this.undoEntries.set((this.undoEntriesStart + index) % this.undoEntries.size(), null);
+        }
+        this.undoEntriesCount = this.undoPosition;
+        if (this.undoEntriesCount == this.undoEntries.size()) {
+            this.undoEntries.set(this.undoEntriesStart, null);
+            this.undoEntriesStart = (this.undoEntriesStart + 1) % this.undoEntries.size();
+            this.undoEntriesCount--;
+        }
+        this.undoEntries.set((this.undoEntriesStart + this.undoEntriesCount) % this.undoEntries.size(), undoEntry);
+        this.undoEntriesCount++;
+        this.undoPosition = this.undoEntriesCount;
+    }
+    
+    /**
+     * コントロールからitemに値がセットされる直前の値を取り消し用に記録する。同じセルへの連続した入力は一件にまとめる。
+     *
+     * @param item 編集されるitem
+     * @param id 編集されるカラムID
+     */
+    private void recordCellEdit(S item, String id) {
+        if (this.isUndoing || this.isUndoSupported(id) == false) {
+            return;
+        }
+        CellValuesUndoEntry undoEntry = this.coalescingUndoEntry;
+        if (undoEntry != null && undoEntry.size() == 1 && undoEntry.items.get(0) == item && undoEntry.ids.get(0).equals(id)) {
+            return;
+        }
+        undoEntry = new CellValuesUndoEntry();
+        undoEntry.add(item, id, this.getUndoValue(item, id));
+        this.pushUndoEntry(undoEntry);
+        this.coalescingUndoEntry = undoEntry;
+    }
+    
+    /**
+     * 取り消し可能な操作があるかどうかを判定する。
+     *
+     * @return 結果
+     */
+    public boolean canUndo() {
+        return this.undoPosition > 0;
+    }
+    
+    /**
+     * やり直し可能な操作があるかどうかを判定する。
+     *
+     * @return 結果
+     */
+    public boolean canRedo() {
+        return this.undoPosition < this.undoEntriesCount;
+    }
+    
+    /**
+     * 直前の編集、行の追加、削除、移動、貼り付けを取り消す。
+     */
+    public void undo() {
+        if (this.canUndo() == false) {
+            return;
+        }
+        this.undoPosition--;
+        UndoEntry undoEntry = this.getUndoEntry(this.undoPosition);
+        this.coalescingUndoEntry = null;
+        this.isUndoing = true;
+        try {
+            undoEntry.undo();
+        } finally {
+            this.isUndoing = false;
+        }
+    }
+    
+    /**
+     * 取り消した操作をやり直す。
+     */
+    public void redo() {
+        if (this.canRedo() == false) {
+            return;
+        }
+        UndoEntry undoEntry = this.getUndoEntry(this.undoPosition);
+        this.undoPosition++;
+        this.coalescingUndoEntry = null;
+        this.isUndoing = true;
+        try {
+            undoEntry.redo();
+        } finally {
+            this.isUndoing = false;
+        }
+    }
+    
+    /**
+     * 取り消しとやり直しの記録をすべて破棄する。
+     */
+    public void clearUndoHistory() {
+        Collections.fill(this.undoEntries, null);
+        this.undoEntriesStart = 0;
+        this.undoEntriesCount = 0;
+        this.undoPosition = 0;
+        this.coalescingUndoEntry = null;
+    }
+    
+    /**
+     * セルの値の取り消しに対応しているかどうかを判定する。初期ではControlFactoryのisUndoSupportedの結果を使用する。
+     *
+     * @param id 対象のカラムID
+     * @return 結果
+     */
+    protected boolean isUndoSupported(String id) {
+        ControlFactory<S, ?> controlFactory = this.controlFactories.get(id);
+        return controlFactory != null && controlFactory.isUndoSupported();
+    }
+    
+    /**
+     * 取り消しのために記録するitemの値を取得する。初期ではControlFactoryのgetValueForUndoの結果を使用する。
+     *
+     * @param item 対象のitem
+     * @param id 対象のカラムID
+     * @return 値
+     */
+    protected Object getUndoValue(S item, String id) {
+        ControlFactory<S, ?> controlFactory = this.controlFactories.get(id);
+        if (controlFactory == null) {
+            return null;
+        }
+        return controlFactory.getValueForUndo(item);
+    }
+    
+    /**
+     * 取り消しのために記録した値をitemに戻す。初期ではControlFactoryのsetValueFromUndoで値をセットする。
+     *
+     * @param item 対象のitem
+     * @param id 対象のカラムID
+     * @param value getUndoValueで取得した値
+     * @return 値をセットした場合はtrue
+     */
+    protected boolean setUndoValue(S item, String id, Object value) {
+        if (this.isUndoSupported(id) == false) {
+            return false;
+        }
+        this.controlFactories.get(id).setValueFromUndo(item, value);
+        return true;
+    }
+    
+    /**
+     * クリップボードに貼り付けるためのitemの値を取得する。
+     *
+     * @param item 対象のitem
+     * @param id 対象のカラムID
+     * @return 値(コピーできない場合はnull)
+     */
+    protected String getClipboardText(S item, String id) {
+        return this.controlFactories.get(id).toClipboardText(item);
+    }
+    
+    /**
+     * クリップボードから貼り付けられた値をitemにセットする。
+     *
+     * @param item 対象のitem
+     * @param id 対象のカラムID
+     * @param text 貼り付けられた値
+     * @return 値をセットした場合はtrue
+     */
+    protected boolean setClipboardText(S item, String id, String text) {
+        return this.controlFactories.get(id).setClipboardTextForItem(item, text);
+    }
+    
+    /**
+     * 貼り付けられた行数が既存の行より多い場合に追加するitemを作成する。
+     *
+     * @return item(行を追加しない場合はnull)
+     */
+    protected S createItemForPaste() {
+        return null;
+    }
+    
+    /**
+     * 選択されているitemをタブ区切りで出力する。値はitemから直接Writerに書き込まれる。
+     *
+     * @param writer 出力先
+     * @throws IOException
+     */
+    public void copy(Writer writer) throws IOException {
+        for (S item: this.getSelectedItems()) {
+            for (int columnIndex = 0; columnIndex < this.columnIds.size(); columnIndex++) {
+                if (columnIndex > 0) {
+                    writer.write('\t');
+                }
+                String text = this.getClipboardText(item, this.columnIds.get(columnIndex));
+                if (text != null) {
+                    writeTsvField(writer, text);
+                }
+            }
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+    
+    /**
+     * 選択されているitemをタブ区切りでクリップボードにコピーする。
+     */
+    public void copyToClipboard() {
+        StringWriter writer = new StringWriter();
+        try {
+            this.copy(writer);
+        } catch (IOException exception) {
+            return;
+        }
+        ClipboardContent content = new ClipboardContent();
+        content.putString(writer.toString());
+        Clipboard.getSystemClipboard().setContent(content);
+    }
+    
+    /**
+     * タブ区切りの値を選択されている行とフォーカスされているカラムを起点に貼り付ける。<br>
+     * 1行ずつ読み込みながらitemに値をセットして、最後に表示を一度だけ更新する。行が足りない場合はcreateItemForPasteで作成したitemをまとめて追加する。
+     *
+     * @param reader 読み込み元
+     * @throws IOException
+     */
+    public void paste(Reader reader) throws IOException {
+        if (this.columnIds.size() == 0) {
+            return;
+        }
+        int startIndex = Math.max(0, this.getRowIndex(this.getSelectedItem()));
+        int startColumnIndex = 0;
+        Control focusedControl = this.getFocusedControl();
+        if (focusedControl != null && this.columnIndexes.containsKey(focusedControl.getId())) {
+            startColumnIndex = this.columnIndexes.get(focusedControl.getId());
+        }
+        TsvReader tsvReader = new TsvReader(new BufferedReader(reader));
+        // 貼り付けで変更されるセルの値は一件の取り消し単位にまとめて記録する
+        CellValuesUndoEntry undoEntry = new CellValuesUndoEntry();
+        List<S> newItems = new ArrayList<>();
+        boolean isViewChanged = false;
+        int index = startIndex;
+        List<String> fields;
+        while ((fields = tsvReader.readRow()) != null) {
+            S item;
+            if (index < this.items.size()) {
+                item = this.items.get(index);
+            } else {
+                item = this.createItemForPaste();
+                if (item == null) {
+                    break;
+                }
+                newItems.add(item);
+            }
+            for (int fieldIndex = 0; fieldIndex < fields.size(); fieldIndex++) {
+                int columnIndex = startColumnIndex + fieldIndex;
+                if (columnIndex >= this.columnIds.size()) {
+                    break;
+                }
+                String id = this.columnIds.get(columnIndex);
+                boolean isUndoTarget = index < this.items.size() && this.isUndoSupported(id);
+                Object oldValue = null;
+                if (isUndoTarget) {
+                    oldValue = this.getUndoValue(item, id);
+                }
+                if (this.setClipboardText(item, id, fields.get(fieldIndex))) {
+                    if (isUndoTarget) {
+                        undoEntry.add(item, id, oldValue);
+                    }
+                    this.recordChange(item, id);
+                    if (this.columnFilters.containsKey(id) || id.equals(this.sortColumnId)) {
+                        isViewChanged = true;
+                    }
+                }
+            }
+            index++;
+        }
+        List<UndoEntry> undoEntries = new ArrayList<>();
+        if (undoEntry.size() > 0) {
+            undoEntries.add(undoEntry);
+        }
+        if (newItems.size() > 0) {
+            undoEntries.add(new RowsAddedUndoEntry(newItems, this.items.size()));
+            this.addRows(newItems, this.items.size());
+        }
+        if (undoEntries.size() > 0) {
+            this.pushUndoEntry(new CompoundUndoEntry(undoEntries));
+        }
+        if (isViewChanged && this.sourceItems != null) {
+            this.applyView();
+        }
+        this.updateRows();
+    }
+    
+    /**
+     * クリップボードのタブ区切りの値を貼り付ける。
+     */
+    public void pasteFromClipboard() {
+        String text = Clipboard.getSystemClipboard().getString();
+        if (text == null) {
+            return;
+        }
+        try {
+            this.paste(new StringReader(text));
+        } catch (IOException exception) {
+        }
+    }
+    
+    /**
+     * タブ区切りの1フィールドを必要に応じてダブルクォートで囲んで書き込む。
+     *
+     * @param writer 出力先
+     * @param text 値
+     * @throws IOException
+     */
+    private static void writeTsvField(Writer writer, String text) throws IOException {
+        boolean isQuoteRequired = false;
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (character == '\t' || character == '\r' || character == '\n' || character == '"') {
+                isQuoteRequired = true;
+                break;
+            }
+        }
+        if (isQuoteRequired == false) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (character == '"') {
+                writer.write('"');
+            }
+            writer.write(character);
+        }
+        writer.write('"');
+    }
+    
+    /**
+     * Rowの値をitemから再読み込みする。
+     *
+     * @param item
+     */
+    public void updateRow(S item) {
+        Row row = this.rows.get(item);
+        if (row == null) {
+            return;
+        }
+        this.isBindingRow = true;
+        try {
+            this.setValueForRowControls(row);
+        } finally {
+            this.isBindingRow = false;
+        }
+    }
+    
+    /**
+     * 表示されているすべてのRowの値をitemから再読み込みする。
+     */
+    public void updateRows() {
+        this.isBindingRow = true;
+        try {
+            for (Row row: this.rows.values()) {
+                if (row.item != null) {
+                    this.setValueForRowControls(row);
+                }
+            }
+        } finally {
+            this.isBindingRow = false;
+        }
+    }
+    
+    /**
+     * 行のコントロールに割り当てられているitemの値を表示する。
+     *
+     * @param row 対象の行
+     */
+    @SuppressWarnings("unchecked")
+    private void setValueForRowControls(Row row) {
+        S item = row.item;
+        // 各カラムの設定に基づい値を再表示
+        try {
+            for (int columnIndex = 0; columnIndex < row.controls.length; columnIndex++) {
+                String id = this.columnIds.get(columnIndex);
+                Control control = row.controls[columnIndex];
+                if (control == null) {
+                    Label placeholder = row.placeholders[columnIndex];
+                    if (placeholder != null) {
+                        placeholder.setText(this.controlFactories.get(id).createPlaceholderText(item));
+                    }
+                    continue;
+                }
+                ColumnType columnType = this.columnTypes.get(id);
+                switch (columnType) {
+                case LABEL:
+                    ReadOnlyControlFactory<S, Label> labelFactory = (ReadOnlyControlFactory<S, Label>) this.controlFactories.get(id);
+                    Label label = (Label) control;
+                    labelFactory.setValueForControl(item, label);
+                    break;
+                case TEXTFIELD:
+                    ControlFactory<S, TextField> textFieldFactory = (ControlFactory<S, TextField>) this.controlFactories.get(id);
+                    TextField textField = (TextField) control;
+                    textFieldFactory.setValueForControl(item, textField);
+                    break;
+                case TEXTAREA:
+                    ControlFactory<S, TextArea> textAreaFactory = (ControlFactory<S, TextArea>) this.controlFactories.get(id);
+                    TextArea textArea = (TextArea) control;
+                    textAreaFactory.setValueForControl(item, textArea);
+                    break;
+                case PASSWORD:
+                    ControlFactory<S, PasswordField> passwordFieldFactory = (ControlFactory<S, PasswordField>) this.controlFactories.get(id);
+                    PasswordField passwordField = (PasswordField) control;
+                    passwordFieldFactory.setValueForControl(item, passwordField);
+                    break;
+                case COMBOBOX:
+                    ControlFactory<S, ComboBox<?>> comboBoxFactory = (ControlFactory<S, ComboBox<?>>) this.controlFactories.get(id);
+                    ComboBox<?> comboBox = (ComboBox<?>) control;
+                    comboBoxFactory.setValueForControl(item, comboBox);
+                    break;
+                case DATEPICKER:
+                    ControlFactory<S, DatePicker> datePickerFactory = (ControlFactory<S, DatePicker>) this.controlFactories.get(id);
+                    DatePicker datePicker = (DatePicker) control;
+                    datePickerFactory.setValueForControl(item, datePicker);
+                    break;
+                case CHECKBOX:
+                    ControlFactory<S, CheckBox> checkBoxFactory = (ControlFactory<S, CheckBox>) this.controlFactories.get(id);
+                    CheckBox checkBox = (CheckBox) control;
+                    checkBoxFactory.setValueForControl(item, checkBox);
+                    break;
+                case HYPERLINK:
+                    ReadOnlyControlFactory<S, Hyperlink> hyperlinkFactory = (ReadOnlyControlFactory<S, Hyperlink>) this.controlFactories.get(id);
+                    Hyperlink hyperlink = (Hyperlink) control;
+                    hyperlinkFactory.setValueForControl(item, hyperlink);
+                    break;
+                case BUTTON:
+                    break;
+                }
+            }
+        } catch (Exception exception) {
+            exception.printStackTrace();
+        }
+    }
+    
+    /**
+     * 行にitemを割り当てている最中はコントロールからitemへの値の反映を行わないためのフラグ。
+     */
+    private boolean isBindingRow = false;
+    
+    private SimpleDoubleProperty rowTopBottomPaddingProperty = new SimpleDoubleProperty(8);
+    
+    /**
+     * 行の上下余白を取得する。
+     *
+     * @return TOP & Bottom padding
+     */
+    public double getRowTopBottomPadding() {
+        return this.rowTopBottomPaddingProperty.get();
+    }
+    
+    /**
+     * 行の上下余白をセットする。
+     *
+     * @param rowTopBottomPadding
+     */
+    public void setRowTopBottomPadding(double rowTopBottomPadding) {
+        this.rowTopBottomPaddingProperty.set(rowTopBottomPadding);
+        // 既存のHBoxにも
+        this.headerHBox.setPadding(new Insets(rowTopBottomPadding + 2, 0, rowTopBottomPadding, 0));
+        for (Row row: this.isVirtualized ? this.rowPool : this.rows.values()) {
+            row.hBox.setPadding(new Insets(rowTopBottomPadding, 0, rowTopBottomPadding, 0));
+        }
+        this.clearMeasuredRowHeights();
+        this.updateVirtualRows();
+    }
+    
+    /**
+     * Rowを初期化する。仮想化モードでは表示範囲内の行のみ初期化される。
+     *
+     * @param item
+     */
+    public void initializeRow(S item) {
+        if (item == null) {
+            return;
+        }
+        Row row = this.rows.get(item);
+        if (row == null) {
+            if (this.isVirtualized) {
+                return;
+            }
+            row = this.createRow(item);
+            this.rowsVBox.getChildren().add(row.hBox);
+        } else {
+            this.createRowControls(row);
+        }
+    }
+    
+    /**
+     * itemを割り当てた行を生成する。
+     *
+     * @param item
+     * @return 生成した行
+     */
+    private Row createRow(S item) {
+        EditableTable<S> table = this;
+        Row row = new Row();
+        HBox itemHBox = row.hBox;
+        itemHBox.setAlignment(Pos.CENTER);
+        itemHBox.setPadding(new Insets(this.rowTopBottomPaddingProperty.get(), 0, this.rowTopBottomPaddingProperty.get(), 0));
+        itemHBox.getStyleClass().add("row");
+        itemHBox.addEventFilter(MouseEvent.MOUSE_PRESSED, new FocusingItemMouseEventHandler(row));
+        // 行の高さを計測して行位置の索引に反映する
+        itemHBox.heightProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+                table.updateMeasuredRowHeight(row, newValue.doubleValue());
+            }
+        });
+        row.item = item;
+        itemHBox.setUserData(item);
+        this.rows.put(item, row);
+        if (this.selectedItemProperty.get() == item) {
+            itemHBox.pseudoClassStateChanged(EditableTable.this.selectedPseudoClass, true);
+        }
+        itemHBox.pseudoClassStateChanged(this.multiSelectedPseudoClass, this.selectedItems.contains(item));
+        this.createRowControls(row);
+        return row;
+    }
+    
+    /**
+     * 各カラムの設定に基づいて行のコントロールを生成する。
+     *
+     * @param row 対象の行
+     */
+    @SuppressWarnings("unchecked")
+    private void createRowControls(Row row) {
+        EditableTable<S> table = this;
+        S item = row.item;
+        HBox itemHBox = row.hBox;
+        itemHBox.getChildren().clear();
+        row.controls = new Control[this.columnIds.size()];
+        row.placeholders = new Label[this.columnIds.size()];
+        row.isPlaceholderRow = this.isLazyControlCreation && this.selectedItemProperty.get() != item;
+        // 各カラムの設定に基づいたセルを生成
+        for (int columnIndex = 0; columnIndex < this.columnIds.size(); columnIndex++) {
+            String id = this.columnIds.get(columnIndex);
+            Separator columnSeparator = new Separator(Orientation.VERTICAL);
+            columnSeparator.setOpacity(0);
+            itemHBox.getChildren().add(columnSeparator);
+            ColumnType columnType = this.columnTypes.get(id);
+            // 選択されていない行はプレースホルダーで表示する
+            if (row.isPlaceholderRow) {
+                String placeholderText = this.controlFactories.get(id).createPlaceholderText(item);
+                if (placeholderText != null) {
+                    Label placeholder = new Label(placeholderText);
+                    placeholder.getStyleClass().add("placeholder");
+                    placeholder.setOnMouseClicked(new EventHandler<MouseEvent>() {
+                        @Override
+                        public void handle(MouseEvent event) {
+                            if (row.item == null) {
+                                return;
+                            }
+                            table.selectedItemProperty.set(row.item);
+                            Control control = table.getControl(row.item, id);
+                            if (control != null) {
+                                control.requestFocus();
+                            }
+                        }
+                    });
+                    itemHBox.getChildren().add(placeholder);
+                    row.placeholders[columnIndex] = placeholder;
+                    continue;
+                }
+            }
+            Control addedControl = null;
+            switch (columnType) {
+            case LABEL:
+                ReadOnlyControlFactory<S, Label> labelFactory = (ReadOnlyControlFactory<S, Label>) this.controlFactories.get(id);
+                Label label = labelFactory.newInstance(item);
+                labelFactory.setValueForControl(item, label);
+                itemHBox.getChildren().add(label);
+                addedControl = label;
+                break;
+            case TEXTFIELD:
+                ControlFactory<S, TextField> textFieldFactory = (ControlFactory<S, TextField>) this.controlFactories.get(id);
+                TextField textField = textFieldFactory.newInstance(item);
+                textFieldFactory.setValueForControl(item, textField);
+                textField.textProperty().addListener(new ChangeListener<String>() {
+                    @Override
+                    public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+                        if (table.isBindingRow == false && row.item != null) {
+                            table.recordCellEdit(row.item, id);
+                            textFieldFactory.setValueForItem(row.item, textField);
+                            table.markDirty(row.item, id);
+                        }
+                    }
+                });
+                itemHBox.getChildren().add(textField);
+                addedControl = textField;
+                break;
+            case TEXTAREA:
+                ControlFactory<S, TextArea> textAreaFactory = (ControlFactory<S, TextArea>) this.controlFactories.get(id);
+                TextArea textArea = textAreaFactory.newInstance(item);
+                textAreaFactory.setValueForControl(item, textArea);
+                textArea.textProperty().addListener(new ChangeListener<String>() {
+                    @Override
+                    public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+                        if (table.isBindingRow == false && row.item != null) {
+                            table.recordCellEdit(row.item, id);
+                            textAreaFactory.setValueForItem(row.item, textArea);
+                            table.markDirty(row.item, id);
+                        }
+                    }
+                });
+                itemHBox.getChildren().add(textArea);
+                addedControl = textArea;
+                break;
+            case PASSWORD:
+                ControlFactory<S, PasswordField> passwordFieldFactory = (ControlFactory<S, PasswordField>) this.controlFactories.get(id);
+                PasswordField passwordField = passwordFieldFactory.newInstance(item);
+                passwordFieldFactory.setValueForControl(item, passwordField);
+                passwordField.textProperty().addListener(new ChangeListener<String>() {
+                    @Override
+                    public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+                        if (table.isBindingRow == false && row.item != null) {
+                            table.recordCellEdit(row.item, id);
+                            passwordFieldFactory.setValueForItem(row.item, passwordField);
+                            table.markDirty(row.item, id);
+                        }
+                    }
+                });
+                itemHBox.getChildren().add(passwordField);
+                addedControl = passwordField;
+                break;
+            case COMBOBOX:
+                ControlFactory<S, ComboBox<?>> comboBoxFactory = (ControlFactory<S, ComboBox<?>>) this.controlFactories.get(id);
+                ComboBox<?> comboBox = comboBoxFactory.newInstance(item);
+                comboBoxFactory.setValueForControl(item, comboBox);
+                comboBox.setOnAction(new EventHandler<ActionEvent>() {
+                    @Override
+                    public void handle(ActionEvent event) {
+                        if (table.isBindingRow == false && row.item != null) {
+                            table.recordCellEdit(row.item, id);
+                            comboBoxFactory.setValueForItem(row.item, comboBox);
+                            table.markDirty(row.item, id);
+                        }
+                    }
+                });
+                itemHBox.getChildren().add(comboBox);
+                addedControl = comboBox;
+                break;
+            case DATEPICKER:
+                ControlFactory<S, DatePicker> datePickerFactory = (ControlFactory<S, DatePicker>) this.controlFactories.get(id);
+                DatePicker datePicker = datePickerFactory.newInstance(item);
+                datePickerFactory.setValueForControl(item, datePicker);
+                datePicker.setOnAction(new EventHandler<ActionEvent>() {
+                    @Override
+                    public void handle(ActionEvent event) {
+                        if (table.isBindingRow == false && row.item != null) {
+                            table.recordCellEdit(row.item, id);
+                            datePickerFactory.setValueForItem(row.item, datePicker);
+                            table.markDirty(row.item, id);
+                        }
+                    }
+                });
+                itemHBox.getChildren().add(datePicker);
+                addedControl = datePicker;
+                break;
+            case CHECKBOX:
+                ControlFactory<S, CheckBox> checkBoxFactory = (ControlFactory<S, CheckBox>) this.controlFactories.get(id);
+                CheckBox checkBox = checkBoxFactory.newInstance(item);
+                checkBoxFactory.setValueForControl(item, checkBox);
+                checkBox.selectedProperty().addListener(new ChangeListener<Boolean>() {
+                    @Override
+                    public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
+                        if (table.isBindingRow == false && row.item != null) {
+                            table.recordCellEdit(row.item, id);
+                            checkBoxFactory.setValueForItem(row.item, checkBox);
+                            table.markDirty(row.item, id);
+                        }
+                    }
+                });
+                StackPane stackPaneCheckBox = new StackPane(checkBox);
+                itemHBox.getChildren().add(stackPaneCheckBox);
+                addedControl = checkBox;
+                break;
+            case BUTTON:
+                FixControlFactory<S, Button> buttonFactory = (FixControlFactory<S, Button>) this.controlFactories.get(id);
+                Button button = buttonFactory.newInstance(item);
+                StackPane stackPaneButton = new StackPane(button);
+                itemHBox.getChildren().add(stackPaneButton);
+                addedControl = button;
+                break;
+            case HYPERLINK:
+                ReadOnlyControlFactory<S, Hyperlink> hyperlinkFactory = (ReadOnlyControlFactory<S, Hyperlink>) this.controlFactories.get(id);
+                Hyperlink hyperlink = hyperlinkFactory.newInstance(item);
+                hyperlinkFactory.setValueForControl(item, hyperlink);
+                itemHBox.getChildren().add(hyperlink);
+                addedControl = hyperlink;
+                break;
+            }
+            // コントロール共通の設定
+            addedControl.setId(id);
+            row.controls[columnIndex] = addedControl;
+            // 現在の行を特定するためのListenerを設定
+            ChangeListener<Boolean> innerControlFocusChangeListener = new InnerControlFocusChangeListener(row, addedControl);
+            addedControl.focusedProperty().addListener(innerControlFocusChangeListener);
+        }
+        // 選択されている行以外のコントロールのFocusTraversableを無効にする
+        row.savedFocusTraversables.clear();
+        row.isFocusTraversableDisabled = false;
+        if (this.selectedItemProperty.get() != item) {
+            this.disableRowControlFocusTraversable(row);
+        }
+        // 最後にカラムと幅を同じにするためにseparatorを追加する
+        Separator columnSeparator = new Separator(Orientation.VERTICAL);
+        columnSeparator.setOpacity(0);
+        itemHBox.getChildren().add(columnSeparator);
+    }
+    
+    private SimpleIntegerProperty loadRowsCountProperty = new SimpleIntegerProperty(20);
+    
+    /**
+     * Rowを更に読み込む際の行数(初期値は20)。
+     *
+     * @return 読み込み行数
+     */
+    public int getLoadRowsCount() {
+        return this.loadRowsCountProperty.get();
+    }
+    
+    /**
+     * Rowを更に読み込む際の行数をセットする(初期値は20)。
+     *
+     * @param loadRowsCount 読み込み行数
+     */
+    public void setLoadRowsCount(int loadRowsCount) {
+        this.loadRowsCountProperty.set(loadRowsCount);
+    }
+    
+    private int visibleRowsCount = 0;
+    
+    /**
+     * すでに表示されている行数を取得する。
+     *
+     * @return 表示されている行数
+     */
+    public int getVisibleRowsCount() {
+        return this.visibleRowsCount;
+    }
+    
+    /**
+     * Rowを更に読み込む。仮想化モードでは表示範囲の行を割り当て直す。
+     */
+    public void loadMoreRows() {
+        if (this.isVirtualized) {
+            this.updateVirtualRows();
+            return;
+        }
+        // 生成した行はまとめてVBoxに追加してレイアウトの再計算を一回にする
+        List<HBox> hBoxes = new ArrayList<>();
+        for (int index = this.visibleRowsCount; index < this.visibleRowsCount + this.loadRowsCountProperty.get(); index++) {
+            if (this.items.size() - 1 < index) {
+                break;
+            }
+            S item = this.items.get(index);
+            Row row = this.rows.get(item);
+            if (row == null) {
+                row = this.createRow(item);
+                hBoxes.add(row.hBox);
+            } else {
+                this.createRowControls(row);
+            }
+        }
+        this.rowsVBox.getChildren().addAll(hBoxes);
+        this.visibleRowsCount += this.loadRowsCountProperty.get();
+        if (this.visibleRowsCount > this.items.size()) {
+            this.visibleRowsCount = this.items.size();
+        }
+        if (this.getSelectedItem() == null && this.visibleRowsCount > 0) {
+            this.setSelectedItem(this.items.get(0));
+        }
+        this.requestLayout();
+    }
+    
+    /**
+     * 生成済みの行をすべて破棄して読み込み直す。
+     */
+    private void resetRows() {
+        this.rowsVBox.getChildren().clear();
+        this.rows.clear();
+        this.rowPool.clear();
+        this.visibleRowsCount = 0;
+        this.clearMeasuredRowHeights();
+        if (this.isVirtualized) {
+            this.rowsVBox.getChildren().addAll(this.virtualTopSpacer, this.virtualBottomSpacer);
+        }
+        this.loadMoreRows();
+    }
+    
+    private DataSource<S> dataSource = null;
+    
+    /**
+     * DataSourceを切り替えた際に古い読み込み結果を破棄するための世代番号。
+     */
+    private int dataSourceGeneration = 0;
+    
+    /**
+     * DataSourceから読み込み済みの件数。
+     */
+    private int dataSourceOffset = 0;
+    
+    private int dataSourceTotalCount = -1;
+    
+    private boolean isFetchingPage = false;
+    
+    /**
+     * 読み込みが完了したら行として追加するページがあるかどうか。
+     */
+    private boolean isPageRequested = false;
+    
+    /**
+     * 先読みして追加を待っているページ。
+     */
+    private List<S> prefetchedPage = null;
+    
+    private ExecutorService dataSourceExecutor = null;
+    
+    private VBox loadingRowsVBox = null;
+    
+    /**
+     * 行のitemをページ単位で読み込むDataSourceを取得する。
+     *
+     * @return DataSource(未設定の場合はnull)
+     */
+    public DataSource<S> getDataSource() {
+        return this.dataSource;
+    }
+    
+    /**
+     * 行のitemをページ単位で読み込むDataSourceをセットする。<br>
+     * 既存の行はすべて削除され、最初のページがバックグラウンドで読み込まれる。以降はスクロールが最下部に近づくと次のページを読み込み、さらにその次のページを先読みしておく。
+     * ページの件数は読み込み行数(setLoadRowsCount)が使用される。
+     *
+     * @param dataSource nullの場合はDataSourceを解除する
+     */
+    public void setDataSource(DataSource<S> dataSource) {
+        this.clearRows();
+        this.dataSource = dataSource;
+        if (dataSource != null) {
+            this.fetchNextPage();
+        }
+    }
+    
+    /**
+     * DataSourceから取得した全件数を取得する。
+     *
+     * @return 全件数(未取得の場合は-1)
+     */
+    public int getDataSourceTotalCount() {
+        return this.dataSourceTotalCount;
+    }
+    
+    /**
+     * DataSourceにまだ読み込んでいないページがあるかどうかを判定する。
+     *
+     * @return 結果
+     */
+    public boolean hasMorePages() {
+        if (this.dataSource == null) {
+            return false;
+        }
+        return this.prefetchedPage != null || this.dataSourceTotalCount < 0 || this.dataSourceOffset < this.dataSourceTotalCount;
+    }
+    
+    /**
+     * DataSourceの読み込み状態を破棄して解除する。
+     */
+    private void resetDataSource() {
+        this.dataSource = null;
+        this.dataSourceGeneration++;
+        this.dataSourceOffset = 0;
+        this.dataSourceTotalCount = -1;
+        this.isFetchingPage = false;
+        this.isPageRequested = false;
+        this.prefetchedPage = null;
+        this.hideLoadingRows();
+    }
+    
+    /**
+     * DataSourceの次のページを行として追加する。先読み済みのページがなければ読み込みが完了してから追加する。
+     */
+    private void fetchNextPage() {
+        if (this.dataSource == null || this.isPageRequested) {
+            return;
+        }
+        if (this.prefetchedPage != null) {
+            List<S> page = this.prefetchedPage;
+            this.prefetchedPage = null;
+            this.addPageRows(page);
+            this.startFetchPage();
+            return;
+        }
+        if (this.hasMorePages() == false) {
+            return;
+        }
+        this.isPageRequested = true;
+        this.showLoadingRows();
+        this.startFetchPage();
+    }
+    
+    /**
+     * DataSourceの次のページの読み込みをバックグラウンドで開始する。
+     */
+    private void startFetchPage() {
+        if (this.isFetchingPage || this.prefetchedPage != null || this.hasMorePages() == false) {
+            return;
+        }
+        EditableTable<S> table = this;
+        if (this.dataSourceExecutor == null) {
+            this.dataSourceExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        int generation = this.dataSourceGeneration;
+        int limit = this.loadRowsCountProperty.get();
+        PageFetchTask task = new PageFetchTask(this.dataSource, this.dataSourceOffset, limit, this.dataSourceTotalCount < 0);
+        task.setOnSucceeded(new EventHandler<WorkerStateEvent>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                if (generation != table.dataSourceGeneration) {
+                    return;
+                }
+                table.isFetchingPage = false;
+                if (task.totalCount > -1) {
+                    table.dataSourceTotalCount = task.totalCount;
+                }
+                List<S> page = task.getValue();
+                table.dataSourceOffset += page.size();
+                if (page.size() < limit) {
+                    table.dataSourceTotalCount = table.dataSourceOffset;
+                }
+                if (table.isPageRequested) {
+                    table.isPageRequested = false;
+                    table.hideLoadingRows();
+                    table.addPageRows(page);
+                    table.startFetchPage();
+                } else if (page.size() > 0) {
+                    table.prefetchedPage = page;
+                }
+            }
+        });
+        task.setOnFailed(new EventHandler<WorkerStateEvent>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                if (generation != table.dataSourceGeneration) {
+                    return;
+                }
+                table.isFetchingPage = false;
+                table.isPageRequested = false;
+                table.hideLoadingRows();
+                table.dataSource.failed(task.getException());
+            }
+        });
+        this.isFetchingPage = true;
+        this.dataSourceExecutor.execute(task);
+    }
+    
+    /**
+     * DataSourceから読み込んだページを行として追加する。
+     *
+     * @param page
+     */
+    private void addPageRows(List<S> page) {
+        this.addRows(page);
+        if (this.isVirtualized == false && this.visibleRowsCount < this.items.size()) {
+            this.loadMoreRows();
+        }
+        this.fetchNextPageIfViewportNotFilled();
+    }
+    
+    /**
+     * 表示している行の高さの合計がViewportに満たない場合にDataSourceの次のページを行として追加する。<br>
+     * 行がViewportを埋めないとスクロールできず、スクロール位置による読み込みが行われないため。
+     */
+    private void fetchNextPageIfViewportNotFilled() {
+        if (this.dataSource == null || this.isPageRequested || this.hasMorePages() == false) {
+            return;
+        }
+        double viewportHeight = this.rowsScrollPane.getViewportBounds().getHeight();
+        if (viewportHeight <= 0) {
+            return;
+        }
+        // 行の高さは配置されるまで確定しないため、計測済みの行の高さから推定する
+        double contentHeight;
+        if (this.isVirtualized) {
+            contentHeight = this.getRowOffsetIndex().getTotal();
+        } else {
+            contentHeight = this.visibleRowsCount * this.getEstimatedRowHeight();
+        }
+        if (contentHeight < viewportHeight) {
+            this.fetchNextPage();
+        }
+    }
+    
+    /**
+     * 読み込み中であることを表すプレースホルダーの行を最後に表示する。行数はViewportを埋める数で、ページの件数を上限にする。
+     */
+    private void showLoadingRows() {
+        if (this.loadingRowsVBox == null) {
+            this.loadingRowsVBox = new VBox();
+            this.loadingRowsVBox.setFillWidth(false);
+        }
+        double rowHeight = this.getEstimatedRowHeight();
+        int rowCount = (int) Math.ceil(this.rowsScrollPane.getViewportBounds().getHeight() / rowHeight);
+        rowCount = Math.max(1, Math.min(rowCount, this.loadRowsCountProperty.get()));
+        // カラムの構成が変わっている可能性があるため毎回作り直す
+        List<HBox> hBoxes = new ArrayList<>();
+        for (int index = 0; index < rowCount; index++) {
+            HBox hBox = new RowHBox();
+            hBox.getStyleClass().addAll("row", "loading-row");
+            hBox.setPadding(new Insets(this.rowTopBottomPaddingProperty.get(), 0, this.rowTopBottomPaddingProperty.get(), 0));
+            hBox.setMinHeight(rowHeight);
+            for (int columnIndex = 0; columnIndex < this.columnIds.size(); columnIndex++) {
+                Separator columnSeparator = new Separator(Orientation.VERTICAL);
+                columnSeparator.setOpacity(0);
+                Label placeholder = new Label();
+                placeholder.getStyleClass().add("placeholder");
+                placeholder.setMaxHeight(Double.MAX_VALUE);
+                hBox.getChildren().addAll(columnSeparator, placeholder);
+            }
+            hBoxes.add(hBox);
+        }
+        this.loadingRowsVBox.getChildren().setAll(hBoxes);
+        this.rowsVBox.getChildren().remove(this.loadingRowsVBox);
+        this.rowsVBox.getChildren().add(this.loadingRowsVBox);
+    }
+    
+    /**
+     * 読み込み中であることを表すプレースホルダーの行を取り除く。
+     */
+    private void hideLoadingRows() {
+        if (this.loadingRowsVBox != null) {
+            this.rowsVBox.getChildren().remove(this.loadingRowsVBox);
+            this.loadingRowsVBox.getChildren().clear();
+        }
+    }
+    
+    private boolean isVirtualized = false;
+    
+    /**
+     * 表示領域分の行だけを生成して使い回す仮想化モードかどうかを取得する。
+     *
+     * @return 結果
+     */
+    public boolean isVirtualized() {
+        return this.isVirtualized;
+    }
+    
+    /**
+     * 表示領域分の行だけを生成して使い回す仮想化モードをセットする(初期値はfalse)。<br>
+     * 仮想化モードではスクロールに合わせて行のコントロールにControlFactory.setValueForControlで別のitemを割り当て直し、
+     * 編集内容はControlFactory.setValueForItemで割り当てられているitemに反映する。
+     * FixControlFactoryで生成されたコントロールは割り当て直す際に再生成される。
+     *
+     * @param isVirtualized
+     */
+    public void setVirtualized(boolean isVirtualized) {
+        if (this.isVirtualized == isVirtualized) {
+            return;
+        }
+        this.isVirtualized = isVirtualized;
+        this.resetRows();
+    }
+    
+    private boolean isLazyControlCreation = false;
+    
+    /**
+     * 選択されていない行をプレースホルダーで表示して、コントロールは選択された行だけ生成するモードかどうかを取得する。
+     *
+     * @return 結果
+     */
+    public boolean isLazyControlCreation() {
+        return this.isLazyControlCreation;
+    }
+    
+    /**
+     * 選択されていない行をプレースホルダーで表示して、コントロールは選択された行だけ生成するモードかどうかをセットする。<br>
+     * プレースホルダーの文字列はControlFactory.createPlaceholderTextで作成され、nullを返すカラムは常にコントロールが生成される。
+     *
+     * @param isLazyControlCreation
+     */
+    public void setLazyControlCreation(boolean isLazyControlCreation) {
+        if (this.isLazyControlCreation == isLazyControlCreation) {
+            return;
+        }
+        this.isLazyControlCreation = isLazyControlCreation;
+        this.resetRows();
+    }
+    
+    /**
+     * 仮想化モードで使い回す行のプール。
+     */
+    private List<Row> rowPool = new ArrayList<>();
+    
+    /**
+     * 仮想化モードで表示範囲より上の行の高さを確保するRegion。
+     */
+    private Region virtualTopSpacer = new Region();
+    
+    /**
+     * 仮想化モードで表示範囲より下の行の高さを確保するRegion。
+     */
+    private Region virtualBottomSpacer = new Region();
+    
+    /**
+     * 計測済みの行の高さ。itemIndexesと同じく同一性で比較する。
+     */
+    private IdentityHashMap<S, Double> measuredRowHeights = new IdentityHashMap<>();
+    
+    private double measuredRowHeightsTotal = 0;
+    
+    private RowOffsetIndex rowOffsetIndex = new RowOffsetIndex();
+    
+    private boolean isRowOffsetIndexValid = false;
+    
+    private boolean isVirtualRowsUpdateRequested = false;
+    
+    /**
+     * 計測前の行に使用する推定の高さを取得する。計測済みの行があればその平均、なければ上下余白から推定する。
+     *
+     * @return 行の高さ
+     */
+    private double getEstimatedRowHeight() {
+        if (this.measuredRowHeights.size() > 0) {
+            return this.measuredRowHeightsTotal / this.measuredRowHeights.size();
+        }
+        return this.rowTopBottomPaddingProperty.get() * 2 + 26;
+    }
+    
+    /**
+     * 計測済みの行の高さをすべて破棄する。
+     */
+    private void clearMeasuredRowHeights() {
+        this.measuredRowHeights.clear();
+        this.measuredRowHeightsTotal = 0;
+        this.isRowOffsetIndexValid = false;
+    }
+    
+    /**
+     * 削除されたitemの計測済みの高さを破棄する。
+     *
+     * @param item 対象のitem
+     */
+    private void removeMeasuredRowHeight(S item) {
+        Double height = this.measuredRowHeights.remove(item);
+        if (height != null) {
+            this.measuredRowHeightsTotal -= height;
+        }
+    }
+    
+    /**
+     * 行の高さの計測結果を記録して行位置の索引に反映する。
+     *
+     * @param row 対象の行
+     * @param height 計測された高さ
+     */
+    private void updateMeasuredRowHeight(Row row, double height) {
+        if (row.item == null || height <= 0) {
+            return;
+        }
+        Double oldHeight = this.measuredRowHeights.put(row.item, height);
+        if (oldHeight != null && oldHeight == height) {
+            return;
+        }
+        if (oldHeight == null) {
+            this.measuredRowHeightsTotal += height;
+            if (this.measuredRowHeights.size() == 1) {
+                // 最初の計測で推定の高さが大きく変わるので索引を作り直す
+                this.isRowOffsetIndexValid = false;
+            }
+        } else {
+            this.measuredRowHeightsTotal += height - oldHeight;
+        }
+        if (this.isRowOffsetIndexValid) {
+            int index = this.getRowIndex(row.item);
+            if (index > -1 && index < this.rowOffsetIndex.size()) {
+                this.rowOffsetIndex.set(index, height);
+            }
+        }
+        if (this.isVirtualized && this.isVirtualRowsUpdateRequested == false) {
+            this.isVirtualRowsUpdateRequested = true;
+            EditableTable<S> table = this;
+            Platform.runLater(new Runnable() {
+                @Override
+                public void run() {
+                    table.isVirtualRowsUpdateRequested = false;
+                    table.updateVirtualRows();
+                }
+            });
+        }
+    }
+    
+    /**
+     * 各行の上端位置を求めるための索引を取得する。itemが変更されている場合は作り直す。
+     *
+     * @return 索引
+     */
+    private RowOffsetIndex getRowOffsetIndex() {
+        if (this.isRowOffsetIndexValid == false || this.rowOffsetIndex.size() != this.items.size()) {
+            double estimatedRowHeight = this.getEstimatedRowHeight();
+            double[] heights = new double[this.items.size()];
+            for (int index = 0; index < heights.length; index++) {
+                Double height = this.measuredRowHeights.get(this.items.get(index));
+                if (height == null) {
+                    heights[index] = estimatedRowHeight;
+                } else {
+                    heights[index] = height;
+                }
+            }
+            this.rowOffsetIndex.reset(heights);
+            this.isRowOffsetIndexValid = true;
+        }
+        return this.rowOffsetIndex;
+    }
+    
+    /**
+     * 行を配置しているVBoxの高さを取得する。仮想化モードでは全行の高さの合計になる。
+     *
+     * @return 高さ
+     */
+    private double getContentHeight() {
+        if (this.isVirtualized) {
+            return this.getRowOffsetIndex().getTotal();
+        }
+        if (this.rowsVBox.getHeight() > 0) {
+            return this.rowsVBox.getHeight();
+        }
+        return this.getRowOffsetIndex().getOffset(this.visibleRowsCount);
+    }
+    
+    /**
+     * 現在のスクロール位置をVBox内の縦位置で取得する。
+     *
+     * @return 表示領域の上端の位置
+     */
+    private double getScrollTop() {
+        double viewportHeight = this.rowsScrollPane.getViewportBounds().getHeight();
+        return Math.max(0, this.getContentHeight() - viewportHeight) * this.rowsScrollPane.getVvalue();
+    }
+    
+    /**
+     * VBox内の縦位置を表示領域の上端にするようにスクロールする。
+     *
+     * @param scrollTop 表示領域の上端にする位置
+     */
+    private void setScrollTop(double scrollTop) {
+        double scrollableHeight = this.getContentHeight() - this.rowsScrollPane.getViewportBounds().getHeight();
+        if (scrollableHeight > 0) {
+            this.rowsScrollPane.setVvalue(Math.max(0, Math.min(1, scrollTop / scrollableHeight)));
+        }
+    }
+    
+    /**
+     * スクロール位置を維持する基準のitem。
+     */
+    private S scrollAnchorItem = null;
+    
+    private double scrollAnchorDelta = 0;
+    
+    /**
+     * 表示領域より上で行が追加や削除される場合に、表示領域の先頭の行を基準にしてスクロール位置を記録する。
+     *
+     * @param changeIndex 追加や削除が行われる行インデックス
+     */
+    private void captureScrollAnchor(int changeIndex) {
+        // 末尾への追加やスクロールされていない場合は索引を参照せずに終了する
+        if (this.scrollAnchorItem != null || changeIndex >= this.items.size() || this.rowsScrollPane.getVvalue() <= 0) {
+            return;
+        }
+        RowOffsetIndex rowOffsetIndex = this.getRowOffsetIndex();
+        double scrollTop = this.getScrollTop();
+        int firstIndex = Math.min(rowOffsetIndex.findIndex(scrollTop), this.items.size() - 1);
+        if (changeIndex >= firstIndex) {
+            return;
+        }
+        this.scrollAnchorItem = this.items.get(firstIndex);
+        this.scrollAnchorDelta = scrollTop - rowOffsetIndex.getOffset(firstIndex);
+    }
+    
+    /**
+     * 記録したスクロール位置の基準のitemが同じ位置に表示されるようにスクロールする。
+     */
+    private void restoreScrollAnchor() {
+        if (this.scrollAnchorItem == null) {
+            return;
+        }
+        S anchorItem = this.scrollAnchorItem;
+        this.scrollAnchorItem = null;
+        int index = this.getRowIndex(anchorItem);
+        if (index > -1) {
+            this.setScrollTop(this.getRowOffsetIndex().getOffset(index) + this.scrollAnchorDelta);
+        }
+    }
+    
+    /**
+     * 指定されたitemの行が表示されるようにスクロールする。
+     *
+     * @param item 対象のitem
+     */
+    public void scrollToItem(S item) {
+        this.showRow(this.getRowIndex(item));
+    }
+    
+    /**
+     * 仮想化モードの場合にスクロール位置に応じて行をitemに割り当てる。
+     */
+    private void updateVirtualRows() {
+        if (this.isVirtualized == false || this.columnIds.size() == 0) {
+            return;
+        }
+        this.restoreScrollAnchor();
+        int itemsSize = this.items.size();
+        RowOffsetIndex rowOffsetIndex = this.getRowOffsetIndex();
+        double viewportHeight = this.rowsScrollPane.getViewportBounds().getHeight();
+        double scrollTop = this.getScrollTop();
+        int firstIndex = Math.max(0, Math.min(rowOffsetIndex.findIndex(scrollTop), itemsSize - 1));
+        // 表示領域が埋まるまでの行数に余分に1行を加える
+        int count = 0;
+        double filledHeight = rowOffsetIndex.getOffset(firstIndex) - scrollTop;
+        while (firstIndex + count < itemsSize && filledHeight < viewportHeight) {
+            filledHeight += rowOffsetIndex.getHeight(firstIndex + count);
+            count++;
+        }
+        if (firstIndex + count < itemsSize) {
+            count++;
+        }
+        // 表示範囲内のitemが割り当てられている行はそのまま使う
+        List<Row> newRows = new ArrayList<>();
+        for (int position = 0; position < count; position++) {
+            newRows.add(null);
+        }
+        List<Row> freeRows = new ArrayList<>();
+        for (Row row: this.rowPool) {
+            int index = this.getRowIndex(row.item);
+            int position = index - firstIndex;
+            if (index > -1 && position >= 0 && position < count && newRows.get(position) == null) {
+                row.index = index;
+                newRows.set(position, row);
+            } else {
+                freeRows.add(row);
+            }
+        }
+        for (Row row: freeRows) {
+            this.rowsVBox.getChildren().remove(row.hBox);
+        }
+        // 並べ替えで保持している行の順序が変わった場合は一度取り除いてから挿入し直す
+        List<HBox> keptHBoxes = new ArrayList<>();
+        for (Row row: newRows) {
+            if (row != null) {
+                keptHBoxes.add(row.hBox);
+            }
+        }
+        List<Node> currentHBoxes = new ArrayList<>(this.rowsVBox.getChildren());
+        currentHBoxes.retainAll(keptHBoxes);
+        if (currentHBoxes.equals(keptHBoxes) == false) {
+            this.rowsVBox.getChildren().removeAll(keptHBoxes);
+        }
+        // 空いている位置に行を割り当てる
+        for (int position = 0; position < count; position++) {
+            if (newRows.get(position) != null) {
+                continue;
+            }
+            int index = firstIndex + position;
+            Row row;
+            if (freeRows.size() > 0) {
+                row = freeRows.remove(freeRows.size() - 1);
+                this.bindRow(row, this.items.get(index));
+            } else {
+                row = this.createRow(this.items.get(index));
+                this.rowPool.add(row);
+            }
+            row.index = index;
+            newRows.set(position, row);
+        }
+        for (Row row: freeRows) {
+            this.unbindRow(row);
+        }
+        // 保持している行は昇順に並んでいるので空いた位置に挿入するだけでよい
+        ObservableList<Node> children = this.rowsVBox.getChildren();
+        for (int position = 0; position < count; position++) {
+            HBox hBox = newRows.get(position).hBox;
+            if (children.get(position + 1) != hBox) {
+                children.add(position + 1, hBox);
+            }
+        }
+        this.virtualTopSpacer.setPrefHeight(rowOffsetIndex.getOffset(firstIndex));
+        this.virtualBottomSpacer.setPrefHeight(rowOffsetIndex.getTotal() - rowOffsetIndex.getOffset(firstIndex + count));
+        this.visibleRowsCount = count;
+        if (this.getSelectedItem() == null && itemsSize > 0) {
+            this.setSelectedItem(this.items.get(0));
+        }
+    }
+    
+    /**
+     * 行に別のitemを割り当てて値を表示し直す。
+     *
+     * @param row 対象の行
+     * @param item 割り当てるitem
+     */
+    @SuppressWarnings("unchecked")
+    private void bindRow(Row row, S item) {
+        this.unbindRow(row);
+        row.item = item;
+        row.hBox.setUserData(item);
+        this.rows.put(item, row);
+        boolean isSelected = this.selectedItemProperty.get() == item;
+        if (this.isLazyControlCreation && row.isPlaceholderRow == isSelected) {
+            // プレースホルダーとコントロールの切り替えが必要な場合は作り直す
+            this.createRowControls(row);
+        } else {
+            // FixControlFactoryのコントロールはitemごとに生成し直す
+            for (int columnIndex = 0; columnIndex < row.controls.length; columnIndex++) {
+                String id = this.columnIds.get(columnIndex);
+                if (this.columnTypes.get(id) == ColumnType.BUTTON && row.controls[columnIndex] != null) {
+                    Control oldButton = row.controls[columnIndex];
+                    FixControlFactory<S, Button> buttonFactory = (FixControlFactory<S, Button>) this.controlFactories.get(id);
+                    Button button = buttonFactory.newInstance(item);
+                    button.setId(id);
+                    button.focusedProperty().addListener(new InnerControlFocusChangeListener(row, button));
+                    ((StackPane) oldButton.getParent()).getChildren().setAll(button);
+                    row.controls[columnIndex] = button;
+                }
+            }
+            this.isBindingRow = true;
+            try {
+                this.setValueForRowControls(row);
+            } finally {
+                this.isBindingRow = false;
+            }
+            if (isSelected == false) {
+                this.disableRowControlFocusTraversable(row);
+            }
+        }
+        // 選択状態の反映
+        row.hBox.pseudoClassStateChanged(this.selectedPseudoClass, isSelected);
+        row.hBox.pseudoClassStateChanged(this.multiSelectedPseudoClass, this.selectedItems.contains(item));
+        if (isSelected && this.selectedRowColor != null && this.selectedRowColor.length() > 0) {
+            row.hBox.setStyle(CSSHelper.updateStyleValue(row.hBox.getStyle(), "-fx-background-color", this.selectedRowColor));
+        } else {
+            row.hBox.setStyle(CSSHelper.removeStyle(row.hBox.getStyle(), "-fx-background-color"));
+        }
+    }
+    
+    /**
+     * 行に割り当てられているitemを解除する。
+     *
+     * @param row 対象の行
+     */
+    private void unbindRow(Row row) {
+        if (row.item == null) {
+            return;
+        }
+        // 割り当てが変わる行にフォーカスがあれば別のitemを編集しないようにテーブルにフォーカスを移す
+        Node node = this.focusedControlProperty.get();
+        while (node != null) {
+            if (node == row.hBox) {
+                this.requestFocus();
+                break;
+            }
+            node = node.getParent();
+        }
+        this.rollbackRowControlFocusTraversable(row);
+        if (this.rows.get(row.item) == row) {
+            this.rows.remove(row.item);
+        }
+        row.item = null;
+        row.index = -1;
+        row.hBox.setUserData(null);
+    }
+    
+    /**
+     * 指定インデックスの行が表示されるように読み込み、仮想化モードではスクロールして行を割り当てる。
+     *
+     * @param index 行インデックス
+     */
+    private void showRow(int index) {
+        if (index < 0 || index >= this.items.size()) {
+            return;
+        }
+        if (this.isVirtualized == false) {
+            int visibleRowsCount = -1;
+            while (this.visibleRowsCount <= index && this.visibleRowsCount != visibleRowsCount) {
+                visibleRowsCount = this.visibleRowsCount;
+                this.loadMoreRows();
+            }
+        }
+        // 行位置の索引から行の上端を求めてスクロールする
+        RowOffsetIndex rowOffsetIndex = this.getRowOffsetIndex();
+        double rowTop = rowOffsetIndex.getOffset(index);
+        double rowHeight = rowOffsetIndex.getHeight(index);
+        double viewportHeight = this.rowsScrollPane.getViewportBounds().getHeight();
+        double scrollTop = this.getScrollTop();
+        if (rowTop < scrollTop) {
+            this.setScrollTop(rowTop);
+        } else if (rowTop + rowHeight > scrollTop + viewportHeight) {
+            this.setScrollTop(rowTop + rowHeight - viewportHeight);
+        }
+        this.updateVirtualRows();
+    }
+    
+    /**
+     * コントロールが表示領域の横方向の範囲に収まるようにスクロールする。
+     *
+     * @param control 対象のコントロール
+     */
+    private void scrollHorizontallyToControl(Control control) {
+        double viewportWidth = this.rowsScrollPane.getViewportBounds().getWidth();
+        double scrollableWidth = this.rowsVBox.getWidth() - viewportWidth;
+        if (scrollableWidth <= 0 || control.getScene() == null) {
+            return;
+        }
+        Bounds bounds = this.rowsVBox.sceneToLocal(control.localToScene(control.getBoundsInLocal()));
+        double scrollLeft = scrollableWidth * this.rowsScrollPane.getHvalue();
+        // 固定カラムのコントロールは常に表示されている
+        Integer columnIndex = this.columnIndexes.get(control.getId());
+        if (columnIndex != null && columnIndex < this.frozenColumnCount) {
+            return;
+        }
+        if (bounds.getMinX() < scrollLeft + this.frozenColumnsWidth) {
+            scrollLeft = bounds.getMinX() - this.frozenColumnsWidth;
+        } else if (bounds.getMaxX() > scrollLeft + viewportWidth) {
+            scrollLeft = bounds.getMaxX() - viewportWidth;
+        } else {
+            return;
+        }
+        this.rowsScrollPane.setHvalue(Math.max(0, Math.min(1, scrollLeft / scrollableWidth)));
+    }
+    
+    /**
+     * itemを選択し、フォーカスされていたコントロールと同じカラムのコントロールにフォーカスする。
+     *
+     * @param item 対象のitem
+     * @param focusedControl 直前にフォーカスされていたコントロール
+     */
+    private void selectItemAndFocus(S item, Control focusedControl) {
+        Control control = null;
+        if (focusedControl != null) {
+            control = this.getControl(item, focusedControl.getId());
+        }
+        if (control == null) {
+            this.setSelectedItem(item);
+        } else {
+            control.requestFocus();
+        }
+    }
+    
+    /**
+     * コントロールに関連づいているitemを取得する。
+     *
+     * @param control 対象Control
+     * @return item(取得できない場合はnull)
+     */
+    @SuppressWarnings("unchecked")
+    public S findRelationalItem(Control control) {
+        try {
+            Parent parent = control.getParent();
+            return (S) parent.getUserData();
+        } catch (Exception exception) {
+            return null;
+        }
+    }
+
+    /**
+     * itemとカラムIDから内部のコントロールを取得する。
+     *
+     * @param <T>
+     * @param item 対象のitem
+     * @param id 対象のカラムID
+     * @return コントロール(表示されていない場合はnull)
+     * @throws ClassCastException 取得しようとしているclassと内部コントロールのclassが不一致の場合
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Control> T getControl(S item, String id) throws ClassCastException {
+        Row row = this.rows.get(item);
+        if (row == null) {
+            return null;
+        }
+        Integer columnIndex = this.columnIndexes.get(id);
+        if (columnIndex == null || columnIndex >= row.controls.length) {
+            return null;
+        }
+        T control = (T) row.controls[columnIndex];
+        return control;
+    }
+    
+    /**
+     * 指定された行のFocusTraversableを保存してから無効にする。
+     *
+     * @param row
+     */
+    private void disableRowControlFocusTraversable(Row row) {
+        if (row == null || row.isFocusTraversableDisabled) {
+            return;
+        }
+        for (int columnIndex = 0; columnIndex < row.controls.length; columnIndex++) {
+            Control control = row.controls[columnIndex];
+            if (control != null) {
+                row.savedFocusTraversables.set(columnIndex, control.isFocusTraversable());
+                control.setFocusTraversable(false);
+            }
+        }
+        row.isFocusTraversableDisabled = true;
+    }
+    
+    /**
+     * 指定された行のFocusTraversableを保存している値に戻す。
+     *
+     * @param row
+     */
+    private void rollbackRowControlFocusTraversable(Row row) {
+        if (row == null || row.isFocusTraversableDisabled == false) {
+            return;
+        }
+        for (int columnIndex = 0; columnIndex < row.controls.length; columnIndex++) {
+            Control control = row.controls[columnIndex];
+            if (control != null) {
+                control.setFocusTraversable(row.savedFocusTraversables.get(columnIndex));
+            }
+        }
+        row.isFocusTraversableDisabled = false;
+    }
+    
+    private HashMap<String, Label> columnHeaderLabels = new HashMap<>();
+    
+    /**
+     * カラムの並び順でヘッダーLabelの幅を保持する配列。各行はこの配列に従ってセルを配置する。
+     */
+    private double[] columnWidths = new double[0];
+    
+    private int frozenColumnCount = 0;
+    
+    /**
+     * 横スクロールしても左端に固定表示されるカラムの数を取得する。
+     *
+     * @return 固定カラム数
+     */
+    public int getFrozenColumnCount() {
+        return this.frozenColumnCount;
+    }
+    
+    /**
+     * 横スクロールしても左端に固定表示されるカラムの数をセットする(初期値は0)。
+     * 固定カラムのセルは行の中に配置されたまま横スクロール分だけ位置を戻して表示されるため、
+     * 行のインデックスや仮想化は固定されていないカラムと共有され、コントロールが二重に生成されることはない。
+     *
+     * @param frozenColumnCount 先頭から固定するカラム数
+     */
+    public void setFrozenColumnCount(int frozenColumnCount) {
+        this.frozenColumnCount = Math.max(0, frozenColumnCount);
+        this.updateFrozenColumns();
+    }
+    
+    /**
+     * 固定カラムの右端の位置。
+     */
+    private double frozenColumnsWidth = 0;
+    
+    /**
+     * 行の横スクロール量を取得する。
+     *
+     * @return 表示領域の左端の位置
+     */
+    private double getRowsScrollLeft() {
+        double scrollableWidth = this.rowsVBox.getWidth() - this.rowsScrollPane.getViewportBounds().getWidth();
+        return Math.max(0, scrollableWidth) * this.rowsScrollPane.getHvalue();
+    }
+    
+    /**
+     * ヘッダーとすべての行の固定カラムの位置を横スクロール量に合わせる。
+     */
+    private void updateFrozenColumns() {
+        this.layoutFrozenHeader();
+        double scrollLeft = this.getRowsScrollLeft();
+        int frozenNodesCount = Math.min(this.frozenColumnCount, this.columnIds.size()) * 2;
+        this.frozenColumnsWidth = 0;
+        for (Row row: this.isVirtualized ? this.rowPool : this.rows.values()) {
+            this.frozenColumnsWidth = this.layoutFrozenColumnNodes(row.hBox.getChildren(), frozenNodesCount, scrollLeft);
+        }
+    }
+    
+    /**
+     * ヘッダーの固定カラムの位置を横スクロール量に合わせる。
+     */
+    private void layoutFrozenHeader() {
+        double scrollableWidth = this.headerHBox.getWidth() - this.headerScrollPane.getViewportBounds().getWidth();
+        double scrollLeft = Math.max(0, scrollableWidth) * this.headerScrollPane.getHvalue();
+        // ヘッダーはLabelとリサイズ用Separatorの組でカラムが構成される
+        int frozenNodesCount = Math.min(this.frozenColumnCount, this.columnIds.size()) * 2;
+        this.layoutFrozenColumnNodes(this.headerHBox.getChildren(), frozenNodesCount, scrollLeft);
+    }
+    
+    /**
+     * 先頭から指定数のノードを横スクロール量だけ移動して固定表示し、固定されたノードと重なる後続のノードはクリップする。
+     *
+     * @param nodes 対象のノード
+     * @param frozenNodesCount 固定するノード数
+     * @param scrollLeft 横スクロール量
+     * @return 固定したノードの右端の位置(横スクロールを含まない)
+     */
+    private double layoutFrozenColumnNodes(List<Node> nodes, int frozenNodesCount, double scrollLeft) {
+        double frozenRight = 0;
+        for (int index = 0; index < nodes.size(); index++) {
+            Node node = nodes.get(index);
+            Bounds bounds = node.getLayoutBounds();
+            if (index < frozenNodesCount) {
+                node.setTranslateX(scrollLeft);
+                if (node.getClip() != null) {
+                    node.setClip(null);
+                }
+                frozenRight = Math.max(frozenRight, node.getLayoutX() + bounds.getMaxX());
+                continue;
+            }
+            node.setTranslateX(0);
+            double hiddenWidth = scrollLeft + frozenRight - node.getLayoutX() - bounds.getMinX();
+            if (frozenNodesCount == 0 || hiddenWidth <= 0) {
+                if (node.getClip() != null) {
+                    node.setClip(null);
+                }
+                continue;
+            }
+            // 固定されたノードの下に隠れる部分を表示しない
+            Rectangle clip;
+            if (node.getClip() instanceof Rectangle) {
+                clip = (Rectangle) node.getClip();
+            } else {
+                clip = new Rectangle();
+                node.setClip(clip);
+            }
+            clip.setX(bounds.getMinX() + hiddenWidth);
+            clip.setY(bounds.getMinY());
+            clip.setWidth(Math.max(0, bounds.getWidth() - hiddenWidth));
+            clip.setHeight(bounds.getHeight());
+        }
+        return frozenRight;
+    }
+    
+    /**
+     * 表示されているすべての行にレイアウトの再計算を要求する。
+     */
+    private void requestRowsLayout() {
+        for (Row row: this.isVirtualized ? this.rowPool : this.rows.values()) {
+            row.hBox.requestLayout();
+        }
+    }
+    
+    /**
+     * ColumnのHeaderに配置されているLabelコントロールを取得する。
+     *
+     * @param id 対象のカラムID
+     * @return Label(存在しない場合はnull)
+     */
+    public Label getHeaderLabel(String id) {
+        return this.columnHeaderLabels.get(id);
+    }
+    
+    private SimpleObjectProperty<S> selectedItemProperty = new SimpleObjectProperty<>();
+    
+    /**
+     * 現在選択されているitemプロパティ。
+     *
+     * @return selectedItemProperty
+     */
+    public ReadOnlyProperty<S> selectedItemProperty() {
+        return this.selectedItemProperty;
+    }
+    
+    /**
+     * 現在選択されているitemを取得する。
+     *
+     * @return selectedItem
+     */
+    public S getSelectedItem() {
+        return this.selectedItemProperty.get();
+    }
+    
+    /**
+     * 現在選択されているitemをセットする。
+     *
+     * @param selectedItem
+     */
+    public void setSelectedItem(S selectedItem) {
+        if (this.columnIds.size() == 0) {
+            return;
+        }
+        int index = this.getRowIndex(selectedItem);
+        if (index > -1) {
+            Control focusedControl = this.getFocusedControl();
+            this.selectedItemProperty.set(selectedItem);
+            this.showRow(index);
+            if (focusedControl != null) {
+                Control control = this.getControl(selectedItem, focusedControl.getId());
+                if (control != null) {
+                    control.requestFocus();
+                }
+            }
+        } else {
+            this.selectedItemProperty.setValue(null);
+        }
+    }
+    
+    /**
+     * 複数選択されているitem。選択されているitem(selectedItemProperty)も含まれる。itemは同一性で比較する。
+     */
+    private Set<S> selectedItems = createIdentitySet(new ArrayList<S>());
+    
+    /**
+     * 範囲選択の起点になるitem。
+     */
+    private S selectionAnchorItem = null;
+    
+    /**
+     * 選択されているitemの変更で複数選択を解除しないようにするためのフラグ。
+     */
+    private boolean isSelectionExtending = false;
+    
+    private boolean isSelectionPseudoClassUpdateRequested = false;
+    
+    /**
+     * 複数選択を解除せずに選択されているitemを変更する。
+     *
+     * @param item
+     */
+    private void setSelectedItemExtending(S item) {
+        this.isSelectionExtending = true;
+        try {
+            this.selectedItemProperty.set(item);
+        } finally {
+            this.isSelectionExtending = false;
+        }
+    }
+    
+    /**
+     * キー操作で選択するitemを変更する。範囲選択する場合は起点から変更後のitemまでを選択する。
+     *
+     * @param item 変更後のitem
+     * @param focusedControl 直前にフォーカスされていたコントロール
+     * @param isRangeSelection 範囲選択する場合はtrue
+     */
+    private void moveSelection(S item, Control focusedControl, boolean isRangeSelection) {
+        if (isRangeSelection == false || this.selectionAnchorItem == null) {
+            this.selectItemAndFocus(item, focusedControl);
+            return;
+        }
+        S anchorItem = this.selectionAnchorItem;
+        this.isSelectionExtending = true;
+        try {
+            this.selectItemAndFocus(item, focusedControl);
+        } finally {
+            this.isSelectionExtending = false;
+        }
+        this.selectRange(anchorItem, item);
+    }
+    
+    /**
+     * 指定されたitemだけを選択した状態にして範囲選択の起点にする。
+     *
+     * @param item
+     */
+    private void selectOnly(S item) {
+        this.selectedItems.clear();
+        if (item != null) {
+            this.selectedItems.add(item);
+        }
+        this.selectionAnchorItem = item;
+        this.requestSelectionPseudoClassUpdate();
+    }
+    
+    /**
+     * 表示されている行の複数選択の擬似CSSクラスを次のパルスでまとめて更新する。
+     */
+    private void requestSelectionPseudoClassUpdate() {
+        if (this.isSelectionPseudoClassUpdateRequested) {
+            return;
+        }
+        this.isSelectionPseudoClassUpdateRequested = true;
+        EditableTable<S> table = this;
+        Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+                table.isSelectionPseudoClassUpdateRequested = false;
+                for (Row row: table.rows.values()) {
+                    row.hBox.pseudoClassStateChanged(table.multiSelectedPseudoClass, table.selectedItems.contains(row.item));
+                }
+            }
+        });
+    }
+    
+    /**
+     * 複数選択されているitemを表示されている並び順で取得する。
+     *
+     * @return 選択されているitem
+     */
+    public List<S> getSelectedItems() {
+        List<S> selectedItems = new ArrayList<>();
+        if (this.selectedItems.size() * 4 < this.items.size()) {
+            int[] indexes = new int[this.selectedItems.size()];
+            int count = 0;
+            for (S item: this.selectedItems) {
+                int index = this.getRowIndex(item);
+                if (index > -1) {
+                    indexes[count] = index;
+                    count++;
+                }
+            }
+            Arrays.sort(indexes, 0, count);
+            for (int index = 0; index < count; index++) {
+                selectedItems.add(this.items.get(indexes[index]));
+            }
+            return selectedItems;
+        }
+        for (S item: this.items) {
+            if (this.selectedItems.contains(item)) {
+                selectedItems.add(item);
+            }
+        }
+        return selectedItems;
+    }
+    
+    /**
+     * itemが複数選択に含まれているかどうかを判定する。
+     *
+     * @param item
+     * @return 結果
+     */
+    public boolean isSelected(S item) {
+        return this.selectedItems.contains(item);
+    }
+    
+    /**
+     * 2つのitemの間にあるすべてのitemを選択する。範囲選択の起点は変更しない。
+     *
+     * @param fromItem 範囲の始まりのitem
+     * @param toItem 範囲の終わりのitem
+     */
+    public void selectRange(S fromItem, S toItem) {
+        int fromIndex = this.getRowIndex(fromItem);
+        int toIndex = this.getRowIndex(toItem);
+        if (fromIndex == -1 || toIndex == -1) {
+            return;
+        }
+        S anchorItem = this.selectionAnchorItem;
+        this.selectedItems.clear();
+        for (int index = Math.min(fromIndex, toIndex); index <= Math.max(fromIndex, toIndex); index++) {
+            this.selectedItems.add(this.items.get(index));
+        }
+        S selectedItem = this.selectedItemProperty.get();
+        if (selectedItem != null && this.getRowIndex(selectedItem) > -1) {
+            this.selectedItems.add(selectedItem);
+        }
+        this.selectionAnchorItem = anchorItem;
+        this.requestSelectionPseudoClassUpdate();
+    }
+    
+    /**
+     * 複数のitemを選択に追加する。
+     *
+     * @param items
+     */
+    public void selectItems(Collection<S> items) {
+        this.selectedItems.addAll(items);
+        this.requestSelectionPseudoClassUpdate();
+    }
+    
+    /**
+     * すべてのitemを選択する。
+     */
+    public void selectAll() {
+        this.selectedItems.addAll(this.items);
+        this.requestSelectionPseudoClassUpdate();
+    }
+    
+    /**
+     * 複数選択を解除して現在選択されているitemだけを選択した状態にする。
+     */
+    public void clearSelection() {
+        this.selectOnly(this.selectedItemProperty.get());
+    }
+    
+    private SimpleObjectProperty<Control> focusedControlProperty = new SimpleObjectProperty<>();
+    
+    /**
+     * 現在フォーカスされているControlプロパティ。
+     *
+     * @return focusedControlProperty
+     */
+    public ReadOnlyProperty<Control> focusedControlProperty() {
+        return this.focusedControlProperty;
+    }
+    
+    /**
+     * 現在フォーカスされているControlを取得する。
+     *
+     * @param <T> 
+     * @return フォーカスされているコントロール
+     * @throws ClassCastException 取得しようとしているclassと内部コントロールのclassが不一致の場合
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Control> T getFocusedControl() throws ClassCastException {
+        return (T) this.focusedControlProperty.get();
+    }
+    
+    /**
+     * ColumnIDのList。
+     */
+    private List<String> columnIds = new ArrayList<>();
+    
+    private HashMap<String, Integer> columnIndexes = new HashMap<>();
+    
+    /**
+     * 追加済みのColumnIDの読み取り専用Listを取得する。
+     *
+     * @return 読み取り専用のColumnIDリスト
+     */
+    public List<String> getColumnIds() {
+        return Collections.unmodifiableList(this.columnIds);
+    }
+    
+    /**
+     * カラムの種類を取得する。
+     *
+     * @param id 対象のカラムID
+     * @return ColumnType(存在しない場合はnull)
+     */
+    public ColumnType getColumnType(String id) {
+        return this.columnTypes.get(id);
+    }
+    
+    /**
+     * 各Column種類の連想配列(キーはID)。
+     */
+    private HashMap<String, ColumnType> columnTypes = new HashMap<>();
+    
+    /**
+     * 各Columnのコントロールを生成するFactoryの連想配列(キーはID)。
+     */
+    private HashMap<String, ControlFactory<S, ?>> controlFactories = new HashMap<>();
+    
+    /**
+     * カラムを追加する。
+     *
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param columnType 種類
+     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     */
+    public void addColumn(String id, String text, ColumnType columnType, ControlFactory<S, ?> controlFactory) {
+        EditableTable<S> table = this;
+        if (this.columnIds.contains(id)) {
+            return;
+        }
+        // 内容を表示
+        for (Node node: this.getChildren()) {
+            node.setVisible(true);
+        }
+        // カラムの追加処理
+        Label label = this.createHeaderLabel(text);
+        switch (columnType) {
+        case LABEL:
+            break;
+        case TEXTFIELD:
+        case PASSWORD:
+        case COMBOBOX:
+        case DATEPICKER:
+            label.setMinWidth(60);
+            break;
+        case TEXTAREA:
+            label.setMinWidth(100);
+            break;
+        case CHECKBOX:
+            label.setMinWidth(30);
+            break;
+        case BUTTON:
+            label.setMinWidth(45);
+            break;
+        case HYPERLINK:
+            break;
+        }
+        int columnIndex = this.columnIds.size();
+        this.columnIndexes.put(id, columnIndex);
+        this.columnIds.add(id);
+        this.columnWidths = Arrays.copyOf(this.columnWidths, this.columnIds.size());
+        this.columnWidths[columnIndex] = label.getWidth();
+        label.widthProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+                table.columnWidths[columnIndex] = newValue.doubleValue();
+                table.requestRowsLayout();
+            }
+        });
+        this.columnHeaderLabels.put(id, label);
+        this.controlFactories.put(id, controlFactory);
+        this.columnTypes.put(id, columnType);
+        if (this.isVirtualized) {
+            this.resetRows();
+        } else if (this.visibleRowsCount > 0) {
+            for (int index = 0; index < this.visibleRowsCount; index++) {
+                S item = this.items.get(index);
+                this.initializeRow(item);
+            }
+        }
+    }
+    
+    /**
+     * Labelを内包するセルを追加する。
+     *
+     * @param <T> コントロールの型
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param readOnlyControlFactory コントロールを生成し値の表示を行うCallback
+     */
+    public <T extends Label> void addColumnLabel(String id, String text, ReadOnlyControlFactory<S, T> readOnlyControlFactory) {
+        this.addColumn(id, text, ColumnType.LABEL, readOnlyControlFactory);
+    }
+    
+    /**
+     * TextFieldを内包するセルを追加する。
+     *
+     * @param <T> コントロールの型
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     */
+    public <T extends TextField> void addColumnTextField(String id, String text, ControlFactory<S, T> controlFactory) {
+        this.addColumn(id, text, ColumnType.TEXTFIELD, controlFactory);
+    }
+
+    /**
+     * TextAreaを内包するセルを追加する。
+     *
+     * @param <T> コントロールの型
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     */
+    public <T extends TextArea> void addColumnTextArea(String id, String text, ControlFactory<S, T> controlFactory) {
+        this.addColumn(id, text, ColumnType.TEXTAREA, controlFactory);
+    }
+    
+    /**
+     * PasswordFieldを内包するセルを追加する。
+     *
+     * @param <T> コントロールの型
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     */
+    public <T extends PasswordField> void addColumnPasswordField(String id, String text, ControlFactory<S, T> controlFactory) {
+        this.addColumn(id, text, ColumnType.PASSWORD, controlFactory);
+    }
+    
+    /**
+     * ComboBoxを内包するセルを追加する。
+     *
+     * @param <T> コントロールの型
+     * @param <V> コンボボックスの値型
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     */
+    public <T extends ComboBox<V>, V> void addColumnComboBox(String id, String text, ControlFactory<S, T> controlFactory) {
+        this.addColumn(id, text, ColumnType.COMBOBOX, controlFactory);
+    }
+    
+    /**
+     * DatePickerを内包するセルを追加する。
+     *
+     * @param <T> コントロールの型
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     */
+    public <T extends DatePicker> void addColumnDatePicker(String id, String text, ControlFactory<S, T> controlFactory) {
+        this.addColumn(id, text, ColumnType.DATEPICKER, controlFactory);
+    }
+    
+    /**
+     * CheckBoxを内包するセルを追加する。
+     *
+     * @param <T> コントロールの型
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param controlFactory コントロールを生成し値の受け渡しを行うCallback
+     */
+    public <T extends CheckBox> void addColumnCheckBox(String id, String text, ControlFactory<S, T> controlFactory) {
+        this.addColumn(id, text, ColumnType.CHECKBOX, controlFactory);
+    }
+    
+    /**
+     * Buttonを内包するセルを追加する。
+     *
+     * @param <T> コントロールの型
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param fixControlFactory コントロールを生成を行うCallback
+     */
+    public <T extends Button> void addColumnButton(String id, String text, FixControlFactory<S, T> fixControlFactory) {
+        this.addColumn(id, text, ColumnType.BUTTON, fixControlFactory);
+    }
+
+    /**
+     * Hyperlinkを内包するセルを追加する。
+     *
+     * @param <T> コントロールの型
+     * @param id 任意のカラムID
+     * @param text ヘッダーテキスト
+     * @param readOnlyControlFactory コントロールを生成し値の表示を行うCallback
+     */
+    public <T extends Hyperlink> void addColumnHyperlink(String id, String text, ReadOnlyControlFactory<S, T> readOnlyControlFactory) {
+        this.addColumn(id, text, ColumnType.HYPERLINK, readOnlyControlFactory);
+    }
+    
+    /**
+     * ヘッダーLabelを生成する。
+     *
+     * @param text ヘッダーテキスト
+     * @return Label
+     */
+    private Label createHeaderLabel(String text) {
+        Label label = new Label(text);
+        label.setPadding(new Insets(0, 5, 0, 5));
+        label.setAlignment(Pos.CENTER);
+        this.headerHBox.getChildren().add(label);
+        Separator separator = this.createHeaderSeparator(label);
+        this.headerHBox.getChildren().add(separator);
+        return label;
+    }
+
+    private double headerResizeStartWidth;
+    private double headerResizeStartX;
+
+    /**
+     * ヘッダーLabelのりサイズ機能を備えたSeparatorを生成する。
+     *
+     * @param columnHeaderLabel
+     * @return Separator
+     */
+    private Separator createHeaderSeparator(Label columnHeaderLabel) {
+        EditableTable<S> table = this;
+        Separator separator = new Separator(Orientation.VERTICAL);
+        separator.addEventHandler(MouseEvent.MOUSE_ENTERED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                separator.setCursor(Cursor.E_RESIZE);
+            }
+        });
+        separator.addEventHandler(MouseEvent.MOUSE_EXITED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                separator.setCursor(Cursor.DEFAULT);
+            }
+        });
+        separator.addEventHandler(MouseEvent.MOUSE_PRESSED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                table.headerResizeStartWidth = columnHeaderLabel.getWidth();
+                table.headerResizeStartX = event.getScreenX();
+            }
+        });
+        separator.addEventHandler(MouseEvent.MOUSE_DRAGGED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                columnHeaderLabel.setPrefWidth(table.headerResizeStartWidth + event.getScreenX() - table.headerResizeStartX);
+                separator.setCursor(Cursor.E_RESIZE);
+            }
+        });
+        separator.addEventHandler(MouseEvent.MOUSE_RELEASED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                separator.setCursor(Cursor.DEFAULT);
+            }
+        });
+        return separator;
+    }
+
+    /**
+     * 取り消しとやり直しが可能な操作の記録を表すクラス。
+     *
+     * @author hiro
+     */
+    private abstract class UndoEntry {
+        
+        /**
+         * 操作を取り消す。
+         */
+        public abstract void undo();
+        
+        /**
+         * 取り消した操作をやり直す。
+         */
+        public abstract void redo();
+    }
+    
+    /**
+     * セルの値の変更を記録するクラス。取り消しとやり直しのたびに記録している値と現在の値を入れ替える。
+     *
+     * @author hiro
+     */
+    private class CellValuesUndoEntry extends UndoEntry {
+        
+        private List<S> items = new ArrayList<>();
+        
+        private List<String> ids = new ArrayList<>();
+        
+        private List<Object> values = new ArrayList<>();
+        
+        /**
+         * 変更前のセルの値を追加する。
+         *
+         * @param item 対象のitem
+         * @param id 対象のカラムID
+         * @param value 変更前の値
+         */
+        public void add(S item, String id, Object value) {
+            this.items.add(item);
+            this.ids.add(id);
+            this.values.add(value);
+        }
+        
+        /**
+         * 記録しているセルの数を取得する。
+         *
+         * @return セルの数
+         */
+        public int size() {
+            return this.items.size();
+        }
+        
+        /**
+         * 記録している値と現在の値を入れ替えて、表示を一度だけ更新する。
+         */
+        private void swap() {
+            EditableTable<S> table = EditableTable.this;
+            boolean isViewChanged = false;
+            for (int index = 0; index < this.items.size(); index++) {
+                S item = this.items.get(index);
+                String id = this.ids.get(index);
+                Object value = table.getUndoValue(item, id);
+                if (table.setUndoValue(item, id, this.values.get(index))) {
+                    this.values.set(index, value);
+                    table.recordChange(item, id);
+                    if (table.columnFilters.containsKey(id) || id.equals(table.sortColumnId)) {
+                        isViewChanged = true;
+                    }
+                }
+            }
+            if (this.items.size() == 1) {
+                S item = this.items.get(0);
+                if (isViewChanged) {
+                    table.updateViewItem(item);
+                }
+                table.updateRow(item);
+                if (table.getRowIndex(item) > -1) {
+                    table.scrollToItem(item);
+                }
+                return;
+            }
+            if (isViewChanged && table.sourceItems != null) {
+                table.applyView();
+            }
+            table.updateRows();
+        }
+        
+        @Override
+        public void undo() {
+            this.swap();
+        }
+        
+        @Override
+        public void redo() {
+            this.swap();
+        }
+    }
+    
+    /**
+     * 行の追加を記録するクラス。
+     *
+     * @author hiro
+     */
+    private class RowsAddedUndoEntry extends UndoEntry {
+        
+        private List<S> items;
+        
+        private int index;
+        
+        /**
+         * コンストラクタ。
+         *
+         * @param items 追加されたitem
+         * @param index 追加された位置
+         */
+        public RowsAddedUndoEntry(List<S> items, int index) {
+            this.items = items;
+            this.index = index;
+        }
+        
+        @Override
+        public void undo() {
+            EditableTable.this.removeRows(this.items);
+        }
+        
+        @Override
+        public void redo() {
+            EditableTable.this.addRows(this.items, this.index);
+        }
+    }
+    
+    /**
+     * 行の削除を記録するクラス。
+     *
+     * @author hiro
+     */
+    private class RowsRemovedUndoEntry extends UndoEntry {
+        
+        private List<S> items;
+        
+        private int[] indexes;
+        
+        /**
+         * コンストラクタ。
+         *
+         * @param items 削除されたitem
+         * @param indexes 削除される前の昇順の位置(ビューに表示されていなかったitemは-1)
+         */
+        public RowsRemovedUndoEntry(List<S> items, int[] indexes) {
+            this.items = items;
+            this.indexes = indexes;
+        }
+        
+        @Override
+        public void undo() {
+            EditableTable<S> table = EditableTable.this;
+            // 連続していた行はまとめて元の位置に戻す
+            List<S> hiddenItems = new ArrayList<>();
+            int start = 0;
+            while (start < this.items.size()) {
+                if (this.indexes[start] == -1) {
+                    hiddenItems.add(this.items.get(start));
+                    start++;
+                    continue;
+                }
+                int end = start + 1;
+                while (end < this.items.size() && this.indexes[end] == this.indexes[end - 1] + 1) {
+                    end++;
+                }
+                table.addRows(new ArrayList<>(this.items.subList(start, end)), this.indexes[start]);
+                start = end;
+            }
+            if (hiddenItems.size() > 0) {
+                table.addRows(hiddenItems);
+            }
+        }
+        
+        @Override
+        public void redo() {
+            EditableTable.this.removeRows(this.items);
+        }
+    }
+    
+    /**
+     * 行の移動を記録するクラス。
+     *
+     * @author hiro
+     */
+    private class RowsMovedUndoEntry extends UndoEntry {
+        
+        private List<S> items;
+        
+        private List<Integer> indexes;
+        
+        private int index;
+        
+        private List<S> sourceItems = null;
+        
+        private List<Integer> sourceIndexes = null;
+        
+        /**
+         * コンストラクタ。並べ替えと絞り込みが有効な場合は元の並びでの位置も記録する。
+         *
+         * @param items 移動されたitem
+         * @param indexes 移動される前の昇順の位置
+         * @param index 移動先の位置
+         */
+        public RowsMovedUndoEntry(List<S> items, List<Integer> indexes, int index) {
+            EditableTable<S> table = EditableTable.this;
+            this.items = items;
+            this.indexes = indexes;
+            this.index = index;
+            if (table.sourceItems != null) {
+                Set<S> itemSet = createIdentitySet(items);
+                this.sourceItems = new ArrayList<>();
+                this.sourceIndexes = new ArrayList<>();
+                for (int sourceIndex = 0; sourceIndex < table.sourceItems.size(); sourceIndex++) {
+                    S item = table.sourceItems.get(sourceIndex);
+                    if (itemSet.contains(item)) {
+                        this.sourceItems.add(item);
+                        this.sourceIndexes.add(sourceIndex);
+                    }
+                }
+            }
+        }
+        
+        @Override
+        public void undo() {
+            EditableTable<S> table = EditableTable.this;
+            Set<S> itemSet = createIdentitySet(this.items);
+            List<S> newItems = new ArrayList<>();
+            for (S item: table.items) {
+                if (itemSet.contains(item) == false) {
+                    newItems.add(item);
+                }
+            }
+            for (int index = 0; index < this.items.size(); index++) {
+                newItems.add(Math.min(this.indexes.get(index), newItems.size()), this.items.get(index));
+            }
+            if (table.sourceItems != null && this.sourceItems != null) {
+                table.sourceItems.removeAll(itemSet);
+                for (int index = 0; index < this.sourceItems.size(); index++) {
+                    table.sourceItems.add(Math.min(this.sourceIndexes.get(index), table.sourceItems.size()), this.sourceItems.get(index));
+                }
+            }
+            Control focusedControl = table.getFocusedControl();
+            table.replaceItems(newItems, 0);
+            if (focusedControl != null && focusedControl.getScene() != null) {
+                focusedControl.requestFocus();
+            }
+        }
+        
+        @Override
+        public void redo() {
+            EditableTable.this.moveRows(this.items, this.index);
+        }
+    }
+    
+    /**
+     * 複数の記録を一件の取り消し単位にまとめるクラス。
+     *
+     * @author hiro
+     */
+    private class CompoundUndoEntry extends UndoEntry {
+        
+        private List<UndoEntry> undoEntries;
+        
+        /**
+         * コンストラクタ。
+         *
+         * @param undoEntries 操作した順の記録
+         */
+        public CompoundUndoEntry(List<UndoEntry> undoEntries) {
+            this.undoEntries = undoEntries;
+        }
+        
+        @Override
+        public void undo() {
+            for (int index = this.undoEntries.size() - 1; index >= 0; index--) {
+                this.undoEntries.get(index).undo();
+            }
+        }
+        
+        @Override
+        public void redo() {
+            for (UndoEntry undoEntry: this.undoEntries) {
+                undoEntry.redo();
+            }
+        }
+    }
+    
+    /**
+     * 各行の高さの累積和をFenwick木で保持して、行の上端位置と位置にある行をO(log n)で求めるクラス。
+     *
+     * @author hiro
+     */
+    private static class RowOffsetIndex {
+        
+        private double[] heights = new double[0];
+        
+        private double[] tree = new double[1];
+        
+        /**
+         * 行の高さから索引を作り直す。
+         *
+         * @param heights 行インデックス順の高さ
+         */
+        public void reset(double[] heights) {
+            this.heights = heights;
+            this.tree = new double[heights.length + 1];
+            for (int treeIndex = 1; treeIndex <= heights.length; treeIndex++) {
+                this.tree[treeIndex] += heights[treeIndex - 1];
+                int parentIndex = treeIndex + (treeIndex & -treeIndex);
+                if (parentIndex <= heights.length) {
+                    this.tree[parentIndex] += this.tree[treeIndex];
+                }
+            }
+        }
+        
+        /**
+         * 索引に含まれる行数を取得する。
+         *
+         * @return 行数
+         */
+        public int size() {
+            return this.heights.length;
+        }
+        
+        /**
+         * 行の高さを取得する。
+         *
+         * @param index 行インデックス
+         * @return 高さ
+         */
+        public double getHeight(int index) {
+            return this.heights[index];
+        }
+        
+        /**
+         * 行の高さを変更する。
+         *
+         * @param index 行インデックス
+         * @param height 高さ
+         */
+        public void set(int index, double height) {
+            double difference = height - this.heights[index];
+            this.heights[index] = height;
+            for (int treeIndex = index + 1; treeIndex < this.tree.length; treeIndex += treeIndex & -treeIndex) {
+                this.tree[treeIndex] += difference;
+            }
+        }
+        
+        /**
+         * 行の上端位置を取得する。
+         *
+         * @param index 行インデックス
+         * @return 上端位置(指定された行より前の行の高さの合計)
+         */
+        public double getOffset(int index) {
+            double offset = 0;
+            for (int treeIndex = Math.min(index, this.heights.length); treeIndex > 0; treeIndex -= treeIndex & -treeIndex) {
+                offset += this.tree[treeIndex];
+            }
+            return offset;
+        }
+        
+        /**
+         * すべての行の高さの合計を取得する。
+         *
+         * @return 高さの合計
+         */
+        public double getTotal() {
+            return this.getOffset(this.heights.length);
+        }
+        
+        /**
+         * 指定された位置にある行のインデックスを取得する。
+         *
+         * @param offset 位置
+         * @return 行インデックス(位置がすべての行より下の場合は行数)
+         */
+        public int findIndex(double offset) {
+            int index = 0;
+            double remaining = offset;
+            for (int step = Integer.highestOneBit(Math.max(1, this.heights.length)); step > 0; step >>= 1) {
+                int nextIndex = index + step;
+                if (nextIndex <= this.heights.length && this.tree[nextIndex] <= remaining) {
+                    index = nextIndex;
+                    remaining -= this.tree[nextIndex];
+                }
+            }
+            return index;
+        }
     }
     
     /**
-     * ヘッダーLabelを生成する。
+     * タブ区切りの文字列を1行ずつ読み込むクラス。ダブルクォートで囲まれたフィールド内のタブや改行も扱う。
      *
-     * @param text ヘッダーテキスト
-     * @return Label
+     * @author hiro
      */
-    private Label createHeaderLabel(String text) {
-        Label label = new Label(text);
-        label.setPadding(new Insets(0, 5, 0, 5));
-        label.setAlignment(Pos.CENTER);
-        this.headerHBox.getChildren().add(label);
-        Separator separator = this.createHeaderSeparator(label);
-        this.headerHBox.getChildren().add(separator);
-        return label;
+    private static class TsvReader {
+        
+        private Reader reader;
+        
+        /**
+         * 次に読み込む文字を先読みしている場合の文字。先読みしていない場合は-2。
+         */
+        private int peekedCharacter = -2;
+        
+        /**
+         * コンストラクタ。
+         *
+         * @param reader 読み込み元
+         */
+        public TsvReader(Reader reader) {
+            this.reader = reader;
+        }
+        
+        private int read() throws IOException {
+            if (this.peekedCharacter != -2) {
+                int character = this.peekedCharacter;
+                this.peekedCharacter = -2;
+                return character;
+            }
+            return this.reader.read();
+        }
+        
+        /**
+         * 1行分のフィールドを読み込む。
+         *
+         * @return フィールド(終端に達した場合はnull)
+         * @throws IOException
+         */
+        public List<String> readRow() throws IOException {
+            int character = this.read();
+            if (character == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean isQuoted = false;
+            boolean isFieldStart = true;
+            while (character != -1) {
+                if (isQuoted) {
+                    if (character == '"') {
+                        int nextCharacter = this.read();
+                        if (nextCharacter != '"') {
+                            isQuoted = false;
+                            character = nextCharacter;
+                            continue;
+                        }
+                    }
+                    field.append((char) character);
+                } else if (character == '"' && isFieldStart) {
+                    isQuoted = true;
+                } else if (character == '\t') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    isFieldStart = true;
+                    character = this.read();
+                    continue;
+                } else if (character == '\r' || character == '\n') {
+                    if (character == '\r') {
+                        int nextCharacter = this.read();
+                        if (nextCharacter != '\n') {
+                            this.peekedCharacter = nextCharacter;
+                        }
+                    }
+                    break;
+                } else {
+                    field.append((char) character);
+                }
+                isFieldStart = false;
+                character = this.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
     }
-
-    private double headerResizeStartWidth;
-    private double headerResizeStartX;
-
+    
     /**
-     * ヘッダーLabelのりサイズ機能を備えたSeparatorを生成する。
+     * 行のitemをページ単位で読み込むクラス。各メソッドはバックグラウンドのスレッドで呼び出される。
      *
-     * @param columnHeaderLabel
-     * @return Separator
+     * @author hiro
+     * @param <S> EditableTableのitem型
      */
-    private Separator createHeaderSeparator(Label columnHeaderLabel) {
-        EditableTable<S> table = this;
-        Separator separator = new Separator(Orientation.VERTICAL);
-        separator.addEventHandler(MouseEvent.MOUSE_ENTERED, new EventHandler<MouseEvent>() {
-            @Override
-            public void handle(MouseEvent event) {
-                separator.setCursor(Cursor.E_RESIZE);
-            }
-        });
-        separator.addEventHandler(MouseEvent.MOUSE_EXITED, new EventHandler<MouseEvent>() {
-            @Override
-            public void handle(MouseEvent event) {
-                separator.setCursor(Cursor.DEFAULT);
-            }
-        });
-        separator.addEventHandler(MouseEvent.MOUSE_PRESSED, new EventHandler<MouseEvent>() {
-            @Override
-            public void handle(MouseEvent event) {
-                table.headerResizeStartWidth = columnHeaderLabel.getWidth();
-                table.headerResizeStartX = event.getScreenX();
-            }
-        });
-        separator.addEventHandler(MouseEvent.MOUSE_DRAGGED, new EventHandler<MouseEvent>() {
-            @Override
-            public void handle(MouseEvent event) {
-                columnHeaderLabel.setPrefWidth(table.headerResizeStartWidth + event.getScreenX() - table.headerResizeStartX);
-                separator.setCursor(Cursor.E_RESIZE);
-            }
-        });
-        separator.addEventHandler(MouseEvent.MOUSE_RELEASED, new EventHandler<MouseEvent>() {
-            @Override
-            public void handle(MouseEvent event) {
-                separator.setCursor(Cursor.DEFAULT);
-            }
-        });
-        return separator;
+    public static abstract class DataSource<S> {
+        
+        /**
+         * 全件数を取得する。
+         *
+         * @return 全件数
+         * @throws Exception
+         */
+        public abstract int fetchTotalCount() throws Exception;
+        
+        /**
+         * 指定範囲のitemを取得する。取得件数がlimitより少ない場合は最後のページとみなす。
+         *
+         * @param offset 取得開始位置
+         * @param limit 取得件数
+         * @return item
+         * @throws Exception
+         */
+        public abstract List<S> fetchPage(int offset, int limit) throws Exception;
+        
+        /**
+         * 読み込みに失敗した場合にJavaFXアプリケーションスレッドで呼び出される。
+         *
+         * @param exception 発生した例外
+         */
+        public void failed(Throwable exception) {
+        }
     }
-
+    
     /**
      * 最初の行でCtrl+↑が押された場合 または最終行でCtrl+↓が押された場合に発生するイベントクラス。
      *
@@ -1130,21 +4298,46 @@ public class EditableTable<S> extends AnchorPane {
      */
     private class FocusingItemMouseEventHandler implements EventHandler<MouseEvent> {
 
-        private S item;
+        private Row row;
         
         /**
          * コンストラクタ。
          *
-         * @param item 発生元のitem
+         * @param row 発生元の行
          */
-        public FocusingItemMouseEventHandler(S item) {
-            this.item = item;
+        public FocusingItemMouseEventHandler(Row row) {
+            this.row = row;
         }
         
         @Override
         public void handle(MouseEvent event) {
-            EditableTable.this.selectedItemProperty.set(this.item);
-        }    }
+            EditableTable<S> table = EditableTable.this;
+            S item = this.row.item;
+            if (item == null) {
+                return;
+            }
+            // Shiftで範囲選択、Ctrlで選択の追加と解除を行う
+            if (event.isShiftDown() && table.selectionAnchorItem != null) {
+                S anchorItem = table.selectionAnchorItem;
+                table.setSelectedItemExtending(item);
+                table.selectRange(anchorItem, item);
+                return;
+            }
+            if (event.isShortcutDown()) {
+                table.setSelectedItemExtending(item);
+                if (table.selectedItems.contains(item) && table.selectedItems.size() > 1) {
+                    table.selectedItems.remove(item);
+                } else {
+                    table.selectedItems.add(item);
+                }
+                table.selectionAnchorItem = item;
+                table.requestSelectionPseudoClassUpdate();
+                return;
+            }
+            table.selectedItemProperty.set(item);
+            table.selectOnly(item);
+        }
+    }
     
     /**
      * セルに内包するコントロールのフォーカスのChangeListenerクラス。
@@ -1153,18 +4346,18 @@ public class EditableTable<S> extends AnchorPane {
      */
     private class InnerControlFocusChangeListener implements ChangeListener<Boolean> {
         
-        private S item;
+        private Row row;
         
         private Control control;
         
         /**
          * コンストラクタ。
          *
-         * @param item 発生元のitem
+         * @param row 発生元の行
          * @param control 発生元のcontrol
          */
-        public InnerControlFocusChangeListener(S item, Control control) {
-            this.item = item;
+        public InnerControlFocusChangeListener(Row row, Control control) {
+            this.row = row;
             this.control = control;
         }
         
@@ -1172,15 +4365,224 @@ public class EditableTable<S> extends AnchorPane {
         public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
             EditableTable<S> table = EditableTable.this;
             if (newValue) {
+                if (this.row.item == null) {
+                    return;
+                }
                 // 現在のitemとコントロールを記録
-                table.selectedItemProperty.set(this.item);
+                table.selectedItemProperty.set(this.row.item);
                 table.focusedControlProperty.set(this.control);
                 // 現在のviewportにコントロールが表示されていなければスクロール位置を調整
-                table.rowsScrollPane.scroll(this.control);
+                table.showRow(table.getRowIndex(this.row.item));
+                table.scrollHorizontallyToControl(this.control);
             } else {
                 table.focusedControlProperty.set(null);
+                // フォーカスが外れたら同じセルの編集でも別の取り消し単位にする
+                table.coalescingUndoEntry = null;
+            }
+        }
+    }
+    
+    /**
+     * コントロールからitemに値がセットされた変更履歴の一件を表すクラス。
+     *
+     * @author hiro
+     * @param <S> EditableTableのitem型
+     */
+    public static class Change<S> {
+        
+        private S item;
+        
+        private String columnId;
+        
+        /**
+         * コンストラクタ。
+         *
+         * @param item 編集されたitem
+         * @param columnId 編集されたカラムID
+         */
+        public Change(S item, String columnId) {
+            this.item = item;
+            this.columnId = columnId;
+        }
+        
+        /**
+         * 編集されたitemを取得する。
+         *
+         * @return item
+         */
+        public S getItem() {
+            return this.item;
+        }
+        
+        /**
+         * 編集されたカラムIDを取得する。
+         *
+         * @return カラムID
+         */
+        public String getColumnId() {
+            return this.columnId;
+        }
+    }
+    
+    /**
+     * DataSourceからページと全件数をバックグラウンドで読み込むTaskクラス。
+     *
+     * @author hiro
+     */
+    private class PageFetchTask extends Task<List<S>> {
+        
+        private DataSource<S> dataSource;
+        
+        private int offset;
+        
+        private int limit;
+        
+        private boolean isTotalCountRequired;
+        
+        private int totalCount = -1;
+        
+        /**
+         * コンストラクタ。
+         *
+         * @param dataSource 読み込み元
+         * @param offset 読み込み開始位置
+         * @param limit 読み込み件数
+         * @param isTotalCountRequired 全件数も読み込むかどうか
+         */
+        public PageFetchTask(DataSource<S> dataSource, int offset, int limit, boolean isTotalCountRequired) {
+            this.dataSource = dataSource;
+            this.offset = offset;
+            this.limit = limit;
+            this.isTotalCountRequired = isTotalCountRequired;
+        }
+        
+        @Override
+        protected List<S> call() throws Exception {
+            if (this.isTotalCountRequired) {
+                this.totalCount = this.dataSource.fetchTotalCount();
+            }
+            List<S> page = this.dataSource.fetchPage(this.offset, this.limit);
+            if (page == null) {
+                return new ArrayList<>();
+            }
+            return page;
+        }
+    }
+    
+    /**
+     * セルの幅をバインドせずにカラム幅の配列から直接配置する行のHBoxクラス。<br>
+     * 子ノードは区切りのSeparatorとセルが交互に並んでいることを前提にしている。
+     *
+     * @author hiro
+     */
+    private class RowHBox extends HBox {
+        
+        /**
+         * 子ノードの幅を取得する。セルの場合はカラム幅の配列から取得する。
+         *
+         * @param childIndex 子ノードのインデックス
+         * @param child 子ノード
+         * @return 幅
+         */
+        private double getChildWidth(int childIndex, Node child) {
+            int columnIndex = (childIndex - 1) / 2;
+            if (childIndex % 2 == 1 && columnIndex < EditableTable.this.columnWidths.length) {
+                return EditableTable.this.columnWidths[columnIndex];
+            }
+            return this.snapSize(child.prefWidth(-1));
+        }
+        
+        @Override
+        protected double computePrefWidth(double height) {
+            Insets insets = this.getInsets();
+            double width = insets.getLeft() + insets.getRight();
+            List<Node> children = this.getManagedChildren();
+            for (int childIndex = 0; childIndex < children.size(); childIndex++) {
+                width += this.getChildWidth(childIndex, children.get(childIndex));
+            }
+            return width;
+        }
+        
+        @Override
+        protected double computePrefHeight(double width) {
+            Insets insets = this.getInsets();
+            double height = 0;
+            List<Node> children = this.getManagedChildren();
+            for (int childIndex = 0; childIndex < children.size(); childIndex++) {
+                Node child = children.get(childIndex);
+                height = Math.max(height, child.prefHeight(this.getChildWidth(childIndex, child)));
+            }
+            return insets.getTop() + height + insets.getBottom();
+        }
+        
+        @Override
+        protected void layoutChildren() {
+            Insets insets = this.getInsets();
+            double x = insets.getLeft();
+            double y = insets.getTop();
+            double height = this.getHeight() - insets.getTop() - insets.getBottom();
+            List<Node> children = this.getManagedChildren();
+            for (int childIndex = 0; childIndex < children.size(); childIndex++) {
+                Node child = children.get(childIndex);
+                double width = this.getChildWidth(childIndex, child);
+                if (child.isResizable()) {
+                    double childHeight = Math.max(child.minHeight(width), Math.min(height, child.maxHeight(width)));
+                    child.resizeRelocate(this.snapPosition(x), this.snapPosition(y + (height - childHeight) / 2), width, childHeight);
+                } else {
+                    this.layoutInArea(child, x, y, width, height, 0, HPos.CENTER, VPos.CENTER);
+                }
+                x += width;
             }
-        }    }
+            // 固定カラムのセルを横スクロール量に合わせる
+            EditableTable<S> table = EditableTable.this;
+            if (table.frozenColumnCount > 0) {
+                int frozenNodesCount = Math.min(table.frozenColumnCount, table.columnIds.size()) * 2;
+                table.frozenColumnsWidth = table.layoutFrozenColumnNodes(this.getChildren(), frozenNodesCount, table.getRowsScrollLeft());
+            }
+        }
+    }
+    
+    /**
+     * 行のHBoxと割り当てられているitemを保持するクラス。
+     *
+     * @author hiro
+     */
+    private class Row {
+        
+        private HBox hBox = new RowHBox();
+        
+        private S item;
+        
+        /**
+         * カラムの並び順でセルのコントロールを保持する配列。
+         */
+        private Control[] controls = new Control[0];
+        
+        /**
+         * コントロールの代わりに表示しているプレースホルダーを保持する配列。
+         */
+        private Label[] placeholders = new Label[0];
+        
+        /**
+         * プレースホルダーで表示している行かどうか。
+         */
+        private boolean isPlaceholderRow = false;
+        
+        /**
+         * FocusTraversableを無効にする前の値をカラムの並び順で保持するBitSet。
+         */
+        private BitSet savedFocusTraversables = new BitSet();
+        
+        /**
+         * FocusTraversableを無効にしているかどうか。
+         */
+        private boolean isFocusTraversableDisabled = false;
+        
+        /**
+         * 仮想化モードで割り当てられているitemのインデックス。
+         */
+        private int index = -1;
+    }
     
     /**
      * セルに内包するコントロールを生成し値の受け渡しを行うCallbackクラス。
@@ -1214,6 +4616,66 @@ public class EditableTable<S> extends AnchorPane {
          * @param control コントロール
          */
         public abstract void setValueForItem(S item, T control);
+        
+        /**
+         * 選択されていない行でコントロールの代わりに表示する文字列を作成する。<br>
+         * nullを返す場合はプレースホルダーを使用せずにコントロールを生成する。
+         *
+         * @param item 行のitem
+         * @return 表示する文字列
+         */
+        public String createPlaceholderText(S item) {
+            return null;
+        }
+        
+        /**
+         * クリップボードにコピーする文字列を作成する。初期ではプレースホルダーと同じ文字列を使用する。
+         *
+         * @param item 行のitem
+         * @return コピーする文字列(コピーしない場合はnull)
+         */
+        public String toClipboardText(S item) {
+            return this.createPlaceholderText(item);
+        }
+        
+        /**
+         * クリップボードから貼り付けられた文字列をitemにセットする。
+         *
+         * @param item 行のitem
+         * @param text 貼り付けられた文字列
+         * @return 値をセットした場合はtrue(初期では貼り付けに対応しないのでfalse)
+         */
+        public boolean setClipboardTextForItem(S item, String text) {
+            return false;
+        }
+        
+        /**
+         * セルの値の取り消しに対応しているかどうかを判定する。getValueForUndoとsetValueFromUndoを実装した場合はtrueを返す。
+         *
+         * @return 結果(初期では取り消しに対応しないのでfalse)
+         */
+        public boolean isUndoSupported() {
+            return false;
+        }
+        
+        /**
+         * 取り消しのために記録するitemの値を取得する。コントロールではなく値そのものを返す。
+         *
+         * @param item 行のitem
+         * @return 値
+         */
+        public Object getValueForUndo(S item) {
+            return null;
+        }
+        
+        /**
+         * getValueForUndoで取得した値をitemに戻す。
+         *
+         * @param item 行のitem
+         * @param value getValueForUndoで取得した値
+         */
+        public void setValueFromUndo(S item, Object value) {
+        }
     }
     
     /**
@@ -1227,7 +4689,8 @@ public class EditableTable<S> extends AnchorPane {
         
         @Override @Deprecated
         public final void setValueForItem(S item, T control) {
-        }    }
+        }
+    }
     
     /**
      * セルに内包するコントロール生成を行うCallbackクラス。
@@ -1240,4 +4703,6 @@ public class EditableTable<S> extends AnchorPane {
 
         @Override @Deprecated
         public final void setValueForControl(S item, T control) {
-        }    }}
+        }
+    }
+}
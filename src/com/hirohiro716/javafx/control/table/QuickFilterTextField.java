@@ -0,0 +1,489 @@
+package com.hirohiro716.javafx.control.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+import com.hirohiro716.RudeArray;
+import com.hirohiro716.StringConverter;
+import com.hirohiro716.javafx.control.AutoCompleteTextField;
+import com.hirohiro716.javafx.control.LimitTextField;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+
+/**
+ * 入力された文字列でDynamicTableViewの行を絞り込むTextField。<br>
+ * 行が読み込まれるとバックグラウンドで文字列のカラムの1文字と2文字の索引が作成され、入力毎の絞り込みは索引の行番号の積集合で行われる。
+ * 文字列はAutoCompleteTextFieldと同じく、大文字小文字、全角半角、カタカナひらがなの違いと空白を取り除いて比較される。
+ * 絞り込み条件はFILTER_NAMEの名前でDynamicTableViewにセットされ、他の絞り込み条件と組み合わせることができる。
+ *
+ * @author hiro
+ *
+ */
+public class QuickFilterTextField extends LimitTextField {
+
+    /**
+     * DynamicTableViewにセットする絞り込み条件の名前。
+     */
+    public static final String FILTER_NAME = "quick-filter";
+
+    /**
+     * 索引の作成中に中断の確認を行う行数の間隔。
+     */
+    private static final int CANCELLATION_CHECK_INTERVAL = 4096;
+
+    /**
+     * カラムの文字列を連結する際の区切り文字。入力された文字列がカラムをまたいで一致しないようにする。
+     */
+    private static final char COLUMN_SEPARATOR = '\u0000';
+
+    /**
+     * スレッド毎に使用する文字列の正規化のStringConverter。
+     */
+    private static final ThreadLocal<StringConverter> NORMALIZE_CONVERTERS = new ThreadLocal<StringConverter>() {
+        @Override
+        protected StringConverter initialValue() {
+            return AutoCompleteTextField.createNormalizeConverter();
+        }
+    };
+
+    private DynamicTableView tableView;
+
+    private String[] columnNames;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param tableView 絞り込むDynamicTableView
+     * @param columnNames 検索対象のカラム名(省略した場合はaddColumnStringメソッドで追加したカラム)
+     */
+    public QuickFilterTextField(DynamicTableView tableView, String... columnNames) {
+        super();
+        QuickFilterTextField field = this;
+        this.tableView = tableView;
+        this.columnNames = columnNames;
+        if (this.tableView.getItems() != null) {
+            this.tableView.getItems().addListener(this.itemsChangeListener);
+        }
+        this.tableView.itemsProperty().addListener(new ChangeListener<ObservableList<RudeArray>>() {
+            @Override
+            public void changed(ObservableValue<? extends ObservableList<RudeArray>> observable, ObservableList<RudeArray> oldValue, ObservableList<RudeArray> newValue) {
+                if (oldValue != null) {
+                    oldValue.removeListener(field.itemsChangeListener);
+                }
+                if (newValue != null) {
+                    newValue.addListener(field.itemsChangeListener);
+                }
+                field.startBuildIndex();
+            }
+        });
+        this.textProperty().addListener(new ChangeListener<String>() {
+            @Override
+            public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+                field.applyFilter();
+            }
+        });
+        this.startBuildIndex();
+    }
+
+    private ListChangeListener<RudeArray> itemsChangeListener = new ListChangeListener<RudeArray>() {
+        @Override
+        public void onChanged(Change<? extends RudeArray> change) {
+            QuickFilterTextField field = QuickFilterTextField.this;
+            // 絞り込みの結果の反映では元の行は変わらない
+            if (field.tableView.isPublishingSortResult()) {
+                return;
+            }
+            field.requestBuildIndex();
+        }
+    };
+
+    private TextIndex textIndex = null;
+
+    /**
+     * 索引の作成の要求毎に増える番号。古い要求の処理は結果を反映せずに中断する。
+     */
+    private volatile int buildGeneration = 0;
+
+    private boolean isBuildIndexRequested = false;
+
+    /**
+     * 行の変更毎に索引を作り直さないように、FXスレッドで次に処理される時点で一度だけ索引の作成を開始する。
+     */
+    private void requestBuildIndex() {
+        if (this.isBuildIndexRequested) {
+            return;
+        }
+        this.isBuildIndexRequested = true;
+        // 実行中の索引の作成は変更前の行を対象にしているため中断する
+        this.buildGeneration++;
+        QuickFilterTextField field = this;
+        Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+                field.isBuildIndexRequested = false;
+                field.startBuildIndex();
+            }
+        });
+    }
+
+    /**
+     * 絞り込む前のすべての行の索引をForkJoinPoolで作成する。作成中は前回の索引が使用される。
+     */
+    private void startBuildIndex() {
+        int generation = ++this.buildGeneration;
+        if (this.tableView.getUnfilteredItems() == null) {
+            this.textIndex = null;
+            return;
+        }
+        List<RudeArray> rows = new ArrayList<>(this.tableView.getUnfilteredItems());
+        String[] columnNames = this.getSearchColumnNames();
+        // 行の値はFXスレッドで変更されるため、文字列をFXスレッドで取り出してからForkJoinPoolで正規化して索引を作成する
+        String[] values = new String[rows.size() * columnNames.length];
+        for (int rowNumber = 0; rowNumber < rows.size(); rowNumber++) {
+            RudeArray row = rows.get(rowNumber);
+            for (int index = 0; index < columnNames.length; index++) {
+                values[rowNumber * columnNames.length + index] = row.getString(columnNames[index]);
+            }
+        }
+        QuickFilterTextField field = this;
+        ForkJoinPool.commonPool().execute(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                TextIndex textIndex;
+                try {
+                    textIndex = new TextIndex(rows, values, columnNames.length, field, generation);
+                } catch (CancellationException exception) {
+                    return;
+                }
+                Platform.runLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != field.buildGeneration) {
+                            return;
+                        }
+                        field.textIndex = textIndex;
+                        if (field.normalizedQuery != null) {
+                            field.applyFilter();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 検索対象のカラム名を取得する。
+     *
+     * @return カラム名
+     */
+    private String[] getSearchColumnNames() {
+        if (this.columnNames.length > 0) {
+            return this.columnNames;
+        }
+        List<String> columnNames = new ArrayList<>();
+        for (TableColumn<RudeArray, ?> column: this.tableView.getColumns()) {
+            if (DynamicTableView.getValueType(column) == String.class) {
+                columnNames.add(column.getId());
+            }
+        }
+        return columnNames.toArray(new String[columnNames.size()]);
+    }
+
+    /**
+     * 正規化された検索文字列。絞り込んでいない場合はnull。
+     */
+    private String normalizedQuery = null;
+
+    /**
+     * 入力された文字列でDynamicTableViewを絞り込む。
+     */
+    private void applyFilter() {
+        String query = NORMALIZE_CONVERTERS.get().execute(StringConverter.nullReplace(this.getText(), ""));
+        if (query == null || query.length() == 0) {
+            if (this.normalizedQuery != null) {
+                this.normalizedQuery = null;
+                this.tableView.setFilter(FILTER_NAME, null);
+            }
+            return;
+        }
+        this.normalizedQuery = query;
+        String[] columnNames = this.getSearchColumnNames();
+        TextIndex textIndex = this.textIndex;
+        BitSet matchedRowNumbers = null;
+        if (textIndex != null) {
+            matchedRowNumbers = textIndex.search(query);
+        }
+        this.tableView.setFilter(FILTER_NAME, new QuickFilter(query, columnNames, textIndex, matchedRowNumbers));
+    }
+
+    /**
+     * 行のカラムの文字列を正規化して区切り文字で連結する。
+     *
+     * @param row 行
+     * @param columnNames カラム名
+     * @param converter 正規化に使用するStringConverter
+     * @return 連結した文字列
+     */
+    private static String createNormalizedText(RudeArray row, String[] columnNames, StringConverter converter) {
+        String[] values = new String[columnNames.length];
+        for (int index = 0; index < columnNames.length; index++) {
+            values[index] = row.getString(columnNames[index]);
+        }
+        return createNormalizedText(values, 0, columnNames.length, converter);
+    }
+
+    /**
+     * 取り出したカラムの文字列を正規化して区切り文字で連結する。
+     *
+     * @param values 行毎にカラムの文字列を並べた配列
+     * @param offset 連結する行の開始位置
+     * @param columnCount カラムの数
+     * @param converter 正規化に使用するStringConverter
+     * @return 連結した文字列
+     */
+    private static String createNormalizedText(String[] values, int offset, int columnCount, StringConverter converter) {
+        StringBuilder builder = new StringBuilder();
+        for (int index = offset; index < offset + columnCount; index++) {
+            if (values[index] != null) {
+                builder.append(converter.execute(values[index]));
+            }
+            builder.append(COLUMN_SEPARATOR);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 索引のキーを作成する。1文字のキーは文字コード、2文字のキーは1文字目を上位16ビットにした値になる。
+     *
+     * @param first 1文字目
+     * @param second 2文字目(1文字のキーの場合は区切り文字)
+     * @return キー
+     */
+    private static int createKey(char first, char second) {
+        if (second == COLUMN_SEPARATOR) {
+            return first;
+        }
+        return first << 16 | second;
+    }
+
+    /**
+     * 行の正規化した文字列と、1文字と2文字毎の出現行番号を保持する索引のクラス。
+     *
+     * @author hiro
+     *
+     */
+    private static class TextIndex {
+
+        private IdentityHashMap<RudeArray, Integer> rowNumbers = new IdentityHashMap<>();
+
+        private String[] texts;
+
+        private HashMap<Integer, int[]> postings = new HashMap<>();
+
+        /**
+         * コンストラクタ。索引を作成する。
+         *
+         * @param rows 行
+         * @param values FXスレッドで取り出した、行毎に検索対象のカラムの文字列を並べた配列
+         * @param columnCount 検索対象のカラムの数
+         * @param field 索引を使用するQuickFilterTextField
+         * @param generation 要求の番号
+         * @throws CancellationException 新しい要求があった場合
+         */
+        public TextIndex(List<RudeArray> rows, String[] values, int columnCount, QuickFilterTextField field, int generation) throws CancellationException {
+            StringConverter converter = AutoCompleteTextField.createNormalizeConverter();
+            HashMap<Integer, RowNumberList> rowNumberLists = new HashMap<>();
+            this.texts = new String[rows.size()];
+            for (int rowNumber = 0; rowNumber < rows.size(); rowNumber++) {
+                if (rowNumber % CANCELLATION_CHECK_INTERVAL == 0 && generation != field.buildGeneration) {
+                    throw new CancellationException();
+                }
+                this.rowNumbers.put(rows.get(rowNumber), rowNumber);
+                String text = createNormalizedText(values, rowNumber * columnCount, columnCount, converter);
+                this.texts[rowNumber] = text;
+                for (int index = 0; index < text.length(); index++) {
+                    char character = text.charAt(index);
+                    if (character == COLUMN_SEPARATOR) {
+                        continue;
+                    }
+                    addRowNumber(rowNumberLists, createKey(character, COLUMN_SEPARATOR), rowNumber);
+                    if (index + 1 < text.length() && text.charAt(index + 1) != COLUMN_SEPARATOR) {
+                        addRowNumber(rowNumberLists, createKey(character, text.charAt(index + 1)), rowNumber);
+                    }
+                }
+            }
+            for (Map.Entry<Integer, RowNumberList> entry: rowNumberLists.entrySet()) {
+                RowNumberList rowNumberList = entry.getValue();
+                this.postings.put(entry.getKey(), Arrays.copyOf(rowNumberList.values, rowNumberList.size));
+            }
+        }
+
+        /**
+         * キーの行番号リストに行番号を追加する。行番号は昇順に追加され、同じ行番号は追加しない。
+         *
+         * @param rowNumberLists キー毎の行番号リスト
+         * @param key キー
+         * @param rowNumber 行番号
+         */
+        private static void addRowNumber(HashMap<Integer, RowNumberList> rowNumberLists, int key, int rowNumber) {
+            RowNumberList rowNumberList = rowNumberLists.get(key);
+            if (rowNumberList == null) {
+                rowNumberList = new RowNumberList();
+                rowNumberLists.put(key, rowNumberList);
+            }
+            rowNumberList.add(rowNumber);
+        }
+
+        /**
+         * 正規化された検索文字列を含む行番号を取得する。
+         *
+         * @param query 正規化された検索文字列
+         * @return 行番号
+         */
+        public BitSet search(String query) {
+            BitSet result = new BitSet(this.texts.length);
+            List<int[]> rowNumberArrays = new ArrayList<>();
+            if (query.length() == 1) {
+                int[] rowNumbers = this.postings.get(createKey(query.charAt(0), COLUMN_SEPARATOR));
+                if (rowNumbers == null) {
+                    return result;
+                }
+                rowNumberArrays.add(rowNumbers);
+            }
+            for (int index = 0; index + 1 < query.length(); index++) {
+                int[] rowNumbers = this.postings.get(createKey(query.charAt(index), query.charAt(index + 1)));
+                if (rowNumbers == null) {
+                    return result;
+                }
+                rowNumberArrays.add(rowNumbers);
+            }
+            // 短い行番号リストから順に積集合をとる
+            rowNumberArrays.sort(new Comparator<int[]>() {
+                @Override
+                public int compare(int[] rowNumbers1, int[] rowNumbers2) {
+                    return Integer.compare(rowNumbers1.length, rowNumbers2.length);
+                }
+            });
+            int[] candidates = rowNumberArrays.get(0);
+            int candidateCount = candidates.length;
+            for (int arrayIndex = 1; arrayIndex < rowNumberArrays.size() && candidateCount > 0; arrayIndex++) {
+                int[] rowNumbers = rowNumberArrays.get(arrayIndex);
+                int[] intersection = new int[candidateCount];
+                int intersectionCount = 0;
+                int position = 0;
+                for (int index = 0; index < candidateCount; index++) {
+                    int rowNumber = candidates[index];
+                    position = Arrays.binarySearch(rowNumbers, position, rowNumbers.length, rowNumber);
+                    if (position >= 0) {
+                        intersection[intersectionCount] = rowNumber;
+                        intersectionCount++;
+                    } else {
+                        position = -position - 1;
+                    }
+                }
+                candidates = intersection;
+                candidateCount = intersectionCount;
+            }
+            // 3文字以上の場合は2文字毎の一致が連続しているかを確認する
+            for (int index = 0; index < candidateCount; index++) {
+                int rowNumber = candidates[index];
+                if (query.length() <= 2 || this.texts[rowNumber].indexOf(query) > -1) {
+                    result.set(rowNumber);
+                }
+            }
+            return result;
+        }
+
+    }
+
+    /**
+     * 昇順の行番号を重複なしで保持するリスト。
+     *
+     * @author hiro
+     *
+     */
+    private static class RowNumberList {
+
+        private int[] values = new int[4];
+
+        private int size = 0;
+
+        /**
+         * 行番号を追加する。直前に追加した行番号と同じ場合は追加しない。
+         *
+         * @param rowNumber 行番号
+         */
+        public void add(int rowNumber) {
+            if (this.size > 0 && this.values[this.size - 1] == rowNumber) {
+                return;
+            }
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size] = rowNumber;
+            this.size++;
+        }
+
+    }
+
+    /**
+     * 索引の検索結果で行を絞り込む条件。索引の作成後に追加された行は、文字列を正規化して比較する。
+     *
+     * @author hiro
+     *
+     */
+    private static class QuickFilter implements Predicate<RudeArray> {
+
+        private String query;
+
+        private String[] columnNames;
+
+        private TextIndex textIndex;
+
+        private BitSet matchedRowNumbers;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param query 正規化された検索文字列
+         * @param columnNames 検索対象のカラム名
+         * @param textIndex 索引(作成されていない場合はnull)
+         * @param matchedRowNumbers 索引で一致した行番号
+         */
+        public QuickFilter(String query, String[] columnNames, TextIndex textIndex, BitSet matchedRowNumbers) {
+            this.query = query;
+            this.columnNames = columnNames;
+            this.textIndex = textIndex;
+            this.matchedRowNumbers = matchedRowNumbers;
+        }
+
+        @Override
+        public boolean test(RudeArray row) {
+            if (this.textIndex != null) {
+                Integer rowNumber = this.textIndex.rowNumbers.get(row);
+                if (rowNumber != null) {
+                    return this.matchedRowNumbers.get(rowNumber);
+                }
+            }
+            return createNormalizedText(row, this.columnNames, NORMALIZE_CONVERTERS.get()).indexOf(this.query) > -1;
+        }
+
+    }
+}
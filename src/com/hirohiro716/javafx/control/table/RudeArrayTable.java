@@ -1,6 +1,9 @@
 package com.hirohiro716.javafx.control.table;
 
+import java.util.Comparator;
+
 import com.hirohiro716.RudeArray;
+import com.hirohiro716.StringConverter;
 import com.hirohiro716.javafx.control.HashMapComboBox;
 import com.hirohiro716.javafx.control.RudeDatePicker;
 
@@ -19,6 +22,83 @@ import javafx.scene.control.TextField;
  *
  */
 public class RudeArrayTable extends EditableTable<RudeArray> {
+    
+    /**
+     * RudeArrayのカラムIDの値で比較するComparatorを作成する。<br>
+     * 値が同じ型のComparableであればその順序で、それ以外は文字列として比較する。nullは先頭になる。
+     */
+    @Override
+    protected Comparator<RudeArray> createDefaultComparator(String id) {
+        return new Comparator<RudeArray>() {
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            @Override
+            public int compare(RudeArray item1, RudeArray item2) {
+                Object value1 = item1.get(id);
+                Object value2 = item2.get(id);
+                if (value1 == null || value2 == null) {
+                    return value1 == null ? (value2 == null ? 0 : -1) : 1;
+                }
+                if (value1 instanceof Comparable && value1.getClass() == value2.getClass()) {
+                    return ((Comparable) value1).compareTo(value2);
+                }
+                return value1.toString().compareTo(value2.toString());
+            }
+        };
+    }
+    
+    @Override
+    protected String getClipboardText(RudeArray item, String id) {
+        String text = super.getClipboardText(item, id);
+        if (text != null) {
+            return text;
+        }
+        switch (this.getColumnType(id)) {
+        case PASSWORD:
+        case BUTTON:
+            return null;
+        default:
+            return StringConverter.nullReplace(item.getString(id), "");
+        }
+    }
+    
+    @Override
+    protected boolean setClipboardText(RudeArray item, String id, String text) {
+        if (super.setClipboardText(item, id, text)) {
+            return true;
+        }
+        switch (this.getColumnType(id)) {
+        case TEXTFIELD:
+        case TEXTAREA:
+            item.put(id, text);
+            return true;
+        case CHECKBOX:
+            item.put(id, text.equalsIgnoreCase("true") || text.equals("1"));
+            return true;
+        default:
+            return false;
+        }
+    }
+    
+    @Override
+    protected boolean isUndoSupported(String id) {
+        return true;
+    }
+    
+    @Override
+    protected Object getUndoValue(RudeArray item, String id) {
+        return item.get(id);
+    }
+    
+    @Override
+    protected boolean setUndoValue(RudeArray item, String id, Object value) {
+        item.put(id, value);
+        return true;
+    }
+    
+    @Override
+    protected RudeArray createItemForPaste() {
+        return new RudeArray();
+    }
 
     /**
      * Labelを内包するセルを追加する。
@@ -63,6 +143,14 @@ public class RudeArrayTable extends EditableTable<RudeArray> {
             public void setValueForItem(RudeArray item, T control) {
                 item.put(id, control.getText());
             }
+            @Override
+            public String createPlaceholderText(RudeArray item) {
+                String value = controlFactory.createPlaceholderText(item);
+                if (value == null) {
+                    value = StringConverter.nullReplace(item.getString(id), "");
+                }
+                return value;
+            }
         });
     }
 
@@ -88,6 +176,14 @@ public class RudeArrayTable extends EditableTable<RudeArray> {
             public void setValueForItem(RudeArray item, T control) {
                 item.put(id, control.getText());
             }
+            @Override
+            public String createPlaceholderText(RudeArray item) {
+                String value = controlFactory.createPlaceholderText(item);
+                if (value == null) {
+                    value = StringConverter.nullReplace(item.getString(id), "");
+                }
+                return value;
+            }
         });
     }
 
@@ -258,4 +354,6 @@ public class RudeArrayTable extends EditableTable<RudeArray> {
         @Override
         public final void setValueForItem(RudeArray item, T control) {
             // nop 上でそれぞれOverrideする
-        }    }}
+        }
+    }
+}
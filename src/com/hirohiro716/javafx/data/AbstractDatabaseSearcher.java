@@ -66,6 +66,15 @@ public abstract class AbstractDatabaseSearcher<T extends AbstractBindTable> {
         return this.getBindTableInstance().search(afterSQL, whereSets);
     }
 
+    /**
+     * 検索結果の行を対応付ける主キーのカラム名を取得する。nullではない場合、再検索では変更があった行だけが更新され、スクロール位置と選択行が維持される。
+     *
+     * @return カラム名(デフォルトはnull)
+     */
+    protected String getPrimaryKeyColumnName() {
+        return null;
+    }
+
     /**
      * 検索を待機画面を表示しながら実行する。
      *
@@ -75,7 +84,10 @@ public abstract class AbstractDatabaseSearcher<T extends AbstractBindTable> {
     protected void searchWithWaitView(String afterSQL, WhereSet... whereSets) {
         AbstractDatabaseSearcher<T> searcher = AbstractDatabaseSearcher.this;
         Pane parentPane = (Pane) searcher.getStage().getScene().getRoot();
-        searcher.getDynamicTableView().getItems().clear();
+        String primaryKeyColumnName = searcher.getPrimaryKeyColumnName();
+        if (primaryKeyColumnName == null) {
+            searcher.getDynamicTableView().getItems().clear();
+        }
         WaitDialog<RudeArray[]> dialog = new WaitDialog<>();
         dialog.setTitle("検索処理中");
         dialog.setMessage("ただいま検索中です。しばらくお待ちください。");
@@ -89,8 +101,11 @@ public abstract class AbstractDatabaseSearcher<T extends AbstractBindTable> {
             @Override
             public void handle(RudeArray[] resultValue) {
                 if (resultValue != null) {
-                    searcher.getDynamicTableView().getItems().addAll(resultValue);
-                    searcher.getDynamicTableView().refresh();
+                    if (primaryKeyColumnName == null) {
+                        searcher.getDynamicTableView().getItems().addAll(resultValue);
+                    } else {
+                        searcher.getDynamicTableView().mergeRows(primaryKeyColumnName, resultValue);
+                    }
                     searcher.afterSearchProcessing();
                 } else {
                     Alert alert = new Alert();
@@ -428,12 +443,12 @@ public abstract class AbstractDatabaseSearcher<T extends AbstractBindTable> {
         Platform.runLater(new Runnable() {
             @Override
             public void run() {
-                for (RudeArray row: rows) {
-                    AbstractDatabaseSearcher<?> searcher = AbstractDatabaseSearcher.this;
-                    searcher.getDynamicTableView().getItems().add(row);
-                    searcher.getDynamicTableView().refresh();
-                    searcher.afterSearchProcessing();
+                if (rows.length == 0) {
+                    return;
                 }
+                AbstractDatabaseSearcher<?> searcher = AbstractDatabaseSearcher.this;
+                searcher.getDynamicTableView().getItems().addAll(rows);
+                searcher.afterSearchProcessing();
             }
         });
     }
@@ -157,7 +157,7 @@ public class ProgressDialog<T> extends AbstractDialog<T> {
         });
     }
     
-    boolean isCanceled = false;
+    volatile boolean isCanceled = false;
     
     /**
      * ダイアログがキャンセルされているかどうかを取得する。